@@ -0,0 +1,92 @@
+package com.kappadrive.testcontainers.gradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ImageWarmupConventionTest {
+
+    @TempDir
+    Path projectDir;
+
+    @BeforeEach
+    void createProject() throws IOException {
+        write("settings.gradle", "rootProject.name = \"warmup\"\n");
+        write("build.gradle", "plugins {\n    id \"testcontainers-image-warmup-convention\"\n}\n");
+        // stands in for library entry point, so images are not pulled by docker
+        write("src/test/java/com/kappadrive/testcontainers/junit5/ImageWarmup.java", String.join("\n",
+            "package com.kappadrive.testcontainers.junit5;",
+            "",
+            "import java.nio.file.Files;",
+            "import java.nio.file.Path;",
+            "import java.nio.file.Paths;",
+            "import java.util.List;",
+            "",
+            "public class ImageWarmup {",
+            "    public static void main(String[] args) throws Exception {",
+            "        Path output = Paths.get(args[0]).toAbsolutePath();",
+            "        Files.createDirectories(output.getParent());",
+            "        Files.write(output, List.of(\"postgres:14\"));",
+            "        System.out.println(\"Images pulled\");",
+            "    }",
+            "}",
+            ""));
+    }
+
+    @Test
+    void testRunBeforeTests() {
+        BuildResult result = run("test", "--dry-run");
+
+        assertThat(result.getOutput()).containsSubsequence(":warmupTestImages SKIPPED", ":test SKIPPED");
+    }
+
+    @Test
+    void testImagesFileWritten() {
+        BuildResult result = run("warmupTestImages");
+
+        assertThat(result.task(":warmupTestImages").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+        assertThat(result.getOutput()).contains("Images pulled");
+        assertThat(projectDir.resolve("build/testcontainers/images.txt")).hasContent("postgres:14");
+    }
+
+    @Test
+    void testSkippedWhileImagesFileExists() {
+        run("warmupTestImages");
+
+        BuildResult result = run("warmupTestImages");
+
+        assertThat(result.task(":warmupTestImages").getOutcome()).isEqualTo(TaskOutcome.UP_TO_DATE);
+    }
+
+    @Test
+    void testNotTakenFromBuildCache() {
+        run("warmupTestImages", "--build-cache");
+
+        BuildResult result = run("clean", "warmupTestImages", "--build-cache");
+
+        assertThat(result.task(":warmupTestImages").getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+        assertThat(result.getOutput()).contains("Images pulled");
+    }
+
+    private BuildResult run(String... arguments) {
+        return GradleRunner.create()
+            .withProjectDir(projectDir.toFile())
+            .withPluginClasspath()
+            .withArguments(arguments)
+            .build();
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,18 @@
+package org.junit.rules;
+
+/**
+ * This class in only used to make JUnit5 compatible with testcontainers without adding dependency on JUnit4.
+ *
+ * <p>Please, avoid its usages in other places.
+ */
+@Deprecated
+public abstract class ExternalResource implements TestRule {
+
+    protected void before() throws Throwable {
+        // no-op
+    }
+
+    protected void after() {
+        // no-op
+    }
+}
@@ -0,0 +1,107 @@
+package com.kappadrive.testcontainers.junit5;
+
+import com.kappadrive.testcontainers.junit5.benchmark.StubContainer;
+import com.kappadrive.testcontainers.junit5.benchmark.StubExtensionContext;
+import com.kappadrive.testcontainers.junit5.benchmark.StubParameterContext;
+import com.kappadrive.testcontainers.junit5.benchmark.WithStubContainer;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Overhead of {@link TestContainersExtension} for every test class and method when containers are already started:
+ * scan of container annotations, creation of container factories, fields injection and parameters resolution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestContainersExtensionBenchmark {
+
+    private final TestContainersExtension extension = new TestContainersExtension();
+
+    private StubExtensionContext root;
+    private StubExtensionContext classContext;
+    private StubExtensionContext methodContext;
+    private StubParameterContext firstParameter;
+    private StubParameterContext secondParameter;
+
+    /**
+     * Prepares contexts with already started containers.
+     *
+     * @throws Exception if test method not found.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        root = StubExtensionContext.root();
+        classContext = root.forClass(BenchmarkTestCase.class);
+        Method testMethod = BenchmarkTestCase.class.getDeclaredMethod("test", StubContainer.class, StubContainer.class);
+        methodContext = classContext.forMethod(testMethod, new BenchmarkTestCase());
+        firstParameter = new StubParameterContext(testMethod, 0);
+        secondParameter = new StubParameterContext(testMethod, 1);
+
+        // containers are started only once, so only overhead of each next test is measured
+        extension.beforeAll(classContext);
+    }
+
+    @TearDown
+    public void tearDown() throws Throwable {
+        root.close();
+    }
+
+    @Benchmark
+    public void beforeAll() throws Exception {
+        extension.beforeAll(classContext);
+    }
+
+    @Benchmark
+    public void beforeEach() throws Exception {
+        extension.beforeEach(methodContext);
+    }
+
+    @Benchmark
+    public boolean supportsParameter() {
+        return extension.supportsParameter(firstParameter, methodContext)
+            & extension.supportsParameter(secondParameter, methodContext);
+    }
+
+    /**
+     * Resolves both parameters of test method.
+     *
+     * @return resolved parameters.
+     */
+    @Benchmark
+    public Object[] resolveParameter() {
+        return new Object[] {
+            extension.resolveParameter(firstParameter, methodContext),
+            extension.resolveParameter(secondParameter, methodContext)
+        };
+    }
+
+    @WithStubContainer("first")
+    @WithStubContainer("second")
+    public static class BenchmarkTestCase {
+
+        @Container("first")
+        static StubContainer first;
+
+        @Container("second")
+        StubContainer second;
+
+        public void test(@Container("first") StubContainer first, @Container("second") StubContainer second) {
+            // never executed
+        }
+    }
+}
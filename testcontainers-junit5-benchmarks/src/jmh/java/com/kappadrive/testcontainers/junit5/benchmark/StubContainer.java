@@ -0,0 +1,39 @@
+package com.kappadrive.testcontainers.junit5.benchmark;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Container which is never started in docker: all lifecycle operations are no-op.
+ */
+public class StubContainer extends GenericContainer<StubContainer> {
+
+    public StubContainer() {
+        super(DockerImageName.parse("stub"));
+    }
+
+    @Override
+    public String getDockerImageName() {
+        return "stub";
+    }
+
+    @Override
+    public void start() {
+        // never started
+    }
+
+    @Override
+    public void stop() {
+        // never started
+    }
+
+    @Override
+    public String getHost() {
+        return "localhost";
+    }
+
+    @Override
+    public Integer getMappedPort(int originalPort) {
+        return originalPort;
+    }
+}
@@ -0,0 +1,28 @@
+package com.kappadrive.testcontainers.junit5.benchmark;
+
+import com.kappadrive.testcontainers.junit5.AnnotationConsumer;
+import com.kappadrive.testcontainers.junit5.TestContainerFactory;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Factory of {@link StubContainer} declared via {@link WithStubContainer}.
+ */
+public class StubContainerFactory implements TestContainerFactory, AnnotationConsumer<WithStubContainer> {
+
+    private WithStubContainer withStubContainer;
+
+    @Override
+    public void accept(WithStubContainer annotation) {
+        this.withStubContainer = annotation;
+    }
+
+    @Override
+    public String getContainerName() {
+        return withStubContainer.value();
+    }
+
+    @Override
+    public GenericContainer<?> createContainer() {
+        return new StubContainer();
+    }
+}
@@ -0,0 +1,159 @@
+package com.kappadrive.testcontainers.junit5.benchmark;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestInstances;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+/**
+ * Minimal {@link ExtensionContext} for root, class or method level without any Jupiter engine overhead.
+ */
+public class StubExtensionContext implements ExtensionContext {
+
+    private final StubExtensionContext parent;
+    private final AnnotatedElement element;
+    private final Class<?> testClass;
+    private final Object testInstance;
+    private final Map<Namespace, StubStore> stores = new ConcurrentHashMap<>();
+
+    private StubExtensionContext(StubExtensionContext parent, AnnotatedElement element, Class<?> testClass, Object testInstance) {
+        this.parent = parent;
+        this.element = element;
+        this.testClass = testClass;
+        this.testInstance = testInstance;
+    }
+
+    /**
+     * Creates engine level context.
+     *
+     * @return root context.
+     */
+    public static StubExtensionContext root() {
+        return new StubExtensionContext(null, null, null, null);
+    }
+
+    /**
+     * Creates class level context.
+     *
+     * @param testClass - test class.
+     * @return class level context.
+     */
+    public StubExtensionContext forClass(Class<?> testClass) {
+        return new StubExtensionContext(this, testClass, testClass, null);
+    }
+
+    /**
+     * Creates method level context.
+     *
+     * @param testMethod   - test method.
+     * @param testInstance - test class instance.
+     * @return method level context.
+     */
+    public StubExtensionContext forMethod(Method testMethod, Object testInstance) {
+        return new StubExtensionContext(this, testMethod, testClass, testInstance);
+    }
+
+    /**
+     * Closes all resources of this context stores.
+     *
+     * @throws Throwable if any resource failed to close.
+     */
+    public void close() throws Throwable {
+        for (StubStore store : stores.values()) {
+            store.close();
+        }
+    }
+
+    @Override
+    public Optional<ExtensionContext> getParent() {
+        return Optional.ofNullable(parent);
+    }
+
+    @Override
+    public ExtensionContext getRoot() {
+        return parent == null ? this : parent.getRoot();
+    }
+
+    @Override
+    public String getUniqueId() {
+        return String.valueOf(element);
+    }
+
+    @Override
+    public String getDisplayName() {
+        return String.valueOf(element);
+    }
+
+    @Override
+    public Set<String> getTags() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Optional<AnnotatedElement> getElement() {
+        return Optional.ofNullable(element);
+    }
+
+    @Override
+    public Optional<Class<?>> getTestClass() {
+        return Optional.ofNullable(testClass);
+    }
+
+    @Override
+    public Optional<TestInstance.Lifecycle> getTestInstanceLifecycle() {
+        return Optional.of(TestInstance.Lifecycle.PER_METHOD);
+    }
+
+    @Override
+    public Optional<Object> getTestInstance() {
+        return Optional.ofNullable(testInstance);
+    }
+
+    @Override
+    public Optional<TestInstances> getTestInstances() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Method> getTestMethod() {
+        return element instanceof Method ? Optional.of((Method) element) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Throwable> getExecutionException() {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<String> getConfigurationParameter(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public <T> Optional<T> getConfigurationParameter(String key, Function<String, T> transformer) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void publishReportEntry(Map<String, String> map) {
+        // report entries are not collected by benchmarks
+    }
+
+    @Override
+    public Store getStore(Namespace namespace) {
+        return stores.computeIfAbsent(namespace, n -> new StubStore());
+    }
+
+    @Override
+    public ExecutionMode getExecutionMode() {
+        return ExecutionMode.SAME_THREAD;
+    }
+}
@@ -0,0 +1,53 @@
+package com.kappadrive.testcontainers.junit5.benchmark;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * Minimal {@link ParameterContext} of test method parameter.
+ */
+public class StubParameterContext implements ParameterContext {
+
+    private final Parameter parameter;
+    private final int index;
+
+    public StubParameterContext(Method method, int index) {
+        this.parameter = method.getParameters()[index];
+        this.index = index;
+    }
+
+    @Override
+    public Parameter getParameter() {
+        return parameter;
+    }
+
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public Optional<Object> getTarget() {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean isAnnotated(Class<? extends Annotation> annotationType) {
+        return AnnotationSupport.isAnnotated(parameter, annotationType);
+    }
+
+    @Override
+    public <A extends Annotation> Optional<A> findAnnotation(Class<A> annotationType) {
+        return AnnotationSupport.findAnnotation(parameter, annotationType);
+    }
+
+    @Override
+    public <A extends Annotation> List<A> findRepeatableAnnotations(Class<A> annotationType) {
+        return AnnotationSupport.findRepeatableAnnotations(parameter, annotationType);
+    }
+}
@@ -0,0 +1,68 @@
+package com.kappadrive.testcontainers.junit5.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Simple in-memory {@link ExtensionContext.Store} without any Jupiter engine overhead.
+ */
+public class StubStore implements ExtensionContext.Store {
+
+    private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+    @Override
+    public Object get(Object key) {
+        return values.get(key);
+    }
+
+    @Override
+    public <V> V get(Object key, Class<V> requiredType) {
+        return requiredType.cast(values.get(key));
+    }
+
+    @Override
+    public <K, V> Object getOrComputeIfAbsent(K key, Function<K, V> defaultCreator) {
+        return values.computeIfAbsent(key, k -> defaultCreator.apply(key));
+    }
+
+    @Override
+    public <K, V> V getOrComputeIfAbsent(K key, Function<K, V> defaultCreator, Class<V> requiredType) {
+        return requiredType.cast(getOrComputeIfAbsent(key, defaultCreator));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return values.remove(key);
+    }
+
+    @Override
+    public <V> V remove(Object key, Class<V> requiredType) {
+        return requiredType.cast(values.remove(key));
+    }
+
+    /**
+     * Closes all stored {@link ExtensionContext.Store.CloseableResource}s in reverse order as Jupiter does.
+     *
+     * @throws Throwable if any resource failed to close.
+     */
+    public void close() throws Throwable {
+        List<Object> resources = new ArrayList<>(values.values());
+        Collections.reverse(resources);
+        for (Object resource : resources) {
+            if (resource instanceof CloseableResource) {
+                ((CloseableResource) resource).close();
+            }
+        }
+        values.clear();
+    }
+}
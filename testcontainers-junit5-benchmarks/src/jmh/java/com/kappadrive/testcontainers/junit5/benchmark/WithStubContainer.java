@@ -0,0 +1,25 @@
+package com.kappadrive.testcontainers.junit5.benchmark;
+
+import com.kappadrive.testcontainers.junit5.WithTestContainerSupport;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares {@link StubContainer} with given name.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Repeatable(WithStubContainers.class)
+@WithTestContainerSupport(StubContainerFactory.class)
+public @interface WithStubContainer {
+
+    /**
+     * Name of the container.
+     *
+     * @return container name.
+     */
+    String value();
+}
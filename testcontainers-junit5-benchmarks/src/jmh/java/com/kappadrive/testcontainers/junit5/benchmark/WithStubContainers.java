@@ -0,0 +1,21 @@
+package com.kappadrive.testcontainers.junit5.benchmark;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container for repeatable {@link WithStubContainer}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface WithStubContainers {
+
+    /**
+     * Returns all stub containers.
+     *
+     * @return all stub containers.
+     */
+    WithStubContainer[] value();
+}
@@ -0,0 +1,76 @@
+package com.kappadrive.testcontainers.junit5.property;
+
+import com.kappadrive.testcontainers.junit5.TestContainers;
+import com.kappadrive.testcontainers.junit5.benchmark.StubContainer;
+import com.kappadrive.testcontainers.junit5.benchmark.StubExtensionContext;
+import com.kappadrive.testcontainers.junit5.benchmark.WithStubContainer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Overhead of {@link MapToSystemPropertyExtension} for every test class and method:
+ * lookup of property resolvers and mapping of property values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapToSystemPropertyBenchmark {
+
+    private final MapToSystemPropertyExtension extension = new MapToSystemPropertyExtension();
+
+    private StubExtensionContext root;
+    private StubExtensionContext classContext;
+    private StubExtensionContext methodContext;
+
+    /**
+     * Prepares contexts with already started containers.
+     *
+     * @throws Exception if test method not found.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        root = StubExtensionContext.root();
+        classContext = root.forClass(BenchmarkTestCase.class);
+        methodContext = classContext.forMethod(BenchmarkTestCase.class.getDeclaredMethod("test"), new BenchmarkTestCase());
+        TestContainers.getTestContainers(root).put("db", new StubContainer());
+    }
+
+    @TearDown
+    public void tearDown() throws Throwable {
+        root.close();
+    }
+
+    @Benchmark
+    public void beforeAll() {
+        extension.beforeAll(classContext);
+    }
+
+    @Benchmark
+    public void beforeEach() {
+        extension.beforeEach(methodContext);
+    }
+
+    @WithStubContainer("db")
+    @MapToSystemProperty(container = "db", property = "benchmark.host", value = "${host}")
+    public static class BenchmarkTestCase {
+
+        @MapToSystemProperty(container = "db", property = "benchmark.url", value = "jdbc:stub://${host}:${port:5432}/db")
+        @MapToSystemProperty(container = "db", property = "benchmark.ports", value = "${port:5432},${port:5433},${port:5434}")
+        public void test() {
+            // never executed
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.util.Set;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Container declared on test class or method via {@link WithTestContainerSupport}.
+ */
+@Getter
+class ContainerDefinition {
+
+    /**
+     * Factory configured with source annotation.
+     */
+    private final TestContainerFactory factory;
+
+    /**
+     * Stable fingerprint of container configuration.
+     */
+    private final String fingerprint;
+
+    /**
+     * Name of container provided by factory.
+     */
+    private final String containerName;
+
+    @Getter(AccessLevel.NONE)
+    private final Supplier<TestContainerFactory> factorySupplier;
+
+    ContainerDefinition(TestContainerFactory factory, String fingerprint) {
+        this(factory, fingerprint, () -> factory);
+    }
+
+    ContainerDefinition(TestContainerFactory factory, String fingerprint, Supplier<TestContainerFactory> factorySupplier) {
+        this.factory = factory;
+        this.fingerprint = fingerprint;
+        this.containerName = factory.getContainerName();
+        this.factorySupplier = factorySupplier;
+    }
+
+    /**
+     * Creates definition of the same container with a new factory,
+     * so factories cached with definitions are never shared between test contexts.
+     *
+     * @return definition with a new factory.
+     */
+    ContainerDefinition withNewFactory() {
+        return new ContainerDefinition(factorySupplier.get(), fingerprint, factorySupplier);
+    }
+
+    Set<String> getDependencies() {
+        return factory.getDependencies();
+    }
+}
@@ -0,0 +1,52 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Computes stable fingerprint of container configuration.
+ * Fingerprint is based on factory class and all attributes of source annotation,
+ * so it is the same between different test runs until container configuration is changed.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+abstract class ContainerFingerprint {
+
+    /**
+     * Label which is used to mark containers created with fingerprint.
+     */
+    static final String FINGERPRINT_LABEL = "com.kappadrive.testcontainers.fingerprint";
+
+    static String of(Class<? extends TestContainerFactory> factoryClass, MergedAnnotation<?> sourceAnnotation) {
+        StringBuilder builder = new StringBuilder(factoryClass.getName()).append('@').append(sourceAnnotation.getType().getName());
+        appendValue(builder, sourceAnnotation.asMap(MergedAnnotation.Adapt.CLASS_TO_STRING, MergedAnnotation.Adapt.ANNOTATION_TO_MAP));
+        return DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendValue(StringBuilder builder, Object value) {
+        if (value instanceof Map) {
+            // attributes are sorted by name to not depend on declaration order
+            builder.append('{');
+            new TreeMap<>((Map<?, ?>) value).forEach((k, v) -> {
+                builder.append(k).append('=');
+                appendValue(builder, v);
+                builder.append(';');
+            });
+            builder.append('}');
+        } else if (ObjectUtils.isArray(value)) {
+            builder.append('[');
+            for (Object element : ObjectUtils.toObjectArray(value)) {
+                appendValue(builder, element);
+                builder.append(',');
+            }
+            builder.append(']');
+        } else {
+            builder.append(value);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * Bounded executor for container lifecycle operations shared by the whole Jupiter test run.
+ * Lifecycle operations are mostly waiting for docker, so they are run on virtual threads if runtime supports them
+ * and on bounded pool of platform threads otherwise. On virtual threads operations are limited only if parallelism is configured explicitly,
+ * load of docker could be limited by {@link ContainerStartupPermits} as well.
+ */
+class ContainerLifecycleExecutor implements ExtensionContext.Store.CloseableResource {
+
+    private static final String EXECUTOR_KEY = "lifecycleExecutor";
+    private static final String THREAD_PREFIX = "testcontainers-lifecycle-";
+
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+
+    /**
+     * Creates executor.
+     *
+     * @param parallelism - maximum number of operations run at the same time
+     *                    or <code>0</code> for number of available processors on platform threads and no limit on virtual threads.
+     */
+    ContainerLifecycleExecutor(int parallelism) {
+        this(parallelism, ContainerLifecycleExecutor::newVirtualThreadExecutor);
+    }
+
+    ContainerLifecycleExecutor(int parallelism, Supplier<ExecutorService> virtualThreadExecutor) {
+        this.executorService = newExecutorService(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), virtualThreadExecutor);
+        this.permits = parallelism > 0 ? new Semaphore(parallelism) : null;
+    }
+
+    static ContainerLifecycleExecutor getLifecycleExecutor(ExtensionContext context) {
+        return context.getRoot().getStore(GLOBAL).getOrComputeIfAbsent(EXECUTOR_KEY,
+            k -> new ContainerLifecycleExecutor(TestContainersConfiguration.getParallelism(context)), ContainerLifecycleExecutor.class);
+    }
+
+    /**
+     * Creates executor running every task on its own virtual thread if runtime supports them
+     * or fixed pool of platform threads otherwise.
+     *
+     * @param threads - number of platform threads if virtual threads are not supported.
+     * @return created executor.
+     */
+    static ExecutorService newExecutorService(int threads) {
+        return newExecutorService(threads, ContainerLifecycleExecutor::newVirtualThreadExecutor);
+    }
+
+    static ExecutorService newExecutorService(int threads, Supplier<ExecutorService> virtualThreadExecutor) {
+        ExecutorService executorService = virtualThreadExecutor.get();
+        return executorService != null ? executorService : Executors.newFixedThreadPool(threads, new LifecycleThreadFactory());
+    }
+
+    /**
+     * Creates executor running every task on its own virtual thread.
+     * Extension is compiled for Java 11, so virtual threads are accessed via reflection.
+     *
+     * @return created executor or <code>null</code> if virtual threads are not supported by runtime.
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        return newVirtualThreadExecutor(Thread.class, Executors.class);
+    }
+
+    static ExecutorService newVirtualThreadExecutor(Class<?> threadClass, Class<?> executorsClass) {
+        try {
+            Method ofVirtual = threadClass.getMethod("ofVirtual");
+            Class<?> builderClass = ofVirtual.getReturnType();
+            Object builder = builderClass.getMethod("name", String.class, long.class).invoke(ofVirtual.invoke(null), THREAD_PREFIX, 1L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) executorsClass.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            // virtual threads are either missing or preview feature which is not enabled
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Executes all tasks and waits for every one of them.
+     * Results of successful tasks are passed to <code>onSuccess</code> even if some other tasks failed.
+     *
+     * @param tasks     - tasks to execute.
+     * @param onSuccess - consumer of successful task results with index of task.
+     * @param onFailure - consumer of failed task errors with index of task.
+     * @param <T>       - type of task result.
+     */
+    <T> void invokeAll(List<? extends Callable<T>> tasks, ResultConsumer<T> onSuccess, ResultConsumer<Throwable> onFailure) {
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        tasks.forEach(task -> futures.add(executorService.submit(() -> {
+            if (permits == null) {
+                return task.call();
+            }
+            permits.acquire();
+            try {
+                return task.call();
+            } finally {
+                permits.release();
+            }
+        })));
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                onSuccess.accept(i, futures.get(i).get());
+            } catch (ExecutionException e) {
+                onFailure.accept(i, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                throw new JUnitException("Interrupted while waiting for container lifecycle operations", e);
+            }
+        }
+    }
+
+    /**
+     * Executes task in background.
+     *
+     * @param task - task to execute.
+     * @param <T>  - type of task result.
+     * @return future of task result.
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        if (permits == null) {
+            return CompletableFuture.supplyAsync(task, executorService);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                return task.get();
+            } finally {
+                permits.release();
+            }
+        }, executorService);
+    }
+
+    /**
+     * Consumer of task result.
+     *
+     * @param <T> - type of task result.
+     */
+    @FunctionalInterface
+    interface ResultConsumer<T> {
+
+        void accept(int index, T result);
+    }
+
+    private static class LifecycleThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, THREAD_PREFIX + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
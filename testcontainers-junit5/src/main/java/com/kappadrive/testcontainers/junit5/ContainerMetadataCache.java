@@ -0,0 +1,56 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Results of reflection performed by {@link TestContainersExtension} for test classes, methods and parameters.
+ * Shared by the whole Jupiter test run, so each test element is scanned only once.
+ */
+class ContainerMetadataCache {
+
+    private static final String CACHE_KEY = "metadataCache";
+
+    private final Map<AnnotatedElement, List<ContainerDefinition>> definitions = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<InjectableField>> staticFields = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<InjectableField>> instanceFields = new ConcurrentHashMap<>();
+    private final Map<Parameter, String> parameterContainerNames = new ConcurrentHashMap<>();
+
+    static ContainerMetadataCache getMetadataCache(ExtensionContext context) {
+        return context.getRoot().getStore(GLOBAL)
+            .getOrComputeIfAbsent(CACHE_KEY, k -> new ContainerMetadataCache(), ContainerMetadataCache.class);
+    }
+
+    List<ContainerDefinition> getDefinitions(AnnotatedElement element, Function<AnnotatedElement, List<ContainerDefinition>> scanner) {
+        return definitions.computeIfAbsent(element, scanner);
+    }
+
+    List<InjectableField> getFields(Class<?> testClass, boolean isStatic, Function<Class<?>, List<InjectableField>> scanner) {
+        return (isStatic ? staticFields : instanceFields).computeIfAbsent(testClass, scanner);
+    }
+
+    String getContainerName(Parameter parameter, Function<Parameter, String> resolver) {
+        return parameterContainerNames.computeIfAbsent(parameter, resolver);
+    }
+
+    /**
+     * Field annotated with {@link Container} and already made accessible.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static class InjectableField {
+
+        private final Field field;
+        private final String containerName;
+    }
+}
@@ -0,0 +1,134 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Namespaces isolating test classes which share the same container, for example database schema, topic prefix or Redis database index.
+ * Namespace is created via {@link TestContainerFactory#createNamespace(GenericContainer, String)} on its first use in test class
+ * and dropped via {@link TestContainerFactory#dropNamespace(GenericContainer, String)} after all tests of the class.
+ * Nested test classes get their own namespaces. Container leased from pool or declared only by test method
+ * gets namespace of that test method, dropped before container is stopped or released. Could be accessed via:
+ * <pre>{@code
+ * ContainerNamespaces.getNamespace(context, "db");
+ * }</pre>
+ * or via <code>${namespace}</code> in {@link com.kappadrive.testcontainers.junit5.property.MapToSystemProperty}.
+ */
+@Log4j2
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ContainerNamespaces {
+
+    private static final String NAMESPACES_KEY = "containerNamespaces";
+    private static final ExtensionContext.Namespace CLASS_NAMESPACES = ExtensionContext.Namespace.create(ContainerNamespaces.class);
+
+    // process id keeps names unique even in container shared by several test JVMs
+    private final String prefix = "test_" + ProcessHandle.current().pid() + "_";
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    static ContainerNamespaces getContainerNamespaces(ExtensionContext context) {
+        return context.getRoot().getStore(GLOBAL).getOrComputeIfAbsent(NAMESPACES_KEY, k -> new ContainerNamespaces(),
+            ContainerNamespaces.class);
+    }
+
+    /**
+     * Returns namespace of test class inside container, creating it on first use.
+     *
+     * @param context       - test context of test class or method.
+     * @param containerName - name of container.
+     * @return namespace value.
+     */
+    public static String getNamespace(ExtensionContext context, String containerName) {
+        TestContainers testContainers = TestContainers.getTestContainers(context);
+        if (!testContainers.contains(containerName)) {
+            throw new JUnitException(String.format("Failed to create namespace cause container not found: %s", containerName));
+        }
+        return getNamespace(context, containerName, testContainers.get(containerName));
+    }
+
+    /**
+     * Returns namespace of test class inside container, creating it on first use.
+     *
+     * @param context   - test context of test class or method.
+     * @param container - container present in test context.
+     * @return namespace value.
+     */
+    public static String getNamespace(ExtensionContext context, GenericContainer<?> container) {
+        String containerName = TestContainers.getTestContainers(context).findContainerName(container);
+        if (containerName == null) {
+            throw new JUnitException(String.format("Failed to create namespace cause container not found: %s", container));
+        }
+        return getNamespace(context, containerName, container);
+    }
+
+    private static String getNamespace(ExtensionContext context, String containerName, GenericContainer<?> container) {
+        ContainerNamespaces namespaces = getContainerNamespaces(context);
+        // container could be put into context directly without any declaration, then proposed name is used as is
+        TestContainerFactory factory = TestContainers.getTestContainers(context).getFactory(containerName);
+        ExtensionContext ownerContext = findOwnerContext(context, containerName);
+        // values of enclosing test class are visible via store as well, so key is unique for owner context
+        return ownerContext.getStore(CLASS_NAMESPACES)
+            .getOrComputeIfAbsent(ownerContext.getUniqueId() + "/" + containerName, k -> namespaces.create(containerName, container, factory),
+                ClassNamespace.class)
+            .getValue();
+    }
+
+    private ClassNamespace create(String containerName, GenericContainer<?> container, TestContainerFactory factory) {
+        String name = prefix + sequence.incrementAndGet();
+        try {
+            return new ClassNamespace(containerName, container, factory, factory != null ? factory.createNamespace(container, name) : name);
+        } catch (Exception e) {
+            throw new JUnitException(String.format("Failed to create namespace in container %s", containerName), e);
+        }
+    }
+
+    private static ExtensionContext findOwnerContext(ExtensionContext context, String containerName) {
+        ExtensionContext classContext = findClassContext(context);
+        // container leased or declared only by test method is stopped after it, so namespace is dropped together with test method
+        boolean methodContainer = context != classContext
+            && (TestContainers.isLeased(context, containerName) || ContainerReferences.isReleasedWith(context, containerName));
+        return methodContainer ? context : classContext;
+    }
+
+    private static ExtensionContext findClassContext(ExtensionContext context) {
+        // namespace is shared by all methods of test class including their invocations
+        ExtensionContext current = context;
+        while (current.getTestMethod().isPresent()) {
+            current = current.getParent().orElseThrow(IllegalStateException::new);
+        }
+        return current;
+    }
+
+    /**
+     * Namespace of single test class or method, dropped when its context is closed.
+     */
+    @RequiredArgsConstructor
+    private static class ClassNamespace implements ExtensionContext.Store.CloseableResource {
+
+        private final String containerName;
+        private final GenericContainer<?> container;
+        private final TestContainerFactory factory;
+        @Getter
+        private final String value;
+
+        @Override
+        public void close() {
+            if (factory == null) {
+                return;
+            }
+            try {
+                factory.dropNamespace(container, value);
+            } catch (Exception e) {
+                log.warn("Failed to drop namespace {} in container {}", value, containerName, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.platform.commons.JUnitException;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Pool of warm containers created from the same {@link ContainerDefinition}.
+ * Each container is leased by a single test method and then either reset and returned back
+ * or discarded and replaced by a new one started in background.
+ */
+@Log4j2
+class ContainerPool {
+
+    private final ContainerDefinition definition;
+    private final int size;
+    private final ContainerLifecycleExecutor executor;
+    private final ContainerStartupPermits permits;
+    private final Deque<CompletableFuture<PooledContainer>> warm = new ArrayDeque<>();
+    private final List<CompletableFuture<?>> discarded = new ArrayList<>();
+
+    ContainerPool(ContainerDefinition definition, int size, ContainerLifecycleExecutor executor, ContainerStartupPermits permits) {
+        this.definition = definition;
+        this.size = size;
+        this.executor = executor;
+        this.permits = permits;
+        for (int i = 0; i < size; i++) {
+            warm.add(startInBackground());
+        }
+    }
+
+    /**
+     * Leases container from pool. Waits for warm container if it is still starting
+     * or starts a new one if there are no warm containers left.
+     *
+     * @return leased container with startup metrics if it was not leased before.
+     */
+    PooledContainer lease() {
+        CompletableFuture<PooledContainer> next;
+        synchronized (this) {
+            next = warm.pollFirst();
+        }
+        try {
+            return next != null ? next.join() : start();
+        } catch (CompletionException e) {
+            throw new JUnitException(String.format("Failed to start pooled container %s", definition.getContainerName()), e.getCause());
+        } catch (RuntimeException e) {
+            throw new JUnitException(String.format("Failed to start pooled container %s", definition.getContainerName()), e);
+        }
+    }
+
+    /**
+     * Returns leased container to pool. Container is returned only if {@link TestContainerFactory#resetContainer(GenericContainer)}
+     * succeeds and pool is not full, otherwise it is stopped and a new one is started instead in background.
+     *
+     * @param container - leased container.
+     */
+    void release(GenericContainer<?> container) {
+        // reset is executed inside of container, so other tests must not wait for it to lease or release their containers
+        boolean reset = reset(container);
+        synchronized (this) {
+            if (reset && warm.size() < size) {
+                warm.addFirst(CompletableFuture.completedFuture(new PooledContainer(container, null)));
+                return;
+            }
+            discarded.add(executor.submit(() -> {
+                TestContainers.stopSafe(definition.getContainerName(), container);
+                return null;
+            }));
+            if (warm.size() < size) {
+                warm.addLast(startInBackground());
+            }
+        }
+    }
+
+    /**
+     * Waits for all background operations and adds all warm containers to shutdown.
+     *
+     * @param shutdown - shutdown of containers.
+     */
+    synchronized void close(ContainerShutdown shutdown) {
+        discarded.forEach(CompletableFuture::join);
+        warm.forEach(future -> future.thenAccept(pooled -> shutdown.add(definition.getContainerName(), pooled.getContainer()))
+            .exceptionally(e -> null)
+            .join());
+        warm.clear();
+    }
+
+    private boolean reset(GenericContainer<?> container) {
+        try {
+            return definition.getFactory().resetContainer(container);
+        } catch (RuntimeException e) {
+            log.warn("Failed to reset container {}, it will be replaced", definition.getContainerName(), e);
+            return false;
+        }
+    }
+
+    private CompletableFuture<PooledContainer> startInBackground() {
+        return executor.submit(this::start);
+    }
+
+    private PooledContainer start() {
+        GenericContainer<?> container = definition.getFactory().createContainer();
+        return new PooledContainer(container, ContainerStartupTimer.start(definition.getContainerName(), container, permits));
+    }
+
+    /**
+     * Container leased from pool.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static class PooledContainer {
+
+        private final GenericContainer<?> container;
+        // null if container was already leased before, so its startup was already reported
+        private final ContainerStartupMetrics metrics;
+    }
+}
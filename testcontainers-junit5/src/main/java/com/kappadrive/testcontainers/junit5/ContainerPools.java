@@ -0,0 +1,43 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Container pools of the whole Jupiter test run grouped by container fingerprint.
+ */
+@RequiredArgsConstructor
+class ContainerPools implements ExtensionContext.Store.CloseableResource {
+
+    private static final String POOLS_KEY = "containerPools";
+
+    private final int size;
+    private final Duration shutdownTimeout;
+    private final ContainerLifecycleExecutor executor;
+    private final ContainerStartupPermits permits;
+    private final Map<String, ContainerPool> pools = new ConcurrentHashMap<>();
+
+    static ContainerPools getContainerPools(ExtensionContext context) {
+        // executor is stored first, so it is closed only after all pools are closed
+        ContainerLifecycleExecutor executor = ContainerLifecycleExecutor.getLifecycleExecutor(context);
+        return context.getRoot().getStore(GLOBAL).getOrComputeIfAbsent(POOLS_KEY, k -> new ContainerPools(
+            TestContainersConfiguration.getPoolSize(context), TestContainersConfiguration.getShutdownTimeout(context), executor,
+            ContainerStartupPermits.getStartupPermits(context)), ContainerPools.class);
+    }
+
+    ContainerPool getPool(ContainerDefinition definition) {
+        return pools.computeIfAbsent(definition.getFingerprint(), fingerprint -> new ContainerPool(definition, size, executor, permits));
+    }
+
+    @Override
+    public void close() {
+        ContainerShutdown shutdown = new ContainerShutdown(shutdownTimeout);
+        pools.values().forEach(pool -> pool.close(shutdown));
+        shutdown.stopAll();
+    }
+}
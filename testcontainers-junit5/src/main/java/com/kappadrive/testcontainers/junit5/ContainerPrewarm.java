@@ -0,0 +1,172 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Containers started in background before JUnit reaches test classes declaring them.
+ * {@link TestContainersExtension} adopts already started container instead of starting a new one.
+ * Containers which were not adopted are stopped when test plan execution is finished.
+ */
+@Log4j2
+class ContainerPrewarm {
+
+    // launcher listener and extension do not share any context, but listener is notified about test class execution
+    // by the same thread right before the extension is called, so prewarm is never adopted by other test plans of the same JVM
+    private static final ThreadLocal<Binding> BINDING = new ThreadLocal<>();
+
+    private final ContainerLifecycleExecutor executor;
+    private final Duration shutdownTimeout;
+    private final boolean network;
+    private final ContainerStartupPermits permits;
+    private final Map<String, PrewarmTask> tasks = new ConcurrentHashMap<>();
+
+    /**
+     * Creates prewarm available for adoption until it is closed.
+     *
+     * @param parallelism     - maximum number of containers started at the same time, <code>0</code> for default.
+     * @param shutdownTimeout - maximum time to wait for not adopted containers to be stopped.
+     * @param network         - whether containers are attached to shared network.
+     * @param permits         - permits limiting containers started at the same time by all JVMs.
+     */
+    ContainerPrewarm(int parallelism, Duration shutdownTimeout, boolean network, ContainerStartupPermits permits) {
+        this.executor = new ContainerLifecycleExecutor(parallelism);
+        this.shutdownTimeout = shutdownTimeout;
+        this.network = network;
+        this.permits = permits;
+    }
+
+    /**
+     * Returns prewarm of test plan executing given test context in the current thread.
+     *
+     * @param context - test context declaring containers.
+     * @return prewarm bound to test context or empty if test context is not executed by test plan with prewarm.
+     */
+    static Optional<ContainerPrewarm> getPrewarm(ExtensionContext context) {
+        return Optional.ofNullable(BINDING.get())
+            .filter(binding -> binding.uniqueId.equals(context.getUniqueId()))
+            .map(binding -> binding.prewarm);
+    }
+
+    /**
+     * Binds prewarm to test descriptor executed by the current thread until {@link #exit()} is called.
+     *
+     * @param uniqueId - unique id of test descriptor.
+     */
+    void enter(String uniqueId) {
+        BINDING.set(new Binding(this, uniqueId, BINDING.get()));
+    }
+
+    /**
+     * Restores binding of the current thread replaced by the last {@link #enter(String)}.
+     */
+    static void exit() {
+        BINDING.set(BINDING.get().previous);
+    }
+
+    /**
+     * Takes container started in background for given definition.
+     * If container is not started yet, it is never started in background and must be started by caller.
+     *
+     * @param definition - definition of container.
+     * @return prewarmed container or <code>null</code> if there is no such container or its start failed.
+     */
+    PrewarmedContainer adopt(ContainerDefinition definition) {
+        PrewarmTask task = tasks.remove(definition.getFingerprint());
+        if (task == null || task.claimed.compareAndSet(false, true)) {
+            // caller does not wait for other containers queued before this one
+            return null;
+        }
+        try {
+            return task.result.join();
+        } catch (CompletionException e) {
+            log.warn("Failed to prewarm container {}, it will be started again", definition.getContainerName(), e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Starts container in background if container with the same fingerprint is not started yet.
+     *
+     * @param definition - definition of container.
+     */
+    void start(ContainerDefinition definition) {
+        tasks.computeIfAbsent(definition.getFingerprint(), fingerprint -> new PrewarmTask(definition, executor, network, permits));
+    }
+
+    /**
+     * Stops all not adopted containers, so nothing could be adopted anymore.
+     */
+    void close() {
+        // not started containers are claimed first, so they are never started while waiting for others
+        List<PrewarmTask> started = tasks.values().stream()
+            .filter(task -> !task.claimed.compareAndSet(false, true))
+            .collect(Collectors.toList());
+        tasks.clear();
+
+        ContainerShutdown shutdown = new ContainerShutdown(shutdownTimeout);
+        started.forEach(task -> {
+            PrewarmedContainer prewarmed = task.result.exceptionally(e -> null).join();
+            if (prewarmed != null) {
+                shutdown.add(task.containerName, prewarmed.getContainer());
+            }
+        });
+        shutdown.stopAll();
+        executor.close();
+    }
+
+    /**
+     * Prewarm bound to test descriptor executed by thread, descriptors are entered and exited in stack order.
+     */
+    @RequiredArgsConstructor
+    private static class Binding {
+
+        private final ContainerPrewarm prewarm;
+        private final String uniqueId;
+        private final Binding previous;
+    }
+
+    /**
+     * Container started in background together with its startup metrics.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static class PrewarmedContainer {
+
+        private final GenericContainer<?> container;
+        private final ContainerStartupMetrics metrics;
+    }
+
+    /**
+     * Start of single container which is claimed either by background thread or by adopting test thread.
+     */
+    private static class PrewarmTask {
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final String containerName;
+        private final CompletableFuture<PrewarmedContainer> result;
+
+        PrewarmTask(ContainerDefinition definition, ContainerLifecycleExecutor executor, boolean network, ContainerStartupPermits permits) {
+            this.containerName = definition.getContainerName();
+            this.result = executor.submit(() -> claimed.compareAndSet(false, true) ? start(definition, network, permits) : null);
+        }
+
+        private static PrewarmedContainer start(ContainerDefinition definition, boolean network, ContainerStartupPermits permits) {
+            // prewarm is never enabled together with reuse
+            GenericContainer<?> container = TestContainersExtension.createContainer(definition, false, network);
+            return new PrewarmedContainer(container, ContainerStartupTimer.start(definition.getContainerName(), container, permits));
+        }
+    }
+}
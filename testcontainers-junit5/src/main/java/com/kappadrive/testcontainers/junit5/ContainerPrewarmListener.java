@@ -0,0 +1,65 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Starts containers declared on all discovered test classes in background as soon as test plan execution is started.
+ * Enabled via {@link TestContainersConfiguration#PREWARM_ENABLED}, registered in JUnit Platform Launcher automatically.
+ */
+public class ContainerPrewarmListener implements TestExecutionListener {
+
+    private ContainerPrewarm prewarm;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        ConfigurationParameters parameters = testPlan.getConfigurationParameters();
+        if (!TestContainersConfiguration.isPrewarmEnabled(parameters)) {
+            return;
+        }
+        // the same container is usually declared on many test classes, first declaration wins as in the extension
+        Map<String, ContainerDefinition> definitions = new LinkedHashMap<>();
+        testPlan.getRoots().stream()
+            .flatMap(root -> testPlan.getDescendants(root).stream())
+            .map(TestIdentifier::getSource)
+            .flatMap(Optional::stream)
+            .filter(ClassSource.class::isInstance)
+            .flatMap(source -> TestContainersExtension.findContainerDefinitions(((ClassSource) source).getJavaClass()).stream())
+            .filter(definition -> definition.getDependencies().isEmpty())
+            .forEach(definition -> definitions.putIfAbsent(definition.getContainerName(), definition));
+
+        prewarm = new ContainerPrewarm(TestContainersConfiguration.getParallelism(parameters),
+            TestContainersConfiguration.getShutdownTimeout(parameters), TestContainersConfiguration.isNetworkEnabled(parameters),
+            ContainerStartupPermits.getStartupPermits(parameters));
+        definitions.values().forEach(prewarm::start);
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (prewarm != null) {
+            prewarm.enter(testIdentifier.getUniqueId());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        if (prewarm != null) {
+            ContainerPrewarm.exit();
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (prewarm != null) {
+            prewarm.close();
+            prewarm = null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * References of single test context to containers declared on it.
+ * Released when test context is closed, so containers are stopped right after the last test context declaring them.
+ */
+@RequiredArgsConstructor
+class ContainerReferences implements ExtensionContext.Store.CloseableResource {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ContainerReferences.class);
+
+    private final TestContainers testContainers;
+    private final Set<String> containerNames = new LinkedHashSet<>();
+
+    /**
+     * Adds references from test context to declared containers and their dependencies.
+     * Pinned containers and their dependencies are never released until the whole test run is finished.
+     *
+     * @param context        - test context declaring containers.
+     * @param testContainers - test containers of the whole test run.
+     * @param definitions    - containers declared on test context.
+     * @param pinned         - names of pinned containers.
+     */
+    static void retain(ExtensionContext context, TestContainers testContainers, List<ContainerDefinition> definitions, Set<String> pinned) {
+        // store values are inherited from parent contexts, so key must be unique for each context
+        ContainerReferences references = context.getStore(NAMESPACE).getOrComputeIfAbsent(context.getUniqueId(),
+            k -> new ContainerReferences(testContainers), ContainerReferences.class);
+        definitions.forEach(definition -> {
+            boolean pin = pinned.contains(definition.getContainerName());
+            references.add(definition.getContainerName(), pin);
+            definition.getDependencies().forEach(dependency -> references.add(dependency, pin || pinned.contains(dependency)));
+        });
+    }
+
+    /**
+     * Returns if container is released together with given test context, since none of its parent contexts references it.
+     *
+     * @param context       - test context to check.
+     * @param containerName - name of container.
+     * @return <code>true</code> if only given test context references container, <code>false</code> otherwise.
+     */
+    static boolean isReleasedWith(ExtensionContext context, String containerName) {
+        if (!references(context, containerName)) {
+            return false;
+        }
+        Optional<ExtensionContext> parent = context.getParent();
+        while (parent.isPresent()) {
+            if (references(parent.get(), containerName)) {
+                return false;
+            }
+            parent = parent.get().getParent();
+        }
+        return true;
+    }
+
+    private static boolean references(ExtensionContext context, String containerName) {
+        ContainerReferences references = context.getStore(NAMESPACE).get(context.getUniqueId(), ContainerReferences.class);
+        return references != null && references.contains(containerName);
+    }
+
+    @Override
+    public void close() {
+        testContainers.release(containerNames);
+    }
+
+    private synchronized boolean contains(String containerName) {
+        return containerNames.contains(containerName);
+    }
+
+    private synchronized void add(String containerName, boolean pin) {
+        if (pin) {
+            testContainers.pin(containerName);
+        } else if (containerNames.add(containerName)) {
+            testContainers.retain(containerName);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Stops containers at the same time waiting for them no longer than given timeout.
+ * Containers which are not stopped in time are removed forcibly.
+ */
+@Log4j2
+@RequiredArgsConstructor
+class ContainerShutdown {
+
+    private final Duration timeout;
+    private final List<String> containerNames = new ArrayList<>();
+    private final List<GenericContainer<?>> containers = new ArrayList<>();
+
+    void add(String containerName, GenericContainer<?> container) {
+        containerNames.add(containerName);
+        containers.add(container);
+    }
+
+    /**
+     * Stops all added containers and waits for them.
+     * Containers which are not stopped in time are removed forcibly at the same time waiting for them no longer than timeout again.
+     * Failures are logged per container and never thrown.
+     */
+    void stopAll() {
+        if (containers.isEmpty()) {
+            return;
+        }
+        // stopping is waiting for docker, so every container gets its own thread
+        ExecutorService executorService = ContainerLifecycleExecutor.newExecutorService(containers.size());
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(containers.size());
+            for (int i = 0; i < containers.size(); i++) {
+                String containerName = containerNames.get(i);
+                GenericContainer<?> container = containers.get(i);
+                futures.add(CompletableFuture.runAsync(() -> TestContainers.stopSafe(containerName, container), executorService));
+            }
+            awaitAll(futures);
+
+            List<Integer> notStopped = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                if (!futures.get(i).isDone()) {
+                    log.warn("Container {} was not stopped in {}, removing it forcibly", containerNames.get(i), timeout);
+                    notStopped.add(i);
+                }
+            }
+            if (!notStopped.isEmpty()) {
+                killAll(notStopped);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void killAll(List<Integer> indexes) {
+        // threads of the first executor are still waiting for docker to stop containers
+        ExecutorService executorService = ContainerLifecycleExecutor.newExecutorService(indexes.size());
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(indexes.size());
+            indexes.forEach(i -> futures.add(CompletableFuture.runAsync(() -> kill(containerNames.get(i), containers.get(i)), executorService)));
+            awaitAll(futures);
+
+            for (int i = 0; i < futures.size(); i++) {
+                if (!futures.get(i).isDone()) {
+                    log.error("Container {} was not removed in {}", containerNames.get(indexes.get(i)), timeout);
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void awaitAll(List<CompletableFuture<Void>> futures) {
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS)
+            .join();
+    }
+
+    private static void kill(String containerName, GenericContainer<?> container) {
+        try {
+            String containerId = container.getContainerId();
+            if (containerId != null) {
+                DockerClientFactory.instance().client().removeContainerCmd(containerId).withForce(true).withRemoveVolumes(true).exec();
+            }
+        } catch (Exception e) {
+            log.error("Failed to remove container {}", containerName, e);
+        }
+    }
+}
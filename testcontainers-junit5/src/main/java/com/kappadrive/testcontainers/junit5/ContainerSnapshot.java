@@ -0,0 +1,16 @@
+package com.kappadrive.testcontainers.junit5;
+
+/**
+ * State of started container captured by {@link TestContainerFactory#takeSnapshot(org.testcontainers.containers.GenericContainer)}.
+ * It is restored before each test method, so tests sharing the same container do not see changes made by each other.
+ */
+@FunctionalInterface
+public interface ContainerSnapshot {
+
+    /**
+     * Restores state of container captured by this snapshot.
+     *
+     * @throws Exception if state could not be restored.
+     */
+    void restore() throws Exception;
+}
@@ -0,0 +1,73 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * Orders not yet started containers by their {@link TestContainerFactory#getDependencies()}.
+ * Each level contains containers which depend only on containers from previous levels or already started ones,
+ * so all containers from the same level could be started at the same time.
+ */
+class ContainerStartupGraph {
+
+    private final Map<String, ContainerDefinition> definitions = new LinkedHashMap<>();
+
+    /**
+     * Builds startup graph.
+     *
+     * @param definitions - containers which are not started yet.
+     * @param isStarted   - checks if container with given name is already started.
+     */
+    ContainerStartupGraph(List<ContainerDefinition> definitions, Predicate<String> isStarted) {
+        definitions.forEach(definition -> this.definitions.put(definition.getContainerName(), definition));
+        this.definitions.values().forEach(definition -> definition.getDependencies().forEach(dependency -> {
+            if (!this.definitions.containsKey(dependency) && !isStarted.test(dependency)) {
+                throw new JUnitException(String.format("Container %s depends on %s which is not declared",
+                    definition.getContainerName(), dependency));
+            }
+        }));
+    }
+
+    /**
+     * Returns containers grouped by startup levels.
+     *
+     * @return containers grouped by startup levels in startup order.
+     */
+    List<List<ContainerDefinition>> getLevels() {
+        List<List<ContainerDefinition>> levels = new ArrayList<>();
+        Map<String, ContainerDefinition> remaining = new LinkedHashMap<>(definitions);
+        while (!remaining.isEmpty()) {
+            List<ContainerDefinition> level = remaining.values().stream()
+                .filter(definition -> definition.getDependencies().stream().noneMatch(remaining::containsKey))
+                .collect(Collectors.toList());
+            if (level.isEmpty()) {
+                throw new JUnitException(String.format("Cyclic container dependencies: %s", String.join(" -> ", findCycle(remaining))));
+            }
+            level.forEach(definition -> remaining.remove(definition.getContainerName()));
+            levels.add(level);
+        }
+        return levels;
+    }
+
+    private static List<String> findCycle(Map<String, ContainerDefinition> remaining) {
+        // every remaining container has at least one remaining dependency, so walking them will always find a cycle
+        LinkedList<String> path = new LinkedList<>();
+        String current = remaining.keySet().iterator().next();
+        while (!path.contains(current)) {
+            path.add(current);
+            current = remaining.get(current).getDependencies().stream()
+                .filter(remaining::containsKey)
+                .findFirst()
+                .orElseThrow();
+        }
+        List<String> cycle = new ArrayList<>(path.subList(path.indexOf(current), path.size()));
+        cycle.add(current);
+        return cycle;
+    }
+}
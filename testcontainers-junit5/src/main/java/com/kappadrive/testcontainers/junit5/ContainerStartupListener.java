@@ -0,0 +1,21 @@
+package com.kappadrive.testcontainers.junit5;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Listener notified about every container started by Test Containers extension.
+ * Listeners are loaded via {@link java.util.ServiceLoader}, so to register a new one its class name should be added to
+ * <code>META-INF/services/com.kappadrive.testcontainers.junit5.ContainerStartupListener</code>.
+ * Listeners are always invoked from the test thread, even if containers were started in parallel.
+ * By default {@link ReportingContainerStartupListener} is registered.
+ */
+public interface ContainerStartupListener {
+
+    /**
+     * Invoked after container was successfully started.
+     *
+     * @param context - test context which container was started for.
+     * @param metrics - durations of container startup phases.
+     */
+    void containerStarted(ExtensionContext context, ContainerStartupMetrics metrics);
+}
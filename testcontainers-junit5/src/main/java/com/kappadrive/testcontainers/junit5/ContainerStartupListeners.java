@@ -0,0 +1,49 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * All {@link ContainerStartupListener}s registered via {@link ServiceLoader}.
+ */
+@Log4j2
+@RequiredArgsConstructor
+class ContainerStartupListeners {
+
+    private static final String LISTENERS_KEY = "startupListeners";
+
+    private final List<ContainerStartupListener> listeners;
+
+    static ContainerStartupListeners getStartupListeners(ExtensionContext context) {
+        return context.getRoot().getStore(GLOBAL).getOrComputeIfAbsent(LISTENERS_KEY, k -> {
+            List<ContainerStartupListener> listeners = new ArrayList<>();
+            ServiceLoader.load(ContainerStartupListener.class).forEach(listeners::add);
+            return new ContainerStartupListeners(listeners);
+        }, ContainerStartupListeners.class);
+    }
+
+    /**
+     * Notifies all listeners. Failure of any listener is logged and does not affect neither other listeners nor tests.
+     *
+     * @param context - test context which containers were started for.
+     * @param metrics - metrics of started containers.
+     */
+    void containersStarted(ExtensionContext context, List<ContainerStartupMetrics> metrics) {
+        for (ContainerStartupMetrics containerMetrics : metrics) {
+            for (ContainerStartupListener listener : listeners) {
+                try {
+                    listener.containerStarted(context, containerMetrics);
+                } catch (Exception e) {
+                    log.warn("Startup listener {} failed for container {}", listener.getClass().getName(),
+                        containerMetrics.getContainerName(), e);
+                }
+            }
+        }
+    }
+}
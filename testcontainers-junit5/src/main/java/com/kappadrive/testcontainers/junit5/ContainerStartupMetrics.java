@@ -0,0 +1,59 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Durations of container startup phases.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ContainerStartupMetrics {
+
+    /**
+     * Name of started container.
+     */
+    private final String containerName;
+
+    /**
+     * Time spent to pull or build image.
+     */
+    private final Duration imageResolveDuration;
+
+    /**
+     * Time spent to create and start container excluding readiness check.
+     */
+    private final Duration startDuration;
+
+    /**
+     * Time spent in container wait strategy until container is ready.
+     */
+    private final Duration readinessDuration;
+
+    /**
+     * Time spent waiting for startup permit, see {@link TestContainersConfiguration#STARTUP_PERMITS}. Not included in total time.
+     */
+    private final Duration queueDuration;
+
+    /**
+     * Creates metrics of container started without waiting for startup permit.
+     *
+     * @param containerName        - name of started container.
+     * @param imageResolveDuration - time spent to pull or build image.
+     * @param startDuration        - time spent to create and start container excluding readiness check.
+     * @param readinessDuration    - time spent in container wait strategy until container is ready.
+     */
+    public ContainerStartupMetrics(String containerName, Duration imageResolveDuration, Duration startDuration, Duration readinessDuration) {
+        this(containerName, imageResolveDuration, startDuration, readinessDuration, Duration.ZERO);
+    }
+
+    /**
+     * Returns total time of container startup.
+     *
+     * @return sum of all phase durations.
+     */
+    public Duration getTotalDuration() {
+        return imageResolveDuration.plus(startDuration).plus(readinessDuration);
+    }
+}
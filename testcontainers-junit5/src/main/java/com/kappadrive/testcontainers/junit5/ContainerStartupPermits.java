@@ -0,0 +1,130 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.engine.ConfigurationParameters;
+
+/**
+ * Limits number of containers started at the same time by all test JVMs on the same host.
+ * Each permit is an exclusive lock of a slot file in directory shared by all JVMs, lock is released by OS even if JVM crashes.
+ */
+@Log4j2
+@RequiredArgsConstructor
+class ContainerStartupPermits {
+
+    /**
+     * Permits which never limit container startup.
+     */
+    static final ContainerStartupPermits UNLIMITED = new ContainerStartupPermits(0, null);
+
+    private static final String PERMITS_KEY = "startupPermits";
+    private static final long MAX_POLL_INTERVAL_MILLIS = 200;
+
+    // closing any channel of a file releases all locks of JVM on it, so slots locked by this JVM are never opened again
+    private static final Set<Path> LOCKED_SLOTS = ConcurrentHashMap.newKeySet();
+
+    private final int permits;
+    private final Path directory;
+
+    static ContainerStartupPermits getStartupPermits(ExtensionContext context) {
+        return context.getRoot().getStore(GLOBAL).getOrComputeIfAbsent(PERMITS_KEY, k -> new ContainerStartupPermits(
+            TestContainersConfiguration.getStartupPermits(context), TestContainersConfiguration.getStartupPermitsDirectory(context)),
+            ContainerStartupPermits.class);
+    }
+
+    static ContainerStartupPermits getStartupPermits(ConfigurationParameters parameters) {
+        return new ContainerStartupPermits(TestContainersConfiguration.getStartupPermits(parameters),
+            TestContainersConfiguration.getStartupPermitsDirectory(parameters));
+    }
+
+    /**
+     * Waits until any slot is free and locks it.
+     *
+     * @return acquired permit which must be closed after container is started.
+     */
+    Permit acquire() {
+        if (permits <= 0) {
+            return () -> {
+                // nothing to release
+            };
+        }
+        try {
+            Files.createDirectories(directory);
+            long interval = 1;
+            while (true) {
+                for (int i = 0; i < permits; i++) {
+                    Permit permit = tryLock(directory.resolve("slot-" + i + ".lock"));
+                    if (permit != null) {
+                        return permit;
+                    }
+                }
+                Thread.sleep(interval);
+                interval = Math.min(interval * 2, MAX_POLL_INTERVAL_MILLIS);
+            }
+        } catch (IOException e) {
+            throw new JUnitException(String.format("Failed to acquire container startup permit in %s", directory), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JUnitException("Interrupted while waiting for container startup permit", e);
+        }
+    }
+
+    private static Permit tryLock(Path slot) throws IOException {
+        if (!LOCKED_SLOTS.add(slot)) {
+            return null;
+        }
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(slot, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                FileChannel lockedChannel = channel;
+                return () -> release(slot, lockedChannel);
+            }
+        } catch (IOException | RuntimeException e) {
+            release(slot, channel);
+            throw e;
+        }
+        // slot is locked by another JVM
+        release(slot, channel);
+        return null;
+    }
+
+    static void release(Path slot, FileChannel channel) {
+        try {
+            if (channel != null) {
+                // lock is released together with channel
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to release container startup permit {}", slot, e);
+        } finally {
+            LOCKED_SLOTS.remove(slot);
+        }
+    }
+
+    /**
+     * Acquired permit to start container.
+     */
+    @FunctionalInterface
+    interface Permit extends AutoCloseable {
+
+        /**
+         * Releases permit, so another container could be started.
+         */
+        @Override
+        void close();
+    }
+}
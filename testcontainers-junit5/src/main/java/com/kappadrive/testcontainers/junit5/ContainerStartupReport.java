@@ -0,0 +1,207 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * Startup statistics of every container configuration of the whole Jupiter test run: how many times it was started,
+ * how long it took and which test classes declared it. Checks startup time of each container against its budget and writes
+ * JSON report after all tests if {@link TestContainersConfiguration#STARTUP_REPORT_FILE} is set.
+ * Every test JVM writes its own report, so process id is appended to the file name.
+ */
+@Log4j2
+@RequiredArgsConstructor
+class ContainerStartupReport implements ExtensionContext.Store.CloseableResource {
+
+    private static final String REPORT_KEY = "startupReport";
+
+    private final Function<String, Optional<Duration>> budgets;
+    private final boolean failOverBudget;
+    private final Path reportFile;
+    private final Map<String, ContainerStatistics> statistics = new TreeMap<>();
+
+    static ContainerStartupReport getStartupReport(ExtensionContext context) {
+        return context.getRoot().getStore(GLOBAL).getOrComputeIfAbsent(REPORT_KEY, k -> new ContainerStartupReport(
+            containerName -> TestContainersConfiguration.getStartupBudget(context, containerName),
+            TestContainersConfiguration.isStartupBudgetFailing(context),
+            TestContainersConfiguration.getStartupReportFile(context)
+                .map(file -> getProcessReportFile(file, ProcessHandle.current().pid())).orElse(null)), ContainerStartupReport.class);
+    }
+
+    /**
+     * Appends process id to the name of report file before its extension, so reports of parallel test JVMs do not overwrite each other.
+     *
+     * @param reportFile - configured report file.
+     * @param pid        - id of the current process.
+     * @return report file of the process.
+     */
+    static Path getProcessReportFile(Path reportFile, long pid) {
+        String fileName = reportFile.getFileName().toString();
+        int extension = fileName.lastIndexOf('.');
+        return reportFile.resolveSibling(extension > 0
+            ? fileName.substring(0, extension) + "-" + pid + fileName.substring(extension)
+            : fileName + "-" + pid);
+    }
+
+    /**
+     * Records that container is declared by test class.
+     *
+     * @param definition - definition of declared container.
+     * @param testClass  - test class declaring container on class or method level.
+     */
+    synchronized void containerUsed(ContainerDefinition definition, Class<?> testClass) {
+        getStatistics(definition.getFingerprint(), definition.getContainerName()).classes.add(testClass.getName());
+    }
+
+    /**
+     * Records startup of containers and checks it against startup budget. Exceeded budgets are always logged.
+     *
+     * @param metrics - metrics of started containers by fingerprints of their definitions.
+     * @return metrics of containers started slower than their budget.
+     */
+    synchronized List<ContainerStartupMetrics> containersStarted(Map<String, ContainerStartupMetrics> metrics) {
+        List<ContainerStartupMetrics> overBudget = new ArrayList<>();
+        for (Map.Entry<String, ContainerStartupMetrics> entry : metrics.entrySet()) {
+            ContainerStartupMetrics containerMetrics = entry.getValue();
+            ContainerStatistics containerStatistics = getStatistics(entry.getKey(), containerMetrics.getContainerName());
+            containerStatistics.add(containerMetrics);
+            Optional<Duration> budget = budgets.apply(containerMetrics.getContainerName());
+            if (budget.isPresent() && containerMetrics.getTotalDuration().compareTo(budget.get()) > 0) {
+                containerStatistics.overBudget++;
+                overBudget.add(containerMetrics);
+                log.warn(describe(containerMetrics, budget.get()));
+            }
+        }
+        return overBudget;
+    }
+
+    /**
+     * Fails test if {@link TestContainersConfiguration#STARTUP_BUDGET_ACTION} is <code>fail</code> and some containers
+     * were started slower than their budget.
+     *
+     * @param overBudget - metrics of containers started slower than their budget.
+     */
+    void failIfOverBudget(List<ContainerStartupMetrics> overBudget) {
+        if (failOverBudget && !overBudget.isEmpty()) {
+            throw new JUnitException(overBudget.stream()
+                .map(metrics -> describe(metrics, budgets.apply(metrics.getContainerName()).orElseThrow()))
+                .collect(Collectors.joining(System.lineSeparator())));
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (reportFile == null) {
+            return;
+        }
+        try {
+            Path parent = reportFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.write(reportFile, toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Failed to write container startup report {}", reportFile, e);
+        }
+    }
+
+    String toJson() {
+        // the slowest containers are listed first, they are usually the reason of long test runs
+        List<Map.Entry<String, ContainerStatistics>> entries = new ArrayList<>(statistics.entrySet());
+        entries.sort(Comparator.comparing((Map.Entry<String, ContainerStatistics> e) -> e.getValue().totalDuration).reversed());
+        StringBuilder json = new StringBuilder("{\n  \"containers\": [");
+        for (int i = 0; i < entries.size(); i++) {
+            ContainerStatistics containerStatistics = entries.get(i).getValue();
+            String containerName = containerStatistics.containerName;
+            json.append(i == 0 ? "\n" : ",\n")
+                .append("    {\n")
+                .append("      \"container\": ").append(quote(containerName)).append(",\n")
+                .append("      \"fingerprint\": ").append(quote(entries.get(i).getKey())).append(",\n")
+                .append("      \"starts\": ").append(containerStatistics.starts).append(",\n")
+                .append("      \"totalMillis\": ").append(containerStatistics.totalDuration.toMillis()).append(",\n")
+                .append("      \"maxMillis\": ").append(containerStatistics.maxDuration.toMillis()).append(",\n")
+                .append("      \"imageResolveMillis\": ").append(containerStatistics.imageResolveDuration.toMillis()).append(",\n")
+                .append("      \"startMillis\": ").append(containerStatistics.startDuration.toMillis()).append(",\n")
+                .append("      \"readinessMillis\": ").append(containerStatistics.readinessDuration.toMillis()).append(",\n")
+                .append("      \"queueMillis\": ").append(containerStatistics.queueDuration.toMillis()).append(",\n")
+                .append("      \"budgetMillis\": ")
+                .append(budgets.apply(containerName).map(budget -> String.valueOf(budget.toMillis())).orElse("null")).append(",\n")
+                .append("      \"overBudget\": ").append(containerStatistics.overBudget).append(",\n")
+                .append("      \"classes\": [")
+                .append(containerStatistics.classes.stream().map(ContainerStartupReport::quote).collect(Collectors.joining(", ")))
+                .append("]\n")
+                .append("    }");
+        }
+        return json.append(entries.isEmpty() ? "]\n}\n" : "\n  ]\n}\n").toString();
+    }
+
+    private ContainerStatistics getStatistics(String fingerprint, String containerName) {
+        // containers with the same name could be declared with different configurations, they are reported separately
+        return statistics.computeIfAbsent(fingerprint, k -> new ContainerStatistics(containerName));
+    }
+
+    private static String describe(ContainerStartupMetrics metrics, Duration budget) {
+        return String.format("Container %s started in %d ms exceeding budget of %d ms (image %d ms, start %d ms, readiness %d ms)",
+            metrics.getContainerName(), metrics.getTotalDuration().toMillis(), budget.toMillis(),
+            metrics.getImageResolveDuration().toMillis(), metrics.getStartDuration().toMillis(), metrics.getReadinessDuration().toMillis());
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < ' ') {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Startup statistics of single container configuration.
+     */
+    @RequiredArgsConstructor
+    private static class ContainerStatistics {
+
+        private final String containerName;
+        private final Set<String> classes = new TreeSet<>();
+        private int starts;
+        private int overBudget;
+        private Duration totalDuration = Duration.ZERO;
+        private Duration maxDuration = Duration.ZERO;
+        private Duration imageResolveDuration = Duration.ZERO;
+        private Duration startDuration = Duration.ZERO;
+        private Duration readinessDuration = Duration.ZERO;
+        private Duration queueDuration = Duration.ZERO;
+
+        void add(ContainerStartupMetrics metrics) {
+            starts++;
+            totalDuration = totalDuration.plus(metrics.getTotalDuration());
+            maxDuration = metrics.getTotalDuration().compareTo(maxDuration) > 0 ? metrics.getTotalDuration() : maxDuration;
+            imageResolveDuration = imageResolveDuration.plus(metrics.getImageResolveDuration());
+            startDuration = startDuration.plus(metrics.getStartDuration());
+            readinessDuration = readinessDuration.plus(metrics.getReadinessDuration());
+            queueDuration = queueDuration.plus(metrics.getQueueDuration());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.WaitStrategy;
+import org.testcontainers.containers.wait.strategy.WaitStrategyTarget;
+
+/**
+ * Starts container measuring durations of each startup phase.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+abstract class ContainerStartupTimer {
+
+    // wait strategy is not exposed by GenericContainer, but it is required to measure readiness separately
+    private static final Method GET_WAIT_STRATEGY = ReflectionSupport.findMethod(GenericContainer.class, "getWaitStrategy")
+        .orElseThrow(IllegalStateException::new);
+
+    static ContainerStartupMetrics start(String containerName, GenericContainer<?> container, ContainerStartupPermits permits) {
+        long queueStart = System.nanoTime();
+        // image pull and build load docker daemon as well, so permit is held during all startup phases
+        ContainerStartupPermits.Permit permit = permits.acquire();
+        try {
+            Duration queueDuration = since(queueStart);
+            long imageResolveStart = System.nanoTime();
+            // image is resolved lazily, so it is pulled or built here and not during start
+            container.getDockerImageName();
+            Duration imageResolveDuration = since(imageResolveStart);
+
+            TimedWaitStrategy waitStrategy = wrapWaitStrategy(container);
+            long start = System.nanoTime();
+            try {
+                container.start();
+            } finally {
+                // container could be started again (retried, restarted by pool), so it must not be wrapped twice
+                if (waitStrategy != null) {
+                    container.setWaitStrategy(waitStrategy.delegate);
+                }
+            }
+            Duration startDuration = since(start);
+
+            Duration readinessDuration = waitStrategy == null ? Duration.ZERO : waitStrategy.duration;
+            return new ContainerStartupMetrics(containerName, imageResolveDuration, startDuration.minus(readinessDuration), readinessDuration,
+                queueDuration);
+        } finally {
+            permit.close();
+        }
+    }
+
+    private static TimedWaitStrategy wrapWaitStrategy(GenericContainer<?> container) {
+        WaitStrategy waitStrategy = (WaitStrategy) ReflectionSupport.invokeMethod(GET_WAIT_STRATEGY, container);
+        if (waitStrategy == null) {
+            return null;
+        }
+        TimedWaitStrategy timedWaitStrategy = new TimedWaitStrategy(waitStrategy);
+        container.setWaitStrategy(timedWaitStrategy);
+        return timedWaitStrategy;
+    }
+
+    private static Duration since(long start) {
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    @RequiredArgsConstructor
+    private static class TimedWaitStrategy implements WaitStrategy {
+
+        private final WaitStrategy delegate;
+        private volatile Duration duration = Duration.ZERO;
+
+        @Override
+        public void waitUntilReady(WaitStrategyTarget waitStrategyTarget) {
+            long start = System.nanoTime();
+            try {
+                delegate.waitUntilReady(waitStrategyTarget);
+            } finally {
+                duration = since(start);
+            }
+        }
+
+        @Override
+        public WaitStrategy withStartupTimeout(Duration startupTimeout) {
+            delegate.withStartupTimeout(startupTimeout);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.platform.commons.JUnitException;
+import org.testcontainers.DockerClientFactory;
+
+/**
+ * Checks docker availability only once per JVM in background thread.
+ * Docker client strategies discovery might take a while on hosts without docker, so it is started as soon as possible.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+abstract class DockerAvailabilityProbe {
+
+    private static final AtomicReference<CompletableFuture<Boolean>> PROBE = new AtomicReference<>();
+
+    /**
+     * Starts checking docker availability in background unless it is already started.
+     *
+     * @return availability of docker.
+     */
+    static CompletableFuture<Boolean> start() {
+        CompletableFuture<Boolean> probe = new CompletableFuture<>();
+        if (!PROBE.compareAndSet(null, probe)) {
+            return PROBE.get();
+        }
+        // factory is taken before thread is started, so the check never outlives factory it was started with
+        DockerClientFactory factory = DockerClientFactory.instance();
+        Thread thread = new Thread(() -> {
+            try {
+                probe.complete(factory.isDockerAvailable());
+            } catch (RuntimeException e) {
+                probe.completeExceptionally(e);
+            }
+        }, "testcontainers-docker-probe");
+        // hung docker daemon must not prevent JVM exit
+        thread.setDaemon(true);
+        thread.start();
+        return probe;
+    }
+
+    /**
+     * Waits for docker availability check started before or starts a new one.
+     *
+     * @param timeout - maximum time to wait for check result.
+     * @return enabled result if docker is available, disabled if it is not available or its availability is not known in time.
+     */
+    static ConditionEvaluationResult await(Duration timeout) {
+        try {
+            return start().get(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                ? ConditionEvaluationResult.enabled("Docker is available")
+                : ConditionEvaluationResult.disabled("Docker is not available");
+        } catch (ExecutionException e) {
+            // only runtime exceptions are completed exceptionally by probe
+            throw (RuntimeException) e.getCause();
+        } catch (TimeoutException e) {
+            return ConditionEvaluationResult.disabled(String.format("Docker availability is not known after %s", timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JUnitException("Interrupted while waiting for docker availability", e);
+        }
+    }
+
+    /**
+     * Forgets result of previous check, so the next check will be done again. Intended to be used only in tests.
+     */
+    static void reset() {
+        PROBE.set(null);
+    }
+}
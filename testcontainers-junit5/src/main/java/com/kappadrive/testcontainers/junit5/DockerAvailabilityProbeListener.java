@@ -0,0 +1,17 @@
+package com.kappadrive.testcontainers.junit5;
+
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+/**
+ * Starts checking docker availability in background as soon as launcher session is opened,
+ * so it is usually known before JUnit reaches the first test annotated with {@link SkipIfNoDocker}.
+ * Registered in JUnit Platform Launcher automatically.
+ */
+public class DockerAvailabilityProbeListener implements LauncherSessionListener {
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        DockerAvailabilityProbe.start();
+    }
+}
@@ -0,0 +1,129 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.testcontainers.DockerClientFactory;
+
+/**
+ * Resolves images of all containers declared on compiled test classes and their methods:
+ * pulls remote images and builds images from Dockerfile at the same time.
+ * Intended to be run on test runtime classpath before tests, so image pulls and builds do not count against test timeouts:
+ * <pre>{@code
+ * java com.kappadrive.testcontainers.junit5.ImageWarmup <output file> <test classes dir>...
+ * }</pre>
+ * Sorted names of resolved images are written to output file. Failures are only logged, tests will report them as usual.
+ * Maximum number of images resolved at the same time could be set via
+ * {@link TestContainersConfiguration#PARALLEL_STARTUP_PARALLELISM} system property.
+ */
+@Log4j2
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public abstract class ImageWarmup {
+
+    /**
+     * Resolves images of containers declared on classes in given directories and writes their names to output file.
+     *
+     * @param args - output file followed by root directories of compiled test classes.
+     * @throws IOException if classes could not be read or output file could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: ImageWarmup <output file> <test classes dir>...");
+        }
+        List<String> images = Collections.emptyList();
+        if (DockerClientFactory.instance().isDockerAvailable()) {
+            List<Path> classDirs = Arrays.stream(args, 1, args.length).map(Paths::get).collect(Collectors.toList());
+            images = resolveImages(findDefinitions(classDirs, Thread.currentThread().getContextClassLoader()), getParallelism());
+        } else {
+            log.warn("Docker is not available, images are not resolved");
+        }
+        Path output = Paths.get(args[0]).toAbsolutePath();
+        Files.createDirectories(output.getParent());
+        Files.write(output, images);
+    }
+
+    /**
+     * Finds containers declared on all classes in given directories and their methods.
+     * Classes which could not be loaded or have invalid declarations are skipped.
+     *
+     * @param classDirs   - root directories of compiled classes.
+     * @param classLoader - class loader to load classes.
+     * @return definitions of containers unique by fingerprint.
+     * @throws IOException if directory could not be read.
+     */
+    static List<ContainerDefinition> findDefinitions(Collection<Path> classDirs, ClassLoader classLoader) throws IOException {
+        Map<String, ContainerDefinition> definitions = new LinkedHashMap<>();
+        for (Path classDir : classDirs) {
+            if (!Files.isDirectory(classDir)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(classDir)) {
+                files.filter(file -> file.getFileName().toString().endsWith(".class"))
+                    .map(file -> toClassName(classDir, file))
+                    .flatMap(className -> findClassDefinitions(className, classLoader).stream())
+                    .forEach(definition -> definitions.putIfAbsent(definition.getFingerprint(), definition));
+            }
+        }
+        return new ArrayList<>(definitions.values());
+    }
+
+    /**
+     * Resolves images of given containers at the same time. Containers are created, but never started.
+     *
+     * @param definitions - definitions of containers.
+     * @param parallelism - maximum number of images resolved at the same time, <code>0</code> for default.
+     * @return sorted names of resolved images.
+     */
+    static List<String> resolveImages(List<ContainerDefinition> definitions, int parallelism) {
+        List<Callable<String>> tasks = definitions.stream()
+            .map(definition -> (Callable<String>) () -> definition.getFactory().createContainer().getDockerImageName())
+            .collect(Collectors.toList());
+        List<String> images = new ArrayList<>();
+        ContainerLifecycleExecutor executor = new ContainerLifecycleExecutor(parallelism);
+        try {
+            executor.invokeAll(tasks, (index, image) -> images.add(image),
+                (index, e) -> log.warn("Failed to resolve image of container {}", definitions.get(index).getContainerName(), e));
+        } finally {
+            executor.close();
+        }
+        return images.stream().distinct().sorted().collect(Collectors.toList());
+    }
+
+    private static List<ContainerDefinition> findClassDefinitions(String className, ClassLoader classLoader) {
+        try {
+            Class<?> testClass = Class.forName(className, false, classLoader);
+            List<ContainerDefinition> definitions = new ArrayList<>(TestContainersExtension.findContainerDefinitions(testClass));
+            for (Method method : testClass.getDeclaredMethods()) {
+                definitions.addAll(TestContainersExtension.findContainerDefinitions(method));
+            }
+            return definitions;
+        } catch (ClassNotFoundException | LinkageError | RuntimeException e) {
+            log.debug("Class {} is skipped", className, e);
+            return Collections.emptyList();
+        }
+    }
+
+    private static String toClassName(Path classDir, Path file) {
+        String path = classDir.relativize(file).toString();
+        return path.substring(0, path.length() - ".class".length()).replace(file.getFileSystem().getSeparator(), ".");
+    }
+
+    private static int getParallelism() {
+        return Integer.getInteger(TestContainersConfiguration.PARALLEL_STARTUP_PARALLELISM, 0);
+    }
+}
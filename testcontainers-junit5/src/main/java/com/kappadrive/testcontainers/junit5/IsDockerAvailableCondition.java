@@ -1,17 +1,19 @@
 package com.kappadrive.testcontainers.junit5;
 
+import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
+
 import org.junit.jupiter.api.extension.ConditionEvaluationResult;
 import org.junit.jupiter.api.extension.ExecutionCondition;
 import org.junit.jupiter.api.extension.ExtensionContext;
-import org.testcontainers.DockerClientFactory;
 
 class IsDockerAvailableCondition implements ExecutionCondition {
+
+    private static final String RESULT_KEY = "dockerAvailable";
+
     @Override
     public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
-        if (DockerClientFactory.instance().isDockerAvailable()) {
-            return ConditionEvaluationResult.enabled("Docker is available");
-        } else {
-            return ConditionEvaluationResult.disabled("Docker is not available");
-        }
+        // result is evaluated once per test run, so thousands of tests do not wait for docker again
+        return context.getRoot().getStore(GLOBAL).getOrComputeIfAbsent(RESULT_KEY,
+            k -> DockerAvailabilityProbe.await(TestContainersConfiguration.getDockerProbeTimeout(context)), ConditionEvaluationResult.class);
     }
 }
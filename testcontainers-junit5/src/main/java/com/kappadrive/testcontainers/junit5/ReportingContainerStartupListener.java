@@ -0,0 +1,67 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Default {@link ContainerStartupListener}: publishes startup metrics of every container as JUnit report entry
+ * and logs summary of all container startups when all tests are finished.
+ */
+public class ReportingContainerStartupListener implements ContainerStartupListener {
+
+    private static final String SUMMARY_KEY = "startupSummary";
+    private static final String PREFIX = "testcontainers.";
+
+    @Override
+    public void containerStarted(ExtensionContext context, ContainerStartupMetrics metrics) {
+        Map<String, String> entry = new LinkedHashMap<>();
+        entry.put(PREFIX + "container", metrics.getContainerName());
+        entry.put(PREFIX + "imageResolveMillis", toMillis(metrics.getImageResolveDuration()));
+        entry.put(PREFIX + "startMillis", toMillis(metrics.getStartDuration()));
+        entry.put(PREFIX + "readinessMillis", toMillis(metrics.getReadinessDuration()));
+        entry.put(PREFIX + "totalMillis", toMillis(metrics.getTotalDuration()));
+        entry.put(PREFIX + "queueMillis", toMillis(metrics.getQueueDuration()));
+        context.publishReportEntry(entry);
+
+        context.getRoot().getStore(GLOBAL).getOrComputeIfAbsent(SUMMARY_KEY, k -> new StartupSummary(), StartupSummary.class)
+            .add(metrics);
+    }
+
+    private static String toMillis(Duration duration) {
+        return String.valueOf(duration.toMillis());
+    }
+
+    @Log4j2
+    private static class StartupSummary implements ExtensionContext.Store.CloseableResource {
+
+        private final List<ContainerStartupMetrics> metrics = new ArrayList<>();
+
+        synchronized void add(ContainerStartupMetrics containerMetrics) {
+            metrics.add(containerMetrics);
+        }
+
+        @Override
+        public synchronized void close() {
+            StringBuilder summary = new StringBuilder("Container startup summary (image / start / readiness / total, ms):");
+            metrics.forEach(m -> {
+                summary.append(System.lineSeparator())
+                    .append("  ").append(m.getContainerName()).append(": ")
+                    .append(toMillis(m.getImageResolveDuration())).append(" / ")
+                    .append(toMillis(m.getStartDuration())).append(" / ")
+                    .append(toMillis(m.getReadinessDuration())).append(" / ")
+                    .append(toMillis(m.getTotalDuration()));
+                if (m.getQueueDuration().toMillis() > 0) {
+                    summary.append(" (queued ").append(toMillis(m.getQueueDuration())).append(")");
+                }
+            });
+            log.info(summary);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.Container;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.testcontainers.DockerClientFactory;
+
+/**
+ * Removes reusable containers which were not used by any test run for more than configured TTL.
+ * Reusable containers are never stopped by extension, so without reaping they will stay forever.
+ * Docker labels could not be changed after container is created, so last use is tracked via empty file per fingerprint
+ * which is touched every time container is created or adopted by a test run and when it is left running after the run.
+ * Test run holds shared lock of the file until JVM exit, so container used by a run longer than TTL is never removed.
+ */
+@Log4j2
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+abstract class ReusableContainerReaper {
+
+    static final Path USAGE_DIRECTORY = Paths.get(System.getProperty("java.io.tmpdir"), "testcontainers-junit5-reuse");
+
+    private static final String REAPED_KEY = "reusableContainersReaped";
+
+    // closing any channel of a file releases all locks of JVM on it, so usage files locked by this JVM are never opened again
+    private static final Map<Path, FileChannel> LOCKED_USAGES = new ConcurrentHashMap<>();
+
+    /**
+     * Reaps stale containers only once per Jupiter test run.
+     *
+     * @param context - any test context.
+     */
+    static void reapOnce(ExtensionContext context) {
+        context.getRoot().getStore(GLOBAL).getOrComputeIfAbsent(REAPED_KEY, k -> {
+            reap(TestContainersConfiguration.getReuseTtl(context), USAGE_DIRECTORY);
+            return Boolean.TRUE;
+        });
+    }
+
+    /**
+     * Marks reusable container as used by current test run, so it is not reaped by concurrent or next runs.
+     *
+     * @param directory   - directory of usage files.
+     * @param fingerprint - fingerprint of container.
+     */
+    static void markUsed(Path directory, String fingerprint) {
+        try {
+            Files.createDirectories(directory);
+            Path usage = directory.resolve(fingerprint);
+            lockUsage(usage);
+            Files.setLastModifiedTime(usage, FileTime.from(Instant.now()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to mark reusable container {} as used", fingerprint, e);
+        }
+    }
+
+    private static synchronized void lockUsage(Path usage) throws IOException {
+        if (LOCKED_USAGES.containsKey(usage)) {
+            return;
+        }
+        FileChannel channel = FileChannel.open(usage, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // waits while reaper of another test run removes the same container
+            channel.lock(0, Long.MAX_VALUE, true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        LOCKED_USAGES.put(usage, channel);
+    }
+
+    static void reap(Duration ttl, Path directory) {
+        try {
+            DockerClient client = DockerClientFactory.instance().client();
+            Instant usedBefore = Instant.now().minus(ttl);
+            List<Container> containers = client.listContainersCmd()
+                .withShowAll(true)
+                .withLabelFilter(List.of(ContainerFingerprint.FINGERPRINT_LABEL))
+                .exec();
+            for (Container container : containers) {
+                if (getLastUsed(container, directory).isBefore(usedBefore)) {
+                    removeIfNotUsed(client, container, directory);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to remove stale reusable containers", e);
+        }
+    }
+
+    private static void removeIfNotUsed(DockerClient client, Container container, Path directory) throws IOException {
+        String fingerprint = getFingerprint(container);
+        Path usage = fingerprint != null ? directory.resolve(fingerprint) : null;
+        if (usage == null || !Files.exists(usage)) {
+            remove(client, container);
+            return;
+        }
+        if (LOCKED_USAGES.containsKey(usage)) {
+            return;
+        }
+        FileChannel channel = FileChannel.open(usage, StandardOpenOption.WRITE);
+        try {
+            if (channel.tryLock() == null) {
+                log.info("Stale reusable container {} is still used by another test run", container.getId());
+                return;
+            }
+            // lock is held until container is removed, so another test run could not adopt it in between
+            remove(client, container);
+        } finally {
+            // lock is released together with channel
+            channel.close();
+        }
+    }
+
+    private static void remove(DockerClient client, Container container) {
+        log.info("Removing stale reusable container {}", container.getId());
+        client.removeContainerCmd(container.getId()).withForce(true).withRemoveVolumes(true).exec();
+    }
+
+    private static String getFingerprint(Container container) {
+        return Optional.ofNullable(container.getLabels())
+            .map(labels -> labels.get(ContainerFingerprint.FINGERPRINT_LABEL))
+            .orElse(null);
+    }
+
+    private static Instant getLastUsed(Container container, Path directory) {
+        Instant created = Instant.ofEpochSecond(container.getCreated());
+        String fingerprint = getFingerprint(container);
+        if (fingerprint == null) {
+            return created;
+        }
+        try {
+            Instant used = Files.getLastModifiedTime(directory.resolve(fingerprint)).toInstant();
+            return used.isAfter(created) ? used : created;
+        } catch (IOException e) {
+            // container was never used since usage tracking was introduced
+            return created;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+/**
+ * Containers shared by all test JVMs running at the same time on the same host, for example Gradle test forks.
+ * Every JVM creates reusable container, so Testcontainers adopts container already started by another JVM
+ * and all JVMs see the same host and mapped ports.
+ * JVMs are coordinated via lock file per container fingerprint: the first byte is locked exclusively while container
+ * is started or released, the second byte is locked shared by every JVM using container.
+ * JVM which could lock the second byte exclusively on release is the last one using container, so it stops container.
+ * Id of shared container is written after the locked bytes. JVM which started another container (for example, factory created
+ * container with different configuration) while shared one is in use, does not share its container and stops it on release.
+ */
+@Log4j2
+@RequiredArgsConstructor
+class SharedContainers implements ExtensionContext.Store.CloseableResource {
+
+    private static final String SHARED_KEY = "sharedContainers";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final boolean stopLast;
+    private final Map<String, SharedContainer> containers = new ConcurrentHashMap<>();
+
+    static SharedContainers getSharedContainers(ExtensionContext context) {
+        return context.getRoot().getStore(GLOBAL).getOrComputeIfAbsent(SHARED_KEY, k -> {
+            boolean enabled = TestContainersConfiguration.isSharingEnabled(context);
+            if (enabled && !TestcontainersConfiguration.getInstance().environmentSupportsReuse()) {
+                log.warn("Container sharing requires testcontainers.reuse.enable=true in Testcontainers configuration, containers are not shared");
+                enabled = false;
+            }
+            if (enabled && TestContainersConfiguration.isNetworkEnabled(context)) {
+                // id of shared network differs between JVMs, so every JVM would start its own container
+                log.warn("Container sharing is not supported together with shared network, containers are not shared");
+                enabled = false;
+            }
+            // containers reused between test runs are never stopped
+            return new SharedContainers(enabled, TestContainersConfiguration.getSharingDirectory(context),
+                !TestContainersConfiguration.isReuseEnabled(context));
+        }, SharedContainers.class);
+    }
+
+    /**
+     * Returns if containers are shared, so they must be created reusable.
+     *
+     * @return <code>true</code> if containers are shared between test JVMs.
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts container or adopts container with the same fingerprint already started by another JVM.
+     * Other JVMs could not start or stop the same container in between.
+     *
+     * @param definition - definition of container.
+     * @param container  - reusable container to start.
+     * @param start      - action starting container.
+     * @return startup metrics returned by action.
+     */
+    ContainerStartupMetrics start(ContainerDefinition definition, GenericContainer<?> container, Supplier<ContainerStartupMetrics> start) {
+        if (!enabled) {
+            return start.get();
+        }
+        return containers.computeIfAbsent(definition.getFingerprint(),
+                fingerprint -> new SharedContainer(definition.getContainerName(), directory.resolve(fingerprint + ".lock")))
+            .start(container, start);
+    }
+
+    @Override
+    public void close() {
+        containers.values().forEach(container -> container.release(stopLast));
+    }
+
+    /**
+     * Lock file of single container used by this JVM. Channel is kept open until release,
+     * since closing any channel of a file releases all locks of JVM on it.
+     */
+    @RequiredArgsConstructor
+    private static class SharedContainer {
+
+        private static final long ID_POSITION = 2;
+
+        private final String containerName;
+        private final Path file;
+        private FileChannel channel;
+        private FileLock user;
+        private GenericContainer<?> container;
+        private boolean own;
+
+        synchronized ContainerStartupMetrics start(GenericContainer<?> container, Supplier<ContainerStartupMetrics> start) {
+            try {
+                if (channel == null) {
+                    Files.createDirectories(file.getParent());
+                    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                }
+                // another JVM could be starting or stopping the same container right now
+                FileLock lock = channel.lock(0, 1, false);
+                try {
+                    ContainerStartupMetrics metrics = start.get();
+                    share(container.getContainerId());
+                    this.container = container;
+                    return metrics;
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                throw new JUnitException(String.format("Failed to share container %s via %s", containerName, file), e);
+            }
+        }
+
+        private void share(String containerId) throws IOException {
+            String sharedId = readContainerId();
+            if (!sharedId.isEmpty() && !sharedId.equals(containerId)) {
+                if (user != null) {
+                    user.release();
+                    user = null;
+                }
+                // nobody uses previously shared container anymore, so it is replaced by started one
+                FileLock unused = channel.tryLock(1, 1, false);
+                if (unused == null) {
+                    log.warn("Container {} differs from container {} used by other test JVMs, it is not shared", containerName, sharedId);
+                    own = true;
+                    return;
+                }
+                unused.release();
+            }
+            writeContainerId(containerId);
+            own = false;
+            if (user == null) {
+                user = channel.lock(1, 1, true);
+            }
+        }
+
+        private String readContainerId() throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(0, channel.size() - ID_POSITION));
+            channel.read(buffer, ID_POSITION);
+            return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        }
+
+        private void writeContainerId(String containerId) throws IOException {
+            channel.truncate(ID_POSITION);
+            channel.write(ByteBuffer.wrap(containerId.getBytes(StandardCharsets.UTF_8)), ID_POSITION);
+        }
+
+        synchronized void release(boolean stop) {
+            if (channel == null) {
+                return;
+            }
+            try {
+                try {
+                    if (own && stop) {
+                        log.info("Container {} is not shared, so it is stopped", containerName);
+                        container.stop();
+                    } else if (user != null) {
+                        releaseUser(stop);
+                    }
+                } finally {
+                    // all locks are released together with channel
+                    channel.close();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to release shared container {}", containerName, e);
+            }
+        }
+
+        private void releaseUser(boolean stop) throws IOException {
+            channel.lock(0, 1, false);
+            user.release();
+            // any other JVM still using container holds shared lock, so exclusive lock is not acquired
+            if (channel.tryLock(1, 1, false) == null) {
+                log.info("Container {} is left running for other test JVMs", containerName);
+            } else if (stop) {
+                log.info("Container {} is stopped by the last test JVM using it", containerName);
+                container.stop();
+            }
+        }
+    }
+}
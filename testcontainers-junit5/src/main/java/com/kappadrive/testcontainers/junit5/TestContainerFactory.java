@@ -1,5 +1,7 @@
 package com.kappadrive.testcontainers.junit5;
 
+import java.util.Collections;
+import java.util.Set;
 import org.testcontainers.containers.GenericContainer;
 
 /**
@@ -19,6 +21,10 @@ import org.testcontainers.containers.GenericContainer;
  *
  * <p>Note: Using same Factory in multiple source annotation is not by design and is not compatible with {@link AnnotationConsumer}.
  *
+ * <p>A new factory is created for every test class or method declaring container, so it could hold state of its own container.
+ * Factory of {@link TestContainersConfiguration#POOL_SIZE pooled} containers is shared by the whole pool, which creates and resets
+ * containers on several threads at the same time, so such factory must be thread-safe.
+ *
  * @see WithTestContainerSupport
  * @see AnnotationConsumer
  */
@@ -40,4 +46,78 @@ public interface TestContainerFactory {
      * @return created container.
      */
     GenericContainer<?> createContainer();
+
+    /**
+     * Creates test container which could be adopted by another test run or test JVM via Testcontainers reuse.
+     * Used instead of {@link #createContainer()} when {@link TestContainersConfiguration#REUSE_ENABLED}
+     * or {@link TestContainersConfiguration#SHARING_ENABLED} is set. Running container is adopted only if the whole configuration
+     * including image name is the same, so factory using image with random name (like not cached image built from Dockerfile)
+     * must override this method.
+     *
+     * @return created container, {@link #createContainer()} by default.
+     */
+    default GenericContainer<?> createReusableContainer() {
+        return createContainer();
+    }
+
+    /**
+     * Returns names of containers which must be running before created container will be started.
+     * Dependencies could be declared on the same test class or method or could be already started on a higher level.
+     * Cyclic dependencies are not allowed.
+     *
+     * @return names of required containers, empty by default.
+     */
+    default Set<String> getDependencies() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Resets state of container leased from pool, so it could be leased by the next test method.
+     * Used only when {@link TestContainersConfiguration#POOL_SIZE} is set.
+     *
+     * @param container - container created by this factory and used by finished test method.
+     * @return <code>true</code> if container was reset and could be reused, <code>false</code> by default,
+     *     so container is stopped and replaced by a new one.
+     */
+    default boolean resetContainer(GenericContainer<?> container) {
+        return false;
+    }
+
+    /**
+     * Captures state of container right after it is started. The state is restored before each test method
+     * instead of starting a new container, for example by a command resetting database to a template.
+     * Not used for containers leased from pool, see {@link #resetContainer(GenericContainer)}.
+     *
+     * @param container - started container created by this factory.
+     * @return snapshot of container state or <code>null</code> if state should not be restored, <code>null</code> by default.
+     * @throws Exception if snapshot could not be taken.
+     */
+    default ContainerSnapshot takeSnapshot(GenericContainer<?> container) throws Exception {
+        return null;
+    }
+
+    /**
+     * Creates namespace isolating test class from other test classes sharing the same container,
+     * for example database schema, topic prefix or Redis database index. Called on first use of namespace in test class.
+     *
+     * @param container - started container created by this factory.
+     * @param name      - unique name proposed for namespace, contains only lower case letters, digits and underscores.
+     * @return namespace value available via {@link ContainerNamespaces}, proposed name by default.
+     * @throws Exception if namespace could not be created.
+     */
+    default String createNamespace(GenericContainer<?> container, String name) throws Exception {
+        return name;
+    }
+
+    /**
+     * Drops namespace created by {@link #createNamespace(GenericContainer, String)} after all tests of test class.
+     * Does nothing by default.
+     *
+     * @param container - container the namespace was created in.
+     * @param namespace - namespace value.
+     * @throws Exception if namespace could not be dropped.
+     */
+    default void dropNamespace(GenericContainer<?> container, String namespace) throws Exception {
+        // nothing to drop
+    }
 }
@@ -2,14 +2,23 @@ package com.kappadrive.testcontainers.junit5;
 
 import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.log4j.Log4j2;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
 import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.TestcontainersConfiguration;
 
 /**
  * Container for Test Containers available in Jupiter test context.
+ * If containers are leased from pool for test method, they are available only in the context of that method
+ * together with all containers of the whole test run.
  * Could be accessed via:
  * <pre>{@code
  * TestContainers.getTestContainers(context);
@@ -19,8 +28,22 @@ import org.testcontainers.containers.GenericContainer;
 public class TestContainers implements ExtensionContext.Store.CloseableResource {
 
     private static final String CONTAINERS_KEY = "containers";
+    private static final int PINNED = -1;
+    private static final ExtensionContext.Namespace LEASED = ExtensionContext.Namespace.create(TestContainers.class, "leased");
 
-    private final Map<String, GenericContainer<?>> containerMap = new HashMap<>();
+    private final TestContainers parent;
+    private final Duration shutdownTimeout;
+    private final Map<String, ContainerEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Integer> references = new ConcurrentHashMap<>();
+
+    public TestContainers() {
+        this(null, TestContainersConfiguration.DEFAULT_SHUTDOWN_TIMEOUT);
+    }
+
+    private TestContainers(TestContainers parent, Duration shutdownTimeout) {
+        this.parent = parent;
+        this.shutdownTimeout = shutdownTimeout;
+    }
 
     /**
      * Returns <code>TestContainers</code> from Jupiter test context.
@@ -30,50 +53,340 @@ public class TestContainers implements ExtensionContext.Store.CloseableResource
      * @return test containers from test context.
      */
     public static TestContainers getTestContainers(ExtensionContext context) {
-        return context.getRoot().getStore(GLOBAL)
-            .getOrComputeIfAbsent(CONTAINERS_KEY, k -> new TestContainers(), TestContainers.class);
+        TestContainers leased = context.getStore(LEASED).get(CONTAINERS_KEY, TestContainers.class);
+        return leased != null ? leased : context.getRoot().getStore(GLOBAL)
+            .getOrComputeIfAbsent(CONTAINERS_KEY, k -> new TestContainers(null, TestContainersConfiguration.getShutdownTimeout(context)),
+                TestContainers.class);
+    }
+
+    /**
+     * Returns <code>TestContainers</code> bound to the test method context, creating it if needed.
+     * It contains containers leased for this method only and is closed together with method context.
+     *
+     * @param context - test method context.
+     * @return test containers for test method.
+     */
+    static TestContainers getLeasedTestContainers(ExtensionContext context) {
+        return context.getStore(LEASED).getOrComputeIfAbsent(CONTAINERS_KEY,
+            k -> {
+                TestContainers parent = getTestContainers(context.getRoot());
+                return new TestContainers(parent, parent.shutdownTimeout);
+            }, TestContainers.class);
     }
 
     @Override
     public void close() {
-        containerMap.forEach(TestContainers::stopSafe);
+        ContainerShutdown shutdown = new ContainerShutdown(shutdownTimeout);
+        entries.forEach((containerName, entry) -> closeEntry(containerName, entry, shutdown));
+        shutdown.stopAll();
     }
 
     /**
      * Returns if there is container with the <code>containerName</code> in context.
+     * Container which is still starting in another thread is also considered as present.
      *
      * @param containerName - container name to search.
      * @return <code>true</code> if there container for given name, <code>false</code> otherwise.
      */
     public boolean contains(String containerName) {
-        return containerMap.containsKey(containerName);
+        return entries.containsKey(containerName) || parent != null && parent.contains(containerName);
     }
 
     /**
      * Returns container from context with name <code>containerName</code>.
+     * If container was added to be started lazily - it is started before return.
+     * If container is starting in another thread - waits until it is started.
      *
      * @param containerName - container name to search.
      * @return container from context by given name, possible <code>null</code>.
      */
     public GenericContainer<?> get(String containerName) {
-        return containerMap.get(containerName);
+        ContainerEntry entry = entries.get(containerName);
+        if (entry == null) {
+            return parent != null ? parent.get(containerName) : null;
+        }
+        entry.startIfPending();
+        return await(containerName, entry);
+    }
+
+    /**
+     * Returns container from context with name <code>containerName</code> without starting it.
+     * If container is starting in another thread and is not created yet - waits until it is started.
+     *
+     * @param containerName - container name to search.
+     * @return container from context by given name, possible <code>null</code>.
+     */
+    GenericContainer<?> peek(String containerName) {
+        ContainerEntry entry = entries.get(containerName);
+        if (entry == null) {
+            return parent != null ? parent.peek(containerName) : null;
+        }
+        GenericContainer<?> container = entry.container;
+        return container != null ? container : await(containerName, entry);
+    }
+
+    /**
+     * Returns if container with the <code>containerName</code> is leased from pool for the test method of given context.
+     *
+     * @param context       - test method context.
+     * @param containerName - container name to search.
+     * @return <code>true</code> if container is leased for test method, <code>false</code> otherwise.
+     */
+    static boolean isLeased(ExtensionContext context, String containerName) {
+        TestContainers leased = context.getStore(LEASED).get(CONTAINERS_KEY, TestContainers.class);
+        return leased != null && leased.entries.containsKey(containerName);
+    }
+
+    /**
+     * Returns factory of container present in context.
+     *
+     * @param containerName - container name to search.
+     * @return factory which created container or <code>null</code> if container was put into context directly.
+     */
+    TestContainerFactory getFactory(String containerName) {
+        ContainerEntry entry = entries.get(containerName);
+        if (entry == null) {
+            return parent != null ? parent.getFactory(containerName) : null;
+        }
+        return entry.factory;
+    }
+
+    /**
+     * Returns name of container present in context.
+     *
+     * @param container - container to search.
+     * @return name of container or <code>null</code> if container is not present.
+     */
+    String findContainerName(GenericContainer<?> container) {
+        for (Map.Entry<String, ContainerEntry> entry : entries.entrySet()) {
+            if (entry.getValue().container == container) {
+                return entry.getKey();
+            }
+        }
+        return parent != null ? parent.findContainerName(container) : null;
     }
 
     /**
-     * Adds container to context.
+     * Adds started container to context.
+     * If container name was reserved via {@link #reserve(String)} - all threads waiting for it are released.
      *
      * @param containerName - name of container to add.
      * @param container     - container to add.
      */
     public void put(String containerName, GenericContainer<?> container) {
-        containerMap.put(containerName, container);
+        entries.compute(containerName, (name, entry) -> entry != null && !entry.started.isDone() ? entry : new ContainerEntry())
+            .complete(container);
+    }
+
+    /**
+     * Reserves container name to start it in current thread.
+     * Other threads see reserved container as present and wait for it on {@link #get(String)}
+     * until it is added via {@link #put(String, GenericContainer)} or cancelled via {@link #cancel(String, Throwable)}.
+     *
+     * @param containerName - name of container to reserve.
+     * @return <code>true</code> if name was reserved, <code>false</code> if container is already present.
+     */
+    boolean reserve(String containerName) {
+        return entries.putIfAbsent(containerName, new ContainerEntry()) == null;
+    }
+
+    /**
+     * Cancels reservation of not started container. Threads waiting for it will fail with given cause.
+     * Does nothing if container is already started.
+     *
+     * @param containerName - name of reserved container.
+     * @param cause         - cause of failed start.
+     */
+    void cancel(String containerName, Throwable cause) {
+        ContainerEntry entry = entries.get(containerName);
+        if (entry != null && entry.started.completeExceptionally(cause)) {
+            entries.remove(containerName, entry);
+        }
+    }
+
+    /**
+     * Adds not started container to context if it is not present yet. It will be started on first {@link #get(String)}.
+     *
+     * @param containerName - name of container to add.
+     * @param container     - container to add.
+     * @param start         - action starting container.
+     */
+    void putLazy(String containerName, GenericContainer<?> container, Runnable start) {
+        ContainerEntry entry = new ContainerEntry();
+        entry.container = container;
+        entry.pendingStart = start;
+        entries.putIfAbsent(containerName, entry);
+    }
+
+    /**
+     * Adds container leased from pool to context. It will be released instead of stopping when context is closed.
+     *
+     * @param containerName - name of container to add.
+     * @param container     - container to add.
+     * @param release       - action returning container to pool.
+     */
+    void putLeased(String containerName, GenericContainer<?> container, Runnable release) {
+        ContainerEntry entry = new ContainerEntry();
+        entry.release = release;
+        entry.complete(container);
+        entries.put(containerName, entry);
+    }
+
+    /**
+     * Adds reference to container from test context declaring it.
+     * Container is stopped when the last reference is released.
+     *
+     * @param containerName - name of referenced container.
+     */
+    void retain(String containerName) {
+        references.compute(containerName, (name, count) -> count == null ? 1 : count == PINNED ? PINNED : count + 1);
+    }
+
+    /**
+     * Marks container as shared, so it is never stopped until the whole test run is finished.
+     *
+     * @param containerName - name of shared container.
+     */
+    void pin(String containerName) {
+        references.put(containerName, PINNED);
+    }
+
+    /**
+     * Releases references to containers and stops containers which are no longer referenced.
+     *
+     * @param containerNames - names of released containers.
+     */
+    void release(Collection<String> containerNames) {
+        ContainerShutdown shutdown = new ContainerShutdown(shutdownTimeout);
+        containerNames.forEach(containerName -> references.computeIfPresent(containerName, (name, count) -> {
+            if (count == PINNED) {
+                return PINNED;
+            }
+            if (count > 1) {
+                return count - 1;
+            }
+            // entry is removed together with the last reference, so the next referencing context starts container again
+            ContainerEntry entry = entries.remove(containerName);
+            if (entry != null) {
+                closeEntry(containerName, entry, shutdown);
+            }
+            return null;
+        }));
+        shutdown.stopAll();
+    }
+
+    /**
+     * Sets snapshot of container reserved via {@link #reserve(String)} or being started lazily.
+     *
+     * @param containerName - name of container.
+     * @param snapshot      - snapshot of container state.
+     */
+    void putSnapshot(String containerName, ContainerSnapshot snapshot) {
+        entries.computeIfPresent(containerName, (name, entry) -> {
+            entry.snapshot = snapshot;
+            return entry;
+        });
+    }
+
+    /**
+     * Sets factory of container which is already present in context.
+     *
+     * @param containerName - name of container.
+     * @param factory       - factory which created container.
+     */
+    void putFactory(String containerName, TestContainerFactory factory) {
+        entries.computeIfPresent(containerName, (name, entry) -> {
+            entry.factory = factory;
+            return entry;
+        });
+    }
+
+    /**
+     * Restores state of container if it has a snapshot.
+     * Snapshot is taken only after container is started, so not started lazy containers are skipped.
+     * The first test method after container is started sees it in the state of snapshot, so restore is skipped for it.
+     *
+     * @param containerName - name of container.
+     */
+    void restore(String containerName) {
+        ContainerEntry entry = entries.get(containerName);
+        // lazy container is marked as used even before it is started, since it could be started by the current test method
+        if (entry == null || !entry.used.getAndSet(true) || entry.snapshot == null) {
+            return;
+        }
+        try {
+            entry.snapshot.restore();
+        } catch (Exception e) {
+            throw new JUnitException(String.format("Failed to restore container %s", containerName), e);
+        }
+    }
+
+    private static void closeEntry(String containerName, ContainerEntry entry, ContainerShutdown shutdown) {
+        // entry could be closed only once even if close is called concurrently
+        if (!entry.closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (entry.release != null) {
+            entry.release.run();
+        } else if (entry.started.isDone()) {
+            entry.started.thenAccept(container -> shutdown.add(containerName, container));
+        } else {
+            // container which is still starting is stopped right after start, never started lazy container is skipped
+            entry.started.thenAccept(container -> stopSafe(containerName, container));
+        }
     }
 
-    private static void stopSafe(String containerName, GenericContainer<?> container) {
+    private static GenericContainer<?> await(String containerName, ContainerEntry entry) {
         try {
+            return entry.started.join();
+        } catch (CompletionException e) {
+            throw new JUnitException(String.format("Failed to start container %s", containerName), e.getCause());
+        }
+    }
+
+    static void stopSafe(String containerName, GenericContainer<?> container) {
+        try {
+            if (container.isShouldBeReused() && TestcontainersConfiguration.getInstance().environmentSupportsReuse()) {
+                log.info("Container {} is left running to be reused", containerName);
+                // last use is counted from the end of test run, so container of a long run is not reaped right after it
+                String fingerprint = container.getLabels().get(ContainerFingerprint.FINGERPRINT_LABEL);
+                if (fingerprint != null) {
+                    ReusableContainerReaper.markUsed(ReusableContainerReaper.USAGE_DIRECTORY, fingerprint);
+                }
+                return;
+            }
             container.stop();
         } catch (Throwable e) {
             log.error("Failed to stop container {}", containerName, e);
         }
     }
+
+    /**
+     * State of single container: it is either started, being started in some thread or waiting for lazy start.
+     */
+    private static class ContainerEntry {
+
+        private final CompletableFuture<GenericContainer<?>> started = new CompletableFuture<>();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean used = new AtomicBoolean();
+        private volatile GenericContainer<?> container;
+        private volatile ContainerSnapshot snapshot;
+        private volatile TestContainerFactory factory;
+        private Runnable pendingStart;
+        private Runnable release;
+
+        void complete(GenericContainer<?> container) {
+            this.container = container;
+            started.complete(container);
+        }
+
+        synchronized void startIfPending() {
+            if (pendingStart != null) {
+                // start is not cleared on failure, so it is retried on next get
+                pendingStart.run();
+                pendingStart = null;
+                started.complete(container);
+            }
+        }
+    }
 }
@@ -0,0 +1,287 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.engine.ConfigurationParameters;
+
+/**
+ * Configuration parameters supported by Test Containers extensions.
+ * Could be provided as any other Jupiter configuration parameter, for example via <code>junit-platform.properties</code>:
+ * <pre>{@code
+ * testcontainers.junit5.startup.parallel.enabled=true
+ * testcontainers.junit5.startup.parallel.parallelism=4
+ * }</pre>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public abstract class TestContainersConfiguration {
+
+    /**
+     * Enables starting containers declared on same test class or method at the same time.
+     * Disabled by default.
+     */
+    public static final String PARALLEL_STARTUP_ENABLED = "testcontainers.junit5.startup.parallel.enabled";
+
+    /**
+     * Maximum number of containers which could be started at the same time.
+     * By default number of available processors on platform threads and no limit on virtual threads, see {@link #STARTUP_PERMITS}.
+     */
+    public static final String PARALLEL_STARTUP_PARALLELISM = "testcontainers.junit5.startup.parallel.parallelism";
+
+    /**
+     * Enables starting containers declared on all discovered test classes in background as soon as test plan execution is started,
+     * so they are already starting while JUnit reaches test classes declaring them.
+     * Only containers without dependencies are started in advance. Ignored if lazy startup, reuse or sharing is enabled.
+     * Disabled by default.
+     */
+    public static final String PREWARM_ENABLED = "testcontainers.junit5.startup.prewarm.enabled";
+
+    /**
+     * Enables starting containers only when they are first used: injected into field or parameter,
+     * referenced by {@link com.kappadrive.testcontainers.junit5.property.MapToSystemProperty} or got from {@link TestContainers}.
+     * Disabled by default.
+     */
+    public static final String LAZY_STARTUP_ENABLED = "testcontainers.junit5.startup.lazy.enabled";
+
+    /**
+     * Enables reusing containers between test runs.
+     * Requires <code>testcontainers.reuse.enable=true</code> in Testcontainers configuration.
+     * Disabled by default.
+     */
+    public static final String REUSE_ENABLED = "testcontainers.junit5.reuse.enabled";
+
+    /**
+     * Maximum age of reusable container in ISO-8601 duration format.
+     * Older containers will be removed before test run and created again when needed.
+     * <code>PT24H</code> by default.
+     */
+    public static final String REUSE_TTL = "testcontainers.junit5.reuse.ttl";
+
+    /**
+     * Enables stopping containers right after the last test class or method declaring them is finished.
+     * Containers listed in {@link #SCOPED_LIFECYCLE_PINNED} are still stopped only after all tests.
+     * Disabled by default, so all containers are stopped after all tests.
+     */
+    public static final String SCOPED_LIFECYCLE_ENABLED = "testcontainers.junit5.lifecycle.scoped.enabled";
+
+    /**
+     * Comma separated names of containers which are kept running until all tests are finished even if scoped lifecycle is enabled,
+     * for example containers declared via composed annotation used by most of test classes. Dependencies of listed containers are kept too.
+     * Empty by default.
+     */
+    public static final String SCOPED_LIFECYCLE_PINNED = "testcontainers.junit5.lifecycle.scoped.pinned";
+
+    /**
+     * Number of warm containers kept for each container declared on test method level.
+     * Each test method leases its own container, which is reset and returned back or replaced after the test.
+     * <code>0</code> by default, which disables pooling.
+     */
+    public static final String POOL_SIZE = "testcontainers.junit5.pool.size";
+
+    /**
+     * Maximum time to wait for all containers to be stopped after tests in ISO-8601 duration format.
+     * Containers are stopped at the same time, containers which are not stopped in time are removed forcibly
+     * at the same time waiting for them no longer than the same timeout.
+     * <code>PT30S</code> by default.
+     */
+    public static final String SHUTDOWN_TIMEOUT = "testcontainers.junit5.shutdown.timeout";
+
+    /**
+     * Enables attaching all containers to a network shared by the whole test run with network alias equal to container name,
+     * so containers could reach each other directly without host port mapping. Containers leased from pool are not attached.
+     * Network is shared by the whole JVM, so different containers with the same name must not run at the same time.
+     * Requires JUnit4 or <code>testcontainers-junit4-mock</code> of the same version as this library on classpath.
+     * Disabled by default.
+     */
+    public static final String NETWORK_ENABLED = "testcontainers.junit5.network.enabled";
+
+    /**
+     * Maximum startup time (image resolve, start and readiness check) of each container in ISO-8601 duration format.
+     * Could be set for single container via {@link #STARTUP_BUDGET_CONTAINER_PREFIX} followed by container name.
+     * Not limited by default.
+     */
+    public static final String STARTUP_BUDGET = "testcontainers.junit5.startup.budget";
+
+    /**
+     * Prefix of maximum startup time of single container, for example <code>testcontainers.junit5.startup.budget.container.db=PT5S</code>.
+     * Overrides {@link #STARTUP_BUDGET}.
+     */
+    public static final String STARTUP_BUDGET_CONTAINER_PREFIX = "testcontainers.junit5.startup.budget.container.";
+
+    /**
+     * Action taken when container startup exceeds its budget: <code>warn</code> only logs it, <code>fail</code> also fails the test.
+     * Lazily started containers are never failed. <code>warn</code> by default.
+     */
+    public static final String STARTUP_BUDGET_ACTION = "testcontainers.junit5.startup.budget.action";
+
+    /**
+     * Path of JSON report written after all tests: startup time, number of starts and declaring test classes of every container.
+     * Process id is appended to the file name, so every test JVM writes its own report. Not written by default.
+     */
+    public static final String STARTUP_REPORT_FILE = "testcontainers.junit5.startup.report.file";
+
+    /**
+     * Maximum number of containers started at the same time by all test JVMs sharing {@link #STARTUP_PERMITS_DIR},
+     * for example Gradle test forks on the same CI agent. Containers wait for a free permit before image resolve.
+     * <code>0</code> by default, which does not limit startup.
+     */
+    public static final String STARTUP_PERMITS = "testcontainers.junit5.startup.permits";
+
+    /**
+     * Directory of lock files shared by all test JVMs limited by {@link #STARTUP_PERMITS}.
+     * <code>testcontainers-junit5-permits</code> in <code>java.io.tmpdir</code> by default.
+     */
+    public static final String STARTUP_PERMITS_DIR = "testcontainers.junit5.startup.permits.dir";
+
+    /**
+     * Enables sharing containers between test JVMs running at the same time on the same host, for example Gradle test forks:
+     * container with the same fingerprint is started once and stopped by the last JVM using it.
+     * Requires <code>testcontainers.reuse.enable=true</code> in Testcontainers configuration. Containers leased from pool are not shared.
+     * Ignored when {@link #NETWORK_ENABLED} is set. Snapshots of shared containers are never taken, since other JVMs use them.
+     * Containers are created via {@link TestContainerFactory#createReusableContainer()}, so every JVM gets the same configuration.
+     * Disabled by default.
+     */
+    public static final String SHARING_ENABLED = "testcontainers.junit5.sharing.enabled";
+
+    /**
+     * Directory of lock files shared by all test JVMs sharing containers via {@link #SHARING_ENABLED}.
+     * <code>testcontainers-junit5-shared</code> in <code>java.io.tmpdir</code> by default.
+     */
+    public static final String SHARING_DIR = "testcontainers.junit5.sharing.dir";
+
+    /**
+     * Maximum time to wait for docker availability check of {@link SkipIfNoDocker} in ISO-8601 duration format.
+     * Tests are skipped if docker availability is not known in time.
+     * <code>PT30S</code> by default.
+     */
+    public static final String DOCKER_PROBE_TIMEOUT = "testcontainers.junit5.docker.probe.timeout";
+
+    static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Duration DEFAULT_REUSE_TTL = Duration.ofHours(24);
+
+    private static final Duration DEFAULT_DOCKER_PROBE_TIMEOUT = Duration.ofSeconds(30);
+
+    static boolean isParallelStartupEnabled(ExtensionContext context) {
+        return context.getConfigurationParameter(PARALLEL_STARTUP_ENABLED, Boolean::parseBoolean).orElse(false);
+    }
+
+    static int getParallelism(ExtensionContext context) {
+        return context.getConfigurationParameter(PARALLEL_STARTUP_PARALLELISM, Integer::parseInt)
+            .filter(parallelism -> parallelism > 0)
+            .orElse(0);
+    }
+
+    static int getParallelism(ConfigurationParameters parameters) {
+        return parameters.get(PARALLEL_STARTUP_PARALLELISM, Integer::parseInt)
+            .filter(parallelism -> parallelism > 0)
+            .orElse(0);
+    }
+
+    static boolean isPrewarmEnabled(ConfigurationParameters parameters) {
+        return parameters.getBoolean(PREWARM_ENABLED).orElse(false)
+            && !parameters.getBoolean(LAZY_STARTUP_ENABLED).orElse(false)
+            && !parameters.getBoolean(REUSE_ENABLED).orElse(false)
+            && !parameters.getBoolean(SHARING_ENABLED).orElse(false);
+    }
+
+    static boolean isLazyStartupEnabled(ExtensionContext context) {
+        return context.getConfigurationParameter(LAZY_STARTUP_ENABLED, Boolean::parseBoolean).orElse(false);
+    }
+
+    static boolean isReuseEnabled(ExtensionContext context) {
+        return context.getConfigurationParameter(REUSE_ENABLED, Boolean::parseBoolean).orElse(false);
+    }
+
+    static Duration getReuseTtl(ExtensionContext context) {
+        return context.getConfigurationParameter(REUSE_TTL, Duration::parse).orElse(DEFAULT_REUSE_TTL);
+    }
+
+    static int getPoolSize(ExtensionContext context) {
+        return context.getConfigurationParameter(POOL_SIZE, Integer::parseInt)
+            .filter(size -> size > 0)
+            .orElse(0);
+    }
+
+    static Duration getShutdownTimeout(ExtensionContext context) {
+        return context.getConfigurationParameter(SHUTDOWN_TIMEOUT, Duration::parse).orElse(DEFAULT_SHUTDOWN_TIMEOUT);
+    }
+
+    static Duration getShutdownTimeout(ConfigurationParameters parameters) {
+        return parameters.get(SHUTDOWN_TIMEOUT, Duration::parse).orElse(DEFAULT_SHUTDOWN_TIMEOUT);
+    }
+
+    static boolean isScopedLifecycleEnabled(ExtensionContext context) {
+        return context.getConfigurationParameter(SCOPED_LIFECYCLE_ENABLED, Boolean::parseBoolean).orElse(false);
+    }
+
+    static Set<String> getPinnedContainers(ExtensionContext context) {
+        return context.getConfigurationParameter(SCOPED_LIFECYCLE_PINNED, value -> Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet()))
+            .orElse(Collections.emptySet());
+    }
+
+    static Optional<Duration> getStartupBudget(ExtensionContext context, String containerName) {
+        Optional<Duration> budget = context.getConfigurationParameter(STARTUP_BUDGET_CONTAINER_PREFIX + containerName, Duration::parse);
+        return budget.isPresent() ? budget : context.getConfigurationParameter(STARTUP_BUDGET, Duration::parse);
+    }
+
+    static boolean isStartupBudgetFailing(ExtensionContext context) {
+        return context.getConfigurationParameter(STARTUP_BUDGET_ACTION).filter("fail"::equalsIgnoreCase).isPresent();
+    }
+
+    static Optional<Path> getStartupReportFile(ExtensionContext context) {
+        return context.getConfigurationParameter(STARTUP_REPORT_FILE, Paths::get);
+    }
+
+    static boolean isNetworkEnabled(ExtensionContext context) {
+        return context.getConfigurationParameter(NETWORK_ENABLED, Boolean::parseBoolean).orElse(false);
+    }
+
+    static boolean isNetworkEnabled(ConfigurationParameters parameters) {
+        return parameters.getBoolean(NETWORK_ENABLED).orElse(false);
+    }
+
+    static int getStartupPermits(ExtensionContext context) {
+        return context.getConfigurationParameter(STARTUP_PERMITS, Integer::parseInt).orElse(0);
+    }
+
+    static int getStartupPermits(ConfigurationParameters parameters) {
+        return parameters.get(STARTUP_PERMITS, Integer::parseInt).orElse(0);
+    }
+
+    static Path getStartupPermitsDirectory(ExtensionContext context) {
+        return context.getConfigurationParameter(STARTUP_PERMITS_DIR, Paths::get).orElseGet(TestContainersConfiguration::getDefaultPermitsDirectory);
+    }
+
+    static Path getStartupPermitsDirectory(ConfigurationParameters parameters) {
+        return parameters.get(STARTUP_PERMITS_DIR, Paths::get).orElseGet(TestContainersConfiguration::getDefaultPermitsDirectory);
+    }
+
+    static boolean isSharingEnabled(ExtensionContext context) {
+        return context.getConfigurationParameter(SHARING_ENABLED, Boolean::parseBoolean).orElse(false);
+    }
+
+    static Path getSharingDirectory(ExtensionContext context) {
+        return context.getConfigurationParameter(SHARING_DIR, Paths::get)
+            .orElseGet(() -> Paths.get(System.getProperty("java.io.tmpdir"), "testcontainers-junit5-shared"));
+    }
+
+    static Duration getDockerProbeTimeout(ExtensionContext context) {
+        return context.getConfigurationParameter(DOCKER_PROBE_TIMEOUT, Duration::parse).orElse(DEFAULT_DOCKER_PROBE_TIMEOUT);
+    }
+
+    private static Path getDefaultPermitsDirectory() {
+        return Paths.get(System.getProperty("java.io.tmpdir"), "testcontainers-junit5-permits");
+    }
+}
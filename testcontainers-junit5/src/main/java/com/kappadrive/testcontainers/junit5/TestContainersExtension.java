@@ -6,12 +6,25 @@ import static org.junit.platform.commons.support.AnnotationSupport.findAnnotated
 import static org.junit.platform.commons.support.HierarchyTraversalMode.TOP_DOWN;
 import static org.junit.platform.commons.util.ReflectionUtils.makeAccessible;
 
+import com.kappadrive.testcontainers.junit5.ContainerMetadataCache.InjectableField;
+import com.kappadrive.testcontainers.junit5.ContainerPool.PooledContainer;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.extern.log4j.Log4j2;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
@@ -27,77 +40,322 @@ import org.springframework.core.GenericTypeResolver;
 import org.springframework.core.annotation.MergedAnnotation;
 import org.springframework.core.annotation.MergedAnnotations;
 import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
 
 @Log4j2
 class TestContainersExtension implements BeforeAllCallback, BeforeEachCallback, ParameterResolver {
 
     @Override
     public void beforeAll(ExtensionContext context) throws Exception {
-        initContainers(context, ReflectionUtils::isStatic);
+        initContainers(context, true);
     }
 
     @Override
     public void beforeEach(ExtensionContext context) throws Exception {
-        initContainers(context, ReflectionUtils::isNotStatic);
+        initContainers(context, false);
     }
 
     @Override
     public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) throws ParameterResolutionException {
         TestContainers testContainers = getTestContainers(extensionContext);
-        String containerName = getContainerName(parameterContext);
+        String containerName = getContainerName(parameterContext, extensionContext);
+        // container is not started until parameter is resolved
         return testContainers.contains(containerName)
-            && parameterContext.getParameter().getType().isAssignableFrom(testContainers.get(containerName).getClass());
+            && parameterContext.getParameter().getType().isAssignableFrom(testContainers.peek(containerName).getClass());
     }
 
     @Override
     public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) throws ParameterResolutionException {
-        return getTestContainers(extensionContext).get(getContainerName(parameterContext));
+        return getTestContainers(extensionContext).get(getContainerName(parameterContext, extensionContext));
     }
 
-    private static void initContainers(ExtensionContext context, Predicate<Field> fieldPredicate) throws Exception {
+    private static void initContainers(ExtensionContext context, boolean isStatic) throws Exception {
+        // resources of root context are closed in reverse order, so shared containers are released after test containers are closed
+        SharedContainers.getSharedContainers(context);
+        ContainerMetadataCache metadataCache = ContainerMetadataCache.getMetadataCache(context);
+        // only scan results are cached, every test context gets its own factories just like without cache
+        List<ContainerDefinition> definitions = context.getElement()
+            .map(e -> metadataCache.getDefinitions(e, TestContainersExtension::findContainerDefinitions))
+            .orElse(Collections.emptyList())
+            .stream()
+            .map(ContainerDefinition::withNewFactory)
+            .collect(Collectors.toList());
+
+        ContainerStartupReport report = ContainerStartupReport.getStartupReport(context);
+        definitions.forEach(definition -> report.containerUsed(definition, context.getRequiredTestClass()));
+
+        boolean pooled = !isStatic && TestContainersConfiguration.getPoolSize(context) > 0;
+        if (!pooled && !definitions.isEmpty() && TestContainersConfiguration.isScopedLifecycleEnabled(context)) {
+            // references are added before start, so container could not be stopped in between by another finished test context
+            ContainerReferences.retain(context, getTestContainers(context), definitions, TestContainersConfiguration.getPinnedContainers(context));
+        }
+        createAndStartTestContainers(context, getTestContainers(context), definitions, pooled);
+
+        // leased containers are available only in test method context
         TestContainers testContainers = getTestContainers(context);
+        if (!TestContainersConfiguration.isLazyStartupEnabled(context)) {
+            // containers could be still starting in other threads, tests must not run before they are started
+            definitions.forEach(definition -> testContainers.get(definition.getContainerName()));
+        }
+        if (!isStatic) {
+            restoreContainers(context, metadataCache);
+        }
+
+        List<InjectableField> fields = metadataCache.getFields(context.getRequiredTestClass(), isStatic,
+            testClass -> findInjectableFields(testClass, isStatic ? ReflectionUtils::isStatic : ReflectionUtils::isNotStatic));
+        injectFields(context.getTestInstance().orElse(null), testContainers, fields);
+    }
 
-        createAndStartTestContainers(context, testContainers);
+    private static void createAndStartTestContainers(ExtensionContext context, TestContainers testContainers,
+                                                     List<ContainerDefinition> definitions, boolean pooled) {
+        Map<String, ContainerDefinition> notStarted = new LinkedHashMap<>();
+        definitions.forEach(definition -> {
+            String containerName = definition.getContainerName();
+            if (!testContainers.contains(containerName)) {
+                notStarted.putIfAbsent(containerName, definition);
+            }
+        });
+        if (notStarted.isEmpty()) {
+            return;
+        }
+
+        ContainerStartupListeners listeners = ContainerStartupListeners.getStartupListeners(context);
+        if (pooled) {
+            leaseContainers(context, testContainers, notStarted.values(), listeners);
+            return;
+        }
+
+        boolean reuse = TestContainersConfiguration.isReuseEnabled(context);
+        if (reuse) {
+            ReusableContainerReaper.reapOnce(context);
+        }
+        boolean network = TestContainersConfiguration.isNetworkEnabled(context);
+        // shared containers are adopted by other test JVMs via reuse
+        boolean reusable = reuse || SharedContainers.getSharedContainers(context).isEnabled();
+        Function<ContainerDefinition, GenericContainer<?>> creator = definition -> createContainer(definition, reusable, network);
 
-        injectFields(context.getTestInstance().orElse(null), context.getRequiredTestClass(), testContainers, fieldPredicate);
+        ContainerStartupGraph graph = new ContainerStartupGraph(new ArrayList<>(notStarted.values()), testContainers::contains);
+        List<List<ContainerDefinition>> levels = graph.getLevels();
+        if (TestContainersConfiguration.isLazyStartupEnabled(context)) {
+            levels.forEach(level -> level.forEach(definition -> putLazy(context, testContainers, definition, creator, listeners)));
+            return;
+        }
+
+        // other threads see reserved containers as present and wait until they are started here
+        Set<String> reserved = notStarted.keySet().stream()
+            .filter(testContainers::reserve)
+            .collect(Collectors.toSet());
+        try {
+            startReserved(context, testContainers, levels, reserved, creator, listeners);
+        } catch (RuntimeException e) {
+            reserved.forEach(containerName -> testContainers.cancel(containerName, e));
+            throw e;
+        }
     }
 
-    private static void createAndStartTestContainers(ExtensionContext context, TestContainers testContainers) {
-        List<TestContainerFactory> factories = context.getElement()
-            .map(e -> MergedAnnotations.from(e)
-                .stream(WithTestContainerSupport.class)
-                .map(TestContainersExtension::createContainerFactory)
-                .collect(Collectors.toList()))
-            .orElse(Collections.emptyList());
+    private static void startReserved(ExtensionContext context, TestContainers testContainers, List<List<ContainerDefinition>> levels,
+                                      Set<String> reserved, Function<ContainerDefinition, GenericContainer<?>> creator,
+                                      ContainerStartupListeners listeners) {
+        boolean parallel = TestContainersConfiguration.isParallelStartupEnabled(context);
+        ContainerStartupReport report = ContainerStartupReport.getStartupReport(context);
+        ContainerStartupPermits permits = ContainerStartupPermits.getStartupPermits(context);
+        SharedContainers shared = SharedContainers.getSharedContainers(context);
+        // prewarm is bound to the current thread, so it is taken before containers are started in other threads
+        Optional<ContainerPrewarm> prewarm = ContainerPrewarm.getPrewarm(context);
+        for (List<ContainerDefinition> level : levels) {
+            List<ContainerDefinition> toStart = level.stream()
+                .filter(definition -> reserved.contains(definition.getContainerName()))
+                .collect(Collectors.toList());
+            // dependencies could be still starting in other threads, waiting for them in test thread never blocks lifecycle executor
+            toStart.forEach(definition -> definition.getDependencies().forEach(testContainers::get));
 
-        factories.forEach(factory -> {
-            String containerName = factory.getContainerName();
-            if (!testContainers.contains(containerName)) {
-                GenericContainer<?> container = factory.createContainer();
-                container.start();
-                testContainers.put(containerName, container);
+            Map<String, ContainerStartupMetrics> metrics = Collections.synchronizedMap(new LinkedHashMap<>());
+            List<ContainerStartupMetrics> overBudget;
+            try {
+                if (parallel && toStart.size() > 1) {
+                    startInParallel(context, testContainers, toStart, creator, permits, shared, prewarm, metrics);
+                } else {
+                    toStart.forEach(definition -> testContainers.put(definition.getContainerName(),
+                        startContainer(testContainers, definition, creator, permits, shared, prewarm, metrics)));
+                }
+            } finally {
+                // listeners are notified from test thread about all successfully started containers
+                listeners.containersStarted(context, new ArrayList<>(metrics.values()));
+                overBudget = report.containersStarted(metrics);
+            }
+            // startup failures are more important than exceeded budget, so budget could fail only successful startup
+            report.failIfOverBudget(overBudget);
+        }
+    }
+
+    private static void startInParallel(ExtensionContext context, TestContainers testContainers,
+                                        List<ContainerDefinition> definitions, Function<ContainerDefinition, GenericContainer<?>> creator,
+                                        ContainerStartupPermits permits, SharedContainers shared, Optional<ContainerPrewarm> prewarm,
+                                        Map<String, ContainerStartupMetrics> metrics) {
+        List<Callable<GenericContainer<?>>> tasks = definitions.stream()
+            .map(definition -> (Callable<GenericContainer<?>>) () ->
+                startContainer(testContainers, definition, creator, permits, shared, prewarm, metrics))
+            .collect(Collectors.toList());
+
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        ContainerLifecycleExecutor.getLifecycleExecutor(context).invokeAll(tasks,
+            (i, container) -> testContainers.put(definitions.get(i).getContainerName(), container),
+            (i, failure) -> failures.put(definitions.get(i).getContainerName(), failure));
+
+        if (!failures.isEmpty()) {
+            JUnitException exception = new JUnitException(String.format("Failed to start containers: %s",
+                String.join(", ", failures.keySet())));
+            failures.forEach((containerName, failure) -> exception.addSuppressed(
+                new JUnitException(String.format("Failed to start container %s", containerName), failure)));
+            throw exception;
+        }
+    }
+
+    private static void leaseContainers(ExtensionContext context, TestContainers testContainers,
+                                        Collection<ContainerDefinition> definitions, ContainerStartupListeners listeners) {
+        // pooled containers are started in background before test method, so they could depend only on already started containers
+        definitions.forEach(definition -> definition.getDependencies().forEach(dependency -> {
+            if (!testContainers.contains(dependency)) {
+                throw new JUnitException(String.format("Pooled container %s depends on %s which is not started on class level",
+                    definition.getContainerName(), dependency));
+            }
+        }));
+
+        TestContainers leasedContainers = TestContainers.getLeasedTestContainers(context);
+        ContainerPools pools = ContainerPools.getContainerPools(context);
+        for (ContainerDefinition definition : definitions) {
+            ContainerPool pool = pools.getPool(definition);
+            PooledContainer pooled = pool.lease();
+            leasedContainers.putLeased(definition.getContainerName(), pooled.getContainer(), () -> pool.release(pooled.getContainer()));
+            leasedContainers.putFactory(definition.getContainerName(), definition.getFactory());
+            if (pooled.getMetrics() != null) {
+                listeners.containersStarted(context, List.of(pooled.getMetrics()));
+                ContainerStartupReport report = ContainerStartupReport.getStartupReport(context);
+                report.failIfOverBudget(report.containersStarted(Map.of(definition.getFingerprint(), pooled.getMetrics())));
             }
+        }
+    }
+
+    private static void putLazy(ExtensionContext context, TestContainers testContainers, ContainerDefinition definition,
+                                Function<ContainerDefinition, GenericContainer<?>> creator, ContainerStartupListeners listeners) {
+        GenericContainer<?> container = creator.apply(definition);
+        testContainers.putLazy(definition.getContainerName(), container, () -> {
+            // dependencies are always registered before dependent container, so they are started first
+            definition.getDependencies().forEach(testContainers::get);
+            ContainerStartupPermits permits = ContainerStartupPermits.getStartupPermits(context);
+            SharedContainers shared = SharedContainers.getSharedContainers(context);
+            ContainerStartupMetrics metrics = shared.start(definition, container,
+                () -> ContainerStartupTimer.start(definition.getContainerName(), container, permits));
+            takeSnapshot(testContainers, definition, container, shared);
+            listeners.containersStarted(context, List.of(metrics));
+            // failed lazy start is retried on next use, so container started over budget is only reported
+            ContainerStartupReport.getStartupReport(context).containersStarted(Map.of(definition.getFingerprint(), metrics));
         });
+        testContainers.putFactory(definition.getContainerName(), definition.getFactory());
+    }
+
+    private static GenericContainer<?> startContainer(TestContainers testContainers, ContainerDefinition definition,
+                                                      Function<ContainerDefinition, GenericContainer<?>> creator,
+                                                      ContainerStartupPermits permits, SharedContainers shared,
+                                                      Optional<ContainerPrewarm> prewarm, Map<String, ContainerStartupMetrics> metrics) {
+        GenericContainer<?> container;
+        ContainerStartupMetrics containerMetrics;
+        ContainerPrewarm.PrewarmedContainer prewarmed = prewarm.map(p -> p.adopt(definition)).orElse(null);
+        if (prewarmed != null) {
+            container = prewarmed.getContainer();
+            containerMetrics = prewarmed.getMetrics();
+        } else {
+            container = creator.apply(definition);
+            containerMetrics = shared.start(definition, container,
+                () -> ContainerStartupTimer.start(definition.getContainerName(), container, permits));
+        }
+        testContainers.putFactory(definition.getContainerName(), definition.getFactory());
+        takeSnapshot(testContainers, definition, container, shared);
+        metrics.put(definition.getFingerprint(), containerMetrics);
+        return container;
+    }
+
+    private static void takeSnapshot(TestContainers testContainers, ContainerDefinition definition, GenericContainer<?> container,
+                                     SharedContainers shared) {
+        if (shared.isEnabled()) {
+            // other test JVMs use shared container at the same time, so its state is never restored
+            return;
+        }
+        try {
+            // container is still reserved or pending, so snapshot is available before any test could use container
+            testContainers.putSnapshot(definition.getContainerName(), definition.getFactory().takeSnapshot(container));
+        } catch (Exception e) {
+            TestContainers.stopSafe(definition.getContainerName(), container);
+            throw new JUnitException(String.format("Failed to take snapshot of container %s", definition.getContainerName()), e);
+        }
+    }
+
+    private static void restoreContainers(ExtensionContext context, ContainerMetadataCache metadataCache) {
+        // snapshots are never taken for leased containers, so only containers of the whole test run are restored
+        TestContainers testContainers = getTestContainers(context.getRoot());
+        Set<String> restored = new HashSet<>();
+        Optional<ExtensionContext> current = Optional.of(context);
+        while (current.isPresent()) {
+            current.get().getElement()
+                .map(e -> metadataCache.getDefinitions(e, TestContainersExtension::findContainerDefinitions))
+                .orElse(Collections.emptyList())
+                .forEach(definition -> {
+                    if (restored.add(definition.getContainerName())) {
+                        testContainers.restore(definition.getContainerName());
+                    }
+                });
+            current = current.get().getParent();
+        }
+    }
+
+    static GenericContainer<?> createContainer(ContainerDefinition definition, boolean reuse, boolean network) {
+        GenericContainer<?> container = reuse ? definition.getFactory().createReusableContainer() : definition.getFactory().createContainer();
+        if (reuse) {
+            // Testcontainers will find already running container with the same configuration (including labels) and adopt it
+            container.withLabel(ContainerFingerprint.FINGERPRINT_LABEL, definition.getFingerprint());
+            container.withReuse(true);
+            ReusableContainerReaper.markUsed(ReusableContainerReaper.USAGE_DIRECTORY, definition.getFingerprint());
+        }
+        if (network) {
+            // shared network lives until JVM exit, so the same alias is resolvable from any container of the test run
+            container.withNetwork(getSharedNetwork(() -> Network.SHARED));
+            container.withNetworkAliases(definition.getContainerName());
+        }
+        return container;
+    }
+
+    static Network getSharedNetwork(Supplier<Network> sharedNetwork) {
+        try {
+            return sharedNetwork.get();
+        } catch (NoClassDefFoundError e) {
+            // shared network extends JUnit4 ExternalResource, which is missing in older versions of testcontainers-junit4-mock
+            throw new JUnitException("Shared network requires org.junit.rules.ExternalResource: use JUnit4 "
+                + "or testcontainers-junit4-mock of the same version as testcontainers-junit5", e);
+        }
+    }
+
+    private static String getContainerName(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return ContainerMetadataCache.getMetadataCache(extensionContext).getContainerName(parameterContext.getParameter(),
+            parameter -> parameterContext.findAnnotation(Container.class)
+                .map(Container::value)
+                .orElse(parameter.getName()));
     }
 
-    private static String getContainerName(ParameterContext parameterContext) {
-        return parameterContext.findAnnotation(Container.class)
-            .map(Container::value)
-            .orElse(parameterContext.getParameter().getName());
+    private static List<InjectableField> findInjectableFields(Class<?> testClass, Predicate<Field> fieldPredicate) {
+        return findAnnotatedFields(testClass, Container.class, fieldPredicate, TOP_DOWN).stream()
+            .map(field -> new InjectableField(makeAccessible(field), field.getAnnotation(Container.class).value()))
+            .collect(Collectors.toList());
     }
 
-    private static void injectFields(
-        Object instance, Class<?> testClass,
-        TestContainers testContainers,
-        Predicate<Field> fieldPredicate
-    ) throws Exception {
-        for (Field field : findAnnotatedFields(testClass, Container.class, fieldPredicate, TOP_DOWN)) {
+    private static void injectFields(Object instance, TestContainers testContainers, List<InjectableField> fields) throws Exception {
+        for (InjectableField field : fields) {
             injectField(instance, testContainers, field);
         }
     }
 
-    private static void injectField(Object instance, TestContainers testContainers, Field field) throws Exception {
-        String containerName = field.getAnnotation(Container.class).value();
+    private static void injectField(Object instance, TestContainers testContainers, InjectableField injectableField) throws Exception {
+        Field field = injectableField.getField();
+        String containerName = injectableField.getContainerName();
         if (!testContainers.contains(containerName)) {
             throw new JUnitException(String.format("Failed to set field %s cause container not found: %s", field, containerName));
         }
@@ -108,18 +366,32 @@ class TestContainersExtension implements BeforeAllCallback, BeforeEachCallback,
                 container.getClass().getSimpleName(), field));
         }
 
-        makeAccessible(field).set(instance, container);
+        field.set(instance, container);
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    private static TestContainerFactory createContainerFactory(MergedAnnotation<WithTestContainerSupport> supportAnnotation) {
+    static List<ContainerDefinition> findContainerDefinitions(AnnotatedElement element) {
+        return MergedAnnotations.from(element)
+            .stream(WithTestContainerSupport.class)
+            .map(TestContainersExtension::createContainerDefinition)
+            .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ContainerDefinition createContainerDefinition(MergedAnnotation<WithTestContainerSupport> supportAnnotation) {
         Class<? extends TestContainerFactory> factoryClass = (Class<? extends TestContainerFactory>) supportAnnotation.getClass("value");
+        // meta source is never null because @WithTestContainerSupport has only Annotation Type level
+        MergedAnnotation<?> metaSource = requireNonNull(supportAnnotation.getMetaSource());
+
+        Supplier<TestContainerFactory> factorySupplier = () -> createContainerFactory(factoryClass, metaSource);
+        return new ContainerDefinition(factorySupplier.get(), ContainerFingerprint.of(factoryClass, metaSource), factorySupplier);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static TestContainerFactory createContainerFactory(Class<? extends TestContainerFactory> factoryClass,
+                                                               MergedAnnotation<?> metaSource) {
         TestContainerFactory factory = ReflectionSupport.newInstance(factoryClass);
 
         if (factory instanceof AnnotationConsumer) {
-            // meta source is never null because @WithTestContainerSupport has only Annotation Type level
-            MergedAnnotation<?> metaSource = requireNonNull(supportAnnotation.getMetaSource());
-
             // expected source annotation is never null because AnnotationConsumer has exact 1 generic type
             Class<?> expectedSourceAnnotation = requireNonNull(GenericTypeResolver.resolveTypeArgument(factoryClass, AnnotationConsumer.class));
 
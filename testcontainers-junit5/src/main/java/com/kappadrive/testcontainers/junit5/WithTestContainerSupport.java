@@ -1,6 +1,8 @@
 package com.kappadrive.testcontainers.junit5;
 
+import com.kappadrive.testcontainers.junit5.property.AliasPropertyResolver;
 import com.kappadrive.testcontainers.junit5.property.HostPropertyResolver;
+import com.kappadrive.testcontainers.junit5.property.NamespacePropertyResolver;
 import com.kappadrive.testcontainers.junit5.property.PortPropertyResolver;
 import com.kappadrive.testcontainers.junit5.property.WithPropertyMapper;
 import java.lang.annotation.ElementType;
@@ -53,7 +55,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.ANNOTATION_TYPE)
-@WithPropertyMapper({HostPropertyResolver.class, PortPropertyResolver.class})
+@WithPropertyMapper({HostPropertyResolver.class, PortPropertyResolver.class, AliasPropertyResolver.class, NamespacePropertyResolver.class})
 @ExtendWith(TestContainersExtension.class)
 public @interface WithTestContainerSupport {
 
@@ -0,0 +1,108 @@
+package com.kappadrive.testcontainers.junit5.container;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.DigestUtils;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * Docker build context resolved from classpath directory.
+ * Files excluded by <code>.dockerignore</code> in the root of build context are neither digested nor sent to docker.
+ */
+@RequiredArgsConstructor
+class BuildContext {
+
+    private static final String DOCKERFILE = "Dockerfile";
+
+    private final Path directory;
+
+    /**
+     * Resolves build context from classpath.
+     *
+     * @param resourcePath - path to resources in classpath.
+     * @return resolved build context.
+     * @throws IllegalArgumentException if resources could not be found in classpath.
+     */
+    static BuildContext fromClasspath(String resourcePath) {
+        return new BuildContext(Paths.get(MountableFile.forClasspathResource(resourcePath).getResolvedPath()));
+    }
+
+    /**
+     * Returns digest of the whole build context: relative paths, permissions and content of all files.
+     * Digest is the same until any file is added, removed, renamed or changed.
+     *
+     * @return hex MD5 digest of build context.
+     */
+    String getDigest() {
+        StringBuilder builder = new StringBuilder();
+        for (Path file : getFiles()) {
+            builder.append(toRelativeName(file)).append('\0')
+                .append(Files.isExecutable(file) ? 'x' : '-').append('\0')
+                .append(digestContent(file)).append('\n');
+        }
+        return DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Adds all files of build context to the image one by one.
+     * Files are not read until image is built and then streamed directly into docker build request.
+     *
+     * @param image - image to add files to.
+     * @return the same image.
+     */
+    ImageFromDockerfile addFilesTo(ImageFromDockerfile image) {
+        getFiles().forEach(file -> image.withFileFromPath(toRelativeName(file), file));
+        return image;
+    }
+
+    /**
+     * Returns all regular files of build context not excluded by <code>.dockerignore</code> sorted by relative name.
+     * <code>Dockerfile</code> and <code>.dockerignore</code> are never excluded as docker requires them anyway.
+     *
+     * @return files of build context.
+     */
+    List<Path> getFiles() {
+        DockerIgnore dockerIgnore = DockerIgnore.read(directory);
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile)
+                .filter(file -> isRequired(file) || !dockerIgnore.isIgnored(toRelativeName(file)))
+                .sorted((a, b) -> toRelativeName(a).compareTo(toRelativeName(b)))
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns file name relative to build context root with <code>/</code> as separator.
+     *
+     * @param file - file inside build context.
+     * @return relative file name.
+     */
+    String toRelativeName(Path file) {
+        return directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    private boolean isRequired(Path file) {
+        String relativeName = toRelativeName(file);
+        return relativeName.equals(DOCKERFILE) || relativeName.equals(DockerIgnore.FILE_NAME);
+    }
+
+    private static String digestContent(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return DigestUtils.md5DigestAsHex(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.kappadrive.testcontainers.junit5.container;
+
+import com.github.dockerjava.api.exception.NotFoundException;
+import java.util.Locale;
+import lombok.extern.log4j.Log4j2;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+import org.testcontainers.utility.LazyFuture;
+
+/**
+ * Image built from Dockerfile and tagged by digest of its build context.
+ * If image with the same tag already exists - build is skipped completely, including build context upload.
+ * Image is not removed after tests to be used by next test runs.
+ */
+@Log4j2
+class CachedImageFromDockerfile extends LazyFuture<String> {
+
+    private static final String REPOSITORY_PREFIX = "localhost/testcontainers-junit5/";
+
+    private final String repository;
+    private final BuildContext buildContext;
+
+    CachedImageFromDockerfile(String containerName, BuildContext buildContext) {
+        this.repository = REPOSITORY_PREFIX + containerName.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9._-]", "-");
+        this.buildContext = buildContext;
+    }
+
+    @Override
+    protected String resolve() {
+        String imageName = repository + ":" + buildContext.getDigest();
+        if (imageExists(imageName)) {
+            log.info("Using cached image {}", imageName);
+            return imageName;
+        }
+        return buildContext.addFilesTo(new ImageFromDockerfile(imageName, false)).get();
+    }
+
+    private static boolean imageExists(String imageName) {
+        try {
+            DockerClientFactory.instance().client().inspectImageCmd(imageName).exec();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+}
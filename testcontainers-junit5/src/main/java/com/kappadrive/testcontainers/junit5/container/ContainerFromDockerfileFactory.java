@@ -1,9 +1,17 @@
 package com.kappadrive.testcontainers.junit5.container;
 
 import com.kappadrive.testcontainers.junit5.AnnotationConsumer;
+import com.kappadrive.testcontainers.junit5.ContainerSnapshot;
 import com.kappadrive.testcontainers.junit5.TestContainerFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.junit.platform.commons.JUnitException;
+import org.testcontainers.containers.Container;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.containers.wait.strategy.WaitStrategy;
 import org.testcontainers.images.builder.ImageFromDockerfile;
 
 /**
@@ -27,14 +35,72 @@ class ContainerFromDockerfileFactory implements TestContainerFactory, Annotation
     @Override
     public GenericContainer<?> createContainer() {
         checkIsConfigured();
+        return newContainer(withContainerFromDockerfile.cacheImage());
+    }
+
+    @Override
+    public GenericContainer<?> createReusableContainer() {
+        checkIsConfigured();
+        // not cached image gets random name on every build, so container with it would never be adopted again
+        return newContainer(true);
+    }
+
+    private GenericContainer<?> newContainer(boolean cacheImage) {
         String resourcePath = withContainerFromDockerfile.resourcePath().isEmpty()
             ? withContainerFromDockerfile.value()
             : withContainerFromDockerfile.resourcePath();
-        return new GenericContainer<>(
-            new ImageFromDockerfile().withFileFromClasspath("/", resourcePath)
+        BuildContext buildContext = BuildContext.fromClasspath(resourcePath);
+        return new GenericContainer<>(cacheImage
+            ? new CachedImageFromDockerfile(withContainerFromDockerfile.value(), buildContext)
+            : buildContext.addFilesTo(new ImageFromDockerfile())
         )
             .withExposedPorts(toIntegerArray(withContainerFromDockerfile.exposedPort()))
-            .waitingFor(Wait.forHealthcheck());
+            .waitingFor(createWaitStrategy());
+    }
+
+    @Override
+    public Set<String> getDependencies() {
+        checkIsConfigured();
+        return new LinkedHashSet<>(Arrays.asList(withContainerFromDockerfile.dependsOn()));
+    }
+
+    @Override
+    public ContainerSnapshot takeSnapshot(GenericContainer<?> container) {
+        checkIsConfigured();
+        String[] resetCommand = withContainerFromDockerfile.resetCommand();
+        if (resetCommand.length == 0) {
+            return null;
+        }
+        return () -> {
+            Container.ExecResult result = container.execInContainer(resetCommand);
+            if (result.getExitCode() != 0) {
+                throw new JUnitException(String.format("Reset command %s exited with code %d: %s",
+                    Arrays.toString(resetCommand), result.getExitCode(), result.getStderr()));
+            }
+        };
+    }
+
+    private WaitStrategy createWaitStrategy() {
+        // zero interval would poll docker without any pause
+        Duration pollInterval = Duration.ofMillis(Math.max(1, withContainerFromDockerfile.pollInterval()));
+        Duration maxPollInterval = Duration.ofMillis(Math.max(1, withContainerFromDockerfile.maxPollInterval()));
+        switch (withContainerFromDockerfile.waitFor()) {
+            case LOG:
+                if (withContainerFromDockerfile.waitForLog().isEmpty()) {
+                    throw new IllegalStateException(String.format("Log pattern is not set for container %s", withContainerFromDockerfile.value()));
+                }
+                // log message strategy matches the whole line including line break
+                return Wait.forLogMessage("(?s).*(" + withContainerFromDockerfile.waitForLog() + ").*", 1);
+            case PORT:
+                return PollingWaitStrategy.forPorts(pollInterval, maxPollInterval);
+            case HTTP:
+                if (withContainerFromDockerfile.exposedPort().length == 0) {
+                    throw new IllegalStateException(String.format("Exposed port is not set for container %s", withContainerFromDockerfile.value()));
+                }
+                return PollingWaitStrategy.forHttp(withContainerFromDockerfile.waitForHttpPath(), pollInterval, maxPollInterval);
+            default:
+                return PollingWaitStrategy.forHealthcheck(pollInterval, maxPollInterval);
+        }
     }
 
     private void checkIsConfigured() {
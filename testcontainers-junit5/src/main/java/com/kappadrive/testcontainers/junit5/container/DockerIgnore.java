@@ -0,0 +1,133 @@
+package com.kappadrive.testcontainers.junit5.container;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rules of <code>.dockerignore</code> file.
+ * Supports the same syntax as docker: <code>*</code>, <code>?</code>, <code>**</code>, character ranges and <code>!</code> exceptions.
+ * The last matching rule wins, a rule matching a directory matches all files inside it.
+ */
+@RequiredArgsConstructor
+class DockerIgnore {
+
+    static final String FILE_NAME = ".dockerignore";
+
+    private static final DockerIgnore EMPTY = new DockerIgnore(Collections.emptyList());
+
+    private final List<Rule> rules;
+
+    /**
+     * Reads <code>.dockerignore</code> from build context directory.
+     *
+     * @param directory - build context directory.
+     * @return parsed rules or rules ignoring nothing if file does not exist.
+     */
+    static DockerIgnore read(Path directory) {
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return EMPTY;
+        }
+        try {
+            return parse(Files.readAllLines(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static DockerIgnore parse(List<String> lines) {
+        List<Rule> rules = new ArrayList<>();
+        for (String line : lines) {
+            String pattern = line.trim();
+            if (pattern.isEmpty() || pattern.startsWith("#")) {
+                continue;
+            }
+            boolean exception = pattern.startsWith("!");
+            if (exception) {
+                pattern = pattern.substring(1).trim();
+            }
+            pattern = normalize(pattern);
+            if (!pattern.isEmpty()) {
+                rules.add(new Rule(toRegex(pattern), exception));
+            }
+        }
+        return new DockerIgnore(rules);
+    }
+
+    /**
+     * Checks whether file should be excluded from build context.
+     *
+     * @param relativeName - file name relative to build context root with <code>/</code> as separator.
+     * @return <code>true</code> if file should not be sent to docker.
+     */
+    boolean isIgnored(String relativeName) {
+        List<String> candidates = getSelfAndParents(relativeName);
+        boolean ignored = false;
+        for (Rule rule : rules) {
+            if (candidates.stream().anyMatch(candidate -> rule.pattern.matcher(candidate).matches())) {
+                ignored = !rule.exception;
+            }
+        }
+        return ignored;
+    }
+
+    private static List<String> getSelfAndParents(String relativeName) {
+        List<String> names = new ArrayList<>();
+        for (int i = relativeName.indexOf('/'); i >= 0; i = relativeName.indexOf('/', i + 1)) {
+            names.add(relativeName.substring(0, i));
+        }
+        names.add(relativeName);
+        return names;
+    }
+
+    private static String normalize(String pattern) {
+        return Arrays.stream(pattern.split("/"))
+            .filter(part -> !part.isEmpty() && !part.equals("."))
+            .collect(Collectors.joining("/"));
+    }
+
+    private static Pattern toRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' && i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+                // "**/" matches any number of directories including none
+                boolean directories = i + 2 < pattern.length() && pattern.charAt(i + 2) == '/';
+                regex.append(directories ? "(.*/)?" : ".*");
+                i += directories ? 2 : 1;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else if (c == '[') {
+                int end = pattern.indexOf(']', i + 1);
+                if (end < 0) {
+                    regex.append("\\[");
+                } else {
+                    String range = pattern.substring(i + 1, end);
+                    regex.append('[').append(range.startsWith("!") ? "^" + range.substring(1) : range).append(']');
+                    i = end;
+                }
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    @RequiredArgsConstructor
+    private static class Rule {
+
+        private final Pattern pattern;
+        private final boolean exception;
+    }
+}
@@ -0,0 +1,147 @@
+package com.kappadrive.testcontainers.junit5.container;
+
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.testcontainers.containers.ContainerLaunchException;
+import org.testcontainers.containers.wait.strategy.AbstractWaitStrategy;
+import org.testcontainers.containers.wait.strategy.WaitStrategyTarget;
+
+/**
+ * Wait strategy polling readiness check with exponential backoff.
+ * The first checks are done every few milliseconds, so fast containers are not delayed by a fixed polling interval
+ * (builtin strategies of Test Containers check docker at most once per second).
+ */
+class PollingWaitStrategy extends AbstractWaitStrategy {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+
+    private final ReadinessCheck check;
+    private final Duration pollInterval;
+    private final Duration maxPollInterval;
+
+    PollingWaitStrategy(ReadinessCheck check, Duration pollInterval, Duration maxPollInterval) {
+        this.check = check;
+        this.pollInterval = pollInterval;
+        this.maxPollInterval = maxPollInterval;
+    }
+
+    /**
+     * Creates strategy waiting until container is healthy according to docker command <code>HEALTHCHECK</code>.
+     *
+     * @param pollInterval    - interval before the second check.
+     * @param maxPollInterval - maximum interval between checks.
+     * @return created strategy.
+     */
+    static PollingWaitStrategy forHealthcheck(Duration pollInterval, Duration maxPollInterval) {
+        return new PollingWaitStrategy(WaitStrategyTarget::isHealthy, pollInterval, maxPollInterval);
+    }
+
+    /**
+     * Creates strategy waiting until all exposed ports accept connections from test host and are listened inside container.
+     *
+     * @param pollInterval    - interval before the second check.
+     * @param maxPollInterval - maximum interval between checks.
+     * @return created strategy.
+     */
+    static PollingWaitStrategy forPorts(Duration pollInterval, Duration maxPollInterval) {
+        return new PollingWaitStrategy(target -> {
+            for (Integer port : target.getExposedPorts()) {
+                try (Socket socket = new Socket()) {
+                    socket.connect(new InetSocketAddress(target.getHost(), target.getMappedPort(port)), CONNECT_TIMEOUT_MILLIS);
+                }
+            }
+            // docker proxy accepts connections to mapped port even before application listens, so ports are checked inside container
+            return target.getExposedPorts().isEmpty()
+                || target.execInContainer("/bin/sh", "-c", getListeningCommand(target.getExposedPorts())).getExitCode() == 0;
+        }, pollInterval, maxPollInterval);
+    }
+
+    /**
+     * Creates shell command checking that all given ports are listened inside container, the same way as Test Containers does:
+     * via <code>/proc/net/tcp</code>, <code>nc</code> or <code>bash</code>, so it works for most of images.
+     *
+     * @param ports - internal ports of container.
+     * @return shell command exiting with zero code if all ports are listened.
+     */
+    static String getListeningCommand(List<Integer> ports) {
+        return ports.stream()
+            .map(port -> String.format("(grep -i ':0*%x' /proc/net/tcp* || nc -vz -w 1 localhost %d || /bin/bash -c '</dev/tcp/localhost/%d')",
+                port, port, port))
+            .collect(Collectors.joining(" && "));
+    }
+
+    /**
+     * Creates strategy waiting until given path on the first exposed port responds with 2xx status.
+     *
+     * @param path            - path of HTTP request.
+     * @param pollInterval    - interval before the second check.
+     * @param maxPollInterval - maximum interval between checks.
+     * @return created strategy.
+     */
+    static PollingWaitStrategy forHttp(String path, Duration pollInterval, Duration maxPollInterval) {
+        return new PollingWaitStrategy(target -> {
+            int port = target.getMappedPort(target.getExposedPorts().get(0));
+            HttpURLConnection connection = (HttpURLConnection) new URL("http", target.getHost(), port, path).openConnection();
+            try {
+                connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+                connection.setReadTimeout(CONNECT_TIMEOUT_MILLIS);
+                return connection.getResponseCode() / 100 == 2;
+            } finally {
+                connection.disconnect();
+            }
+        }, pollInterval, maxPollInterval);
+    }
+
+    @Override
+    protected void waitUntilReady() {
+        long deadline = System.nanoTime() + startupTimeout.toNanos();
+        Duration interval = pollInterval;
+        Exception lastFailure = null;
+        while (true) {
+            try {
+                if (check.isReady(waitStrategyTarget)) {
+                    return;
+                }
+            } catch (Exception e) {
+                // container might be not yet listening or inspected, so failures are retried until timeout
+                lastFailure = e;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                throw new ContainerLaunchException(String.format("Container is not ready after %s", startupTimeout), lastFailure);
+            }
+            try {
+                Thread.sleep(interval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ContainerLaunchException("Interrupted while waiting for container to be ready", e);
+            }
+            interval = nextInterval(interval, maxPollInterval);
+        }
+    }
+
+    static Duration nextInterval(Duration interval, Duration maxInterval) {
+        Duration next = interval.multipliedBy(2);
+        return next.compareTo(maxInterval) < 0 ? next : maxInterval;
+    }
+
+    /**
+     * Single readiness check of container.
+     */
+    @FunctionalInterface
+    interface ReadinessCheck {
+
+        /**
+         * Checks if container is ready.
+         *
+         * @param target - started container.
+         * @return <code>true</code> if container is ready.
+         * @throws Exception if container is not ready.
+         */
+        boolean isReady(WaitStrategyTarget target) throws Exception;
+    }
+}
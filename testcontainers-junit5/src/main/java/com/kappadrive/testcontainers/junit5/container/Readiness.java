@@ -0,0 +1,31 @@
+package com.kappadrive.testcontainers.junit5.container;
+
+/**
+ * Check used to decide that container created by {@link WithContainerFromDockerfile} is started.
+ */
+public enum Readiness {
+
+    /**
+     * Container is healthy according to docker command <code>HEALTHCHECK</code>.
+     * Latency is bounded by <code>HEALTHCHECK --interval</code> of the image, 30 seconds by default.
+     */
+    HEALTHCHECK,
+
+    /**
+     * Any container log line contains a match of {@link WithContainerFromDockerfile#waitForLog()}.
+     * Log is followed, so container is ready as soon as line is written.
+     */
+    LOG,
+
+    /**
+     * All exposed ports accept connections from test host and are listened inside container.
+     * Port is checked inside container via <code>/bin/sh</code>, since docker accepts connections to mapped port
+     * even before application listens.
+     */
+    PORT,
+
+    /**
+     * {@link WithContainerFromDockerfile#waitForHttpPath()} on the first exposed port responds with 2xx status.
+     */
+    HTTP
+}
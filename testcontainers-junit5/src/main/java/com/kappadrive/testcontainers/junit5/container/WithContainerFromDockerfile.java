@@ -9,7 +9,7 @@ import java.lang.annotation.Target;
 
 /**
  * Creates simple container which will be built from Dockerfile and additional resources from classpath.
- * Will use docker <code>HEALTHCHECK</code> command to wait for container start.
+ * By default will use docker <code>HEALTHCHECK</code> command to wait for container start, see {@link #waitFor()}.
  * Supports multiple annotations on same class.
  * Note: due to implementation in Test Containers and java Resource - all resources for container should be
  * either in main classpath or in test. If there are any resources in test - main will be completely ignored.
@@ -43,4 +43,72 @@ public @interface WithContainerFromDockerfile {
      * @return ports that should be exposed.
      */
     int[] exposedPort() default {};
+
+    /**
+     * Names of containers which must be running before this container will be started.
+     * Empty by default.
+     *
+     * @return names of required containers.
+     */
+    String[] dependsOn() default {};
+
+    /**
+     * Whether built image should be tagged by digest of all resources and kept after tests.
+     * Build will be skipped completely while resources are not changed.
+     * Cached images are never removed, so every change of resources leaves one more image.
+     * Disabled by default. Always enabled when container is reused between test runs or shared between test JVMs,
+     * since container with image of random name could not be adopted.
+     *
+     * @return <code>true</code> if image should be cached, <code>false</code> to build new image for each test run.
+     */
+    boolean cacheImage() default false;
+
+    /**
+     * Command executed inside the started container before each test method to reset its state,
+     * for example recreating database from template. Test fails if command exits with non-zero code.
+     * Empty by default, so container state is not reset.
+     *
+     * @return command resetting container state.
+     */
+    String[] resetCommand() default {};
+
+    /**
+     * Check used to decide that container is started.
+     * {@link Readiness#HEALTHCHECK} by default.
+     *
+     * @return readiness check.
+     */
+    Readiness waitFor() default Readiness.HEALTHCHECK;
+
+    /**
+     * Regular expression found in container log line when container is started.
+     * Required for {@link Readiness#LOG}.
+     *
+     * @return pattern of log line.
+     */
+    String waitForLog() default "";
+
+    /**
+     * Path requested on the first exposed port for {@link Readiness#HTTP}.
+     * Root path by default.
+     *
+     * @return path of HTTP request.
+     */
+    String waitForHttpPath() default "/";
+
+    /**
+     * Interval in milliseconds before the second readiness check, each next interval is doubled.
+     * Ignored for {@link Readiness#LOG}. 5 milliseconds by default.
+     *
+     * @return initial interval between readiness checks.
+     */
+    long pollInterval() default 5;
+
+    /**
+     * Maximum interval in milliseconds between readiness checks.
+     * Ignored for {@link Readiness#LOG}. 1 second by default.
+     *
+     * @return maximum interval between readiness checks.
+     */
+    long maxPollInterval() default 1000;
 }
@@ -0,0 +1,35 @@
+package com.kappadrive.testcontainers.junit5.property;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+import org.junit.platform.commons.JUnitException;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Resolver for the last network alias of container.
+ * When shared network is enabled via {@link com.kappadrive.testcontainers.junit5.TestContainersConfiguration#NETWORK_ENABLED},
+ * it is the container name, so other containers could reach container directly without host port mapping.
+ * Containers not attached to any network have only random aliases unreachable by other containers, so they are not resolved.
+ */
+public class AliasPropertyResolver implements PropertyResolver<GenericContainer<?>> {
+
+    private static final Pattern PATTERN = Pattern.compile("\\$\\{alias}");
+
+    @Override
+    public Pattern getPattern() {
+        return PATTERN;
+    }
+
+    @Override
+    public Function<MatchResult, String> resolve(GenericContainer<?> container) {
+        return res -> {
+            if (container.getNetwork() == null) {
+                throw new JUnitException("Network alias could be resolved only for container attached to network");
+            }
+            List<String> aliases = container.getNetworkAliases();
+            return aliases.get(aliases.size() - 1);
+        };
+    }
+}
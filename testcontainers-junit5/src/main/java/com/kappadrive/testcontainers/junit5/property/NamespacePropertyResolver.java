@@ -0,0 +1,36 @@
+package com.kappadrive.testcontainers.junit5.property;
+
+import com.kappadrive.testcontainers.junit5.ContainerNamespaces;
+import java.util.function.Function;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Resolver for namespace of test class inside container, see {@link ContainerNamespaces}.
+ * Test classes sharing the same container get different namespaces, for example
+ * <code>jdbc:postgresql://${host}:${port:5432}/test?currentSchema=${namespace}</code>.
+ */
+public class NamespacePropertyResolver implements PropertyResolver<GenericContainer<?>> {
+
+    private static final Pattern PATTERN = Pattern.compile("\\$\\{namespace}");
+
+    @Override
+    public Pattern getPattern() {
+        return PATTERN;
+    }
+
+    /**
+     * Namespace belongs to test class, so without test context placeholder is left as is.
+     */
+    @Override
+    public Function<MatchResult, String> resolve(GenericContainer<?> container) {
+        return MatchResult::group;
+    }
+
+    @Override
+    public Function<MatchResult, String> resolve(GenericContainer<?> container, ExtensionContext context) {
+        return res -> ContainerNamespaces.getNamespace(context, container);
+    }
+}
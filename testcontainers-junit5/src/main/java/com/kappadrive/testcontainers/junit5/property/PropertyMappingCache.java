@@ -0,0 +1,73 @@
+package com.kappadrive.testcontainers.junit5.property;
+
+import static java.util.Objects.requireNonNull;
+import static org.junit.jupiter.api.extension.ExtensionContext.Namespace.GLOBAL;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.core.GenericTypeResolver;
+
+/**
+ * Results of reflection and template parsing performed by {@link MapToSystemPropertyExtension}.
+ * Shared by the whole Jupiter test run, so each test element and property value is processed only once.
+ */
+class PropertyMappingCache {
+
+    private static final String CACHE_KEY = "propertyMappingCache";
+
+    private final Map<List<AnnotatedElement>, DeclaredResolvers> resolvers = new ConcurrentHashMap<>();
+    private final Map<AnnotatedElement, List<MapToSystemProperty>> mappings = new ConcurrentHashMap<>();
+
+    static PropertyMappingCache getPropertyMappingCache(ExtensionContext context) {
+        return context.getRoot().getStore(GLOBAL)
+            .getOrComputeIfAbsent(CACHE_KEY, k -> new PropertyMappingCache(), PropertyMappingCache.class);
+    }
+
+    DeclaredResolvers getResolvers(List<AnnotatedElement> elements,
+                                   Function<List<AnnotatedElement>, List<? extends PropertyResolver<?>>> scanner) {
+        return resolvers.computeIfAbsent(elements, e -> new DeclaredResolvers(scanner.apply(e)));
+    }
+
+    List<MapToSystemProperty> getMappings(AnnotatedElement element, Function<AnnotatedElement, List<MapToSystemProperty>> scanner) {
+        return mappings.computeIfAbsent(element, scanner);
+    }
+
+    /**
+     * All resolvers declared for test element and its parents.
+     */
+    @RequiredArgsConstructor
+    static class DeclaredResolvers {
+
+        private final List<? extends PropertyResolver<?>> resolvers;
+        private final Map<Class<?>, Map<String, PropertyTemplate>> templates = new ConcurrentHashMap<>();
+
+        /**
+         * Returns template parsed with resolvers which support container class.
+         *
+         * @param containerClass - class of container to get metadata from.
+         * @param value          - property value.
+         * @return parsed template.
+         */
+        PropertyTemplate getTemplate(Class<?> containerClass, String value) {
+            return templates.computeIfAbsent(containerClass, c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(value, v -> PropertyTemplate.parse(v, getSupportedResolvers(containerClass)));
+        }
+
+        private List<? extends PropertyResolver<?>> getSupportedResolvers(Class<?> containerClass) {
+            return resolvers.stream()
+                .filter(resolver -> {
+                    // never null, because PropertyResolver interface has exact 1 generic type
+                    Class<?> expectedContainerClass =
+                        requireNonNull(GenericTypeResolver.resolveTypeArgument(resolver.getClass(), PropertyResolver.class));
+                    return expectedContainerClass.isAssignableFrom(containerClass);
+                })
+                .collect(Collectors.toList());
+        }
+    }
+}
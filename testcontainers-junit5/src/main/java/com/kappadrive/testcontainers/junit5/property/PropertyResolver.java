@@ -3,6 +3,7 @@ package com.kappadrive.testcontainers.junit5.property;
 import java.util.function.Function;
 import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
+import org.junit.jupiter.api.extension.ExtensionContext;
 
 /**
  * Specifies property patterns which can be mapped from container metadata into property.
@@ -28,4 +29,18 @@ public interface PropertyResolver<T> {
      * @return function to map matched entry into final value.
      */
     Function<MatchResult, String> resolve(T container);
+
+    /**
+     * Returns replace function for each entry found with {@link PropertyResolver#getPattern()} within test context.
+     * This is the only method called when properties are mapped, it delegates to {@link PropertyResolver#resolve(Object)} by default.
+     * Resolvers which depend on test, like namespace of test class, override this method
+     * and still return non-failing function from {@link PropertyResolver#resolve(Object)}.
+     *
+     * @param container - container to get metadata from.
+     * @param context   - test context the property is set for.
+     * @return function to map matched entry into final value.
+     */
+    default Function<MatchResult, String> resolve(T container, ExtensionContext context) {
+        return resolve(container);
+    }
 }
@@ -0,0 +1,101 @@
+package com.kappadrive.testcontainers.junit5.property;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Property value parsed into literals and placeholders of {@link PropertyResolver}s.
+ * Template is parsed only once, so evaluation is a single pass without any regex matching.
+ * Values produced by resolvers are inserted as is and never matched by other resolvers.
+ */
+@RequiredArgsConstructor
+class PropertyTemplate {
+
+    private final List<? extends PropertyResolver<?>> resolvers;
+    private final List<Token> tokens;
+
+    /**
+     * Parses property value. At each position the earliest match of all resolver patterns is taken,
+     * if several resolvers match at the same position - the first of them wins.
+     *
+     * @param value     - property value.
+     * @param resolvers - resolvers supported by container.
+     * @return parsed template.
+     */
+    static PropertyTemplate parse(String value, List<? extends PropertyResolver<?>> resolvers) {
+        List<Matcher> matchers = new ArrayList<>(resolvers.size());
+        resolvers.forEach(resolver -> matchers.add(resolver.getPattern().matcher(value)));
+        MatchResult[] nextMatches = new MatchResult[resolvers.size()];
+
+        List<Token> tokens = new ArrayList<>();
+        int position = 0;
+        while (position < value.length()) {
+            int resolverIndex = -1;
+            for (int i = 0; i < matchers.size(); i++) {
+                if (nextMatches[i] == null || nextMatches[i].start() < position) {
+                    nextMatches[i] = findNonEmpty(matchers.get(i), position);
+                }
+                if (nextMatches[i] != null && (resolverIndex < 0 || nextMatches[i].start() < nextMatches[resolverIndex].start())) {
+                    resolverIndex = i;
+                }
+            }
+            if (resolverIndex < 0) {
+                break;
+            }
+            MatchResult match = nextMatches[resolverIndex];
+            if (match.start() > position) {
+                tokens.add(new Token(value.substring(position, match.start()), -1, null));
+            }
+            tokens.add(new Token(null, resolverIndex, match));
+            position = match.end();
+        }
+        if (position < value.length()) {
+            tokens.add(new Token(value.substring(position), -1, null));
+        }
+        return new PropertyTemplate(resolvers, tokens);
+    }
+
+    /**
+     * Evaluates template for container.
+     *
+     * @param container - container to get metadata from.
+     * @param context   - test context the property is set for.
+     * @return property value with all placeholders replaced.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    String evaluate(Object container, ExtensionContext context) {
+        List<Function<MatchResult, String>> functions = new ArrayList<>(resolvers.size());
+        for (PropertyResolver resolver : resolvers) {
+            functions.add(resolver.resolve(container, context));
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (Token token : tokens) {
+            builder.append(token.literal != null ? token.literal : functions.get(token.resolverIndex).apply(token.match));
+        }
+        return builder.toString();
+    }
+
+    private static MatchResult findNonEmpty(Matcher matcher, int from) {
+        // empty matches are skipped, otherwise they would be found again and again at the same position
+        for (int start = from; start <= matcher.regionEnd() && matcher.find(start); start = matcher.start() + 1) {
+            if (matcher.end() > matcher.start()) {
+                return matcher.toMatchResult();
+            }
+        }
+        return null;
+    }
+
+    @RequiredArgsConstructor
+    private static class Token {
+
+        private final String literal;
+        private final int resolverIndex;
+        private final MatchResult match;
+    }
+}
@@ -0,0 +1,147 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.testcontainers.containers.GenericContainer;
+
+class ConcurrentExecutionTest {
+
+    private static final Map<String, String> CONCURRENT = Map.of(
+        "junit.jupiter.execution.parallel.enabled", "true",
+        "junit.jupiter.execution.parallel.mode.classes.default", "concurrent",
+        "junit.jupiter.execution.parallel.config.strategy", "fixed",
+        "junit.jupiter.execution.parallel.config.fixed.parallelism", "4"
+    );
+
+    private static final AtomicInteger CREATED = new AtomicInteger();
+    private static final AtomicInteger STARTED = new AtomicInteger();
+    private static final AtomicInteger STOPPED = new AtomicInteger();
+
+    @BeforeEach
+    void clear() {
+        CREATED.set(0);
+        STARTED.set(0);
+        STOPPED.set(0);
+        SlowContainerFactory.failure = null;
+    }
+
+    @Test
+    void testSharedContainerStartedOnce() {
+        EngineExecutionResults results = executeTests(CONCURRENT, selectClass(FirstTestCase.class),
+            selectClass(SecondTestCase.class), selectClass(ThirdTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(3, event(test(), finishedSuccessfully()));
+
+        assertThat(CREATED).hasValue(1);
+        assertThat(STARTED).hasValue(1);
+        assertThat(STOPPED).hasValue(1);
+    }
+
+    @Test
+    void testFailureSharedWithWaitingClasses() {
+        SlowContainerFactory.failure = new IllegalStateException("Start failure");
+
+        EngineExecutionResults results = executeTests(CONCURRENT, selectClass(FirstTestCase.class),
+            selectClass(SecondTestCase.class), selectClass(ThirdTestCase.class));
+
+        // every class waiting for the container fails
+        results.containerEvents().assertThatEvents()
+            .haveExactly(3, event(finishedWithFailure(message(m -> m.contains("Start failure") || m.contains("Failed to start container shared")))));
+
+        assertThat(STOPPED).hasValue(0);
+    }
+
+    @SlowContainer("shared")
+    static class FirstTestCase {
+
+        @Test
+        void test(@Container("shared") GenericContainer<?> shared) {
+            assertThat(shared.isRunning()).isTrue();
+        }
+
+    }
+
+    @SlowContainer("shared")
+    static class SecondTestCase {
+
+        @Container("shared")
+        private GenericContainer<?> shared;
+
+        @Test
+        void test() {
+            assertThat(shared.isRunning()).isTrue();
+        }
+
+    }
+
+    @SlowContainer("shared")
+    static class ThirdTestCase {
+
+        @Test
+        void test() {
+            assertThat(STARTED).hasPositiveValue();
+        }
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @WithTestContainerSupport(SlowContainerFactory.class)
+    private @interface SlowContainer {
+        String value();
+    }
+
+    private static class SlowContainerFactory implements TestContainerFactory, AnnotationConsumer<SlowContainer> {
+
+        private static RuntimeException failure;
+
+        private SlowContainer slowContainer;
+
+        @Override
+        public void accept(SlowContainer slowContainer) {
+            this.slowContainer = slowContainer;
+        }
+
+        @Override
+        public String getContainerName() {
+            return slowContainer.value();
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            CREATED.incrementAndGet();
+            GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+            RuntimeException startFailure = failure;
+            willAnswer(invocation -> {
+                Thread.sleep(200);
+                if (startFailure != null) {
+                    throw startFailure;
+                }
+                STARTED.incrementAndGet();
+                willAnswer(running -> true).given(container).isRunning();
+                return null;
+            }).given(container).start();
+            willAnswer(invocation -> STOPPED.incrementAndGet()).given(container).stop();
+            return container;
+        }
+    }
+}
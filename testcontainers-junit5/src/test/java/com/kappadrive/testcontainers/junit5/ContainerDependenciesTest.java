@@ -0,0 +1,251 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.container;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.testcontainers.containers.GenericContainer;
+
+class ContainerDependenciesTest {
+
+    private static final List<String> STARTED = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void clearStarted() {
+        STARTED.clear();
+        DependentContainerFactory.barrier = null;
+    }
+
+    @Test
+    void testDependencyStartedFirst() {
+        EngineExecutionResults results = executeTests(selectClass(DependencyOrderTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(STARTED).containsExactly("zookeeper", "kafka", "app");
+    }
+
+    @WithDependentContainer(value = "app", dependsOn = "kafka")
+    @WithDependentContainer(value = "kafka", dependsOn = "zookeeper")
+    @WithDependentContainer("zookeeper")
+    static class DependencyOrderTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testLevelStartedInParallel() {
+        DependentContainerFactory.barrier = new CyclicBarrier(2);
+
+        EngineExecutionResults results = executeTests(
+            Map.of(
+                TestContainersConfiguration.PARALLEL_STARTUP_ENABLED, "true",
+                TestContainersConfiguration.PARALLEL_STARTUP_PARALLELISM, "2"
+            ),
+            selectClass(ParallelLevelTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(STARTED).hasSize(3).endsWith("app");
+    }
+
+    @WithDependentContainer(value = "app", dependsOn = {"db", "cache"})
+    @WithDependentContainer("db")
+    @WithDependentContainer("cache")
+    static class ParallelLevelTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testDependencyOnHigherLevel() {
+        EngineExecutionResults results = executeTests(selectClass(HigherLevelDependencyTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(STARTED).containsExactly("db", "app");
+    }
+
+    @WithDependentContainer("db")
+    static class HigherLevelDependencyTestCase {
+
+        @Test
+        @WithDependentContainer(value = "app", dependsOn = "db")
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testMissingDependency() {
+        EngineExecutionResults results = executeTests(selectClass(MissingDependencyTestCase.class));
+
+        results.containerEvents().assertThatEvents()
+            .haveExactly(1, event(container(MissingDependencyTestCase.class), finishedWithFailure(
+                instanceOf(JUnitException.class),
+                message("Container app depends on db which is not declared"))));
+
+        assertThat(STARTED).isEmpty();
+    }
+
+    @WithDependentContainer(value = "app", dependsOn = "db")
+    static class MissingDependencyTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testCyclicDependencies() {
+        EngineExecutionResults results = executeTests(selectClass(CyclicDependenciesTestCase.class));
+
+        results.containerEvents().assertThatEvents()
+            .haveExactly(1, event(container(CyclicDependenciesTestCase.class), finishedWithFailure(
+                instanceOf(JUnitException.class),
+                message("Cyclic container dependencies: a -> b -> c -> a"))));
+
+        assertThat(STARTED).isEmpty();
+    }
+
+    @WithDependentContainer(value = "a", dependsOn = "b")
+    @WithDependentContainer(value = "b", dependsOn = "c")
+    @WithDependentContainer(value = "c", dependsOn = "a")
+    @WithDependentContainer("d")
+    static class CyclicDependenciesTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testSelfDependency() {
+        EngineExecutionResults results = executeTests(selectClass(SelfDependencyTestCase.class));
+
+        results.containerEvents().assertThatEvents()
+            .haveExactly(1, event(container(SelfDependencyTestCase.class), finishedWithFailure(
+                instanceOf(JUnitException.class),
+                message("Cyclic container dependencies: a -> a"))));
+    }
+
+    @WithDependentContainer(value = "a", dependsOn = "a")
+    static class SelfDependencyTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testNoDependenciesByDefault() {
+        TestContainerFactory factory = new TestContainerFactory() {
+            @Override
+            public String getContainerName() {
+                return "dummy";
+            }
+
+            @Override
+            public GenericContainer<?> createContainer() {
+                return null;
+            }
+        };
+
+        assertThat(factory.getDependencies()).isEmpty();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Repeatable(WithDependentContainers.class)
+    @WithTestContainerSupport(DependentContainerFactory.class)
+    private @interface WithDependentContainer {
+        String value();
+
+        String[] dependsOn() default {};
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    private @interface WithDependentContainers {
+        WithDependentContainer[] value();
+    }
+
+    private static class DependentContainerFactory implements TestContainerFactory, AnnotationConsumer<WithDependentContainer> {
+
+        private static CyclicBarrier barrier;
+
+        private WithDependentContainer withDependentContainer;
+
+        @Override
+        public void accept(WithDependentContainer withDependentContainer) {
+            this.withDependentContainer = withDependentContainer;
+        }
+
+        @Override
+        public String getContainerName() {
+            return withDependentContainer.value();
+        }
+
+        @Override
+        public Set<String> getDependencies() {
+            return new LinkedHashSet<>(Arrays.asList(withDependentContainer.dependsOn()));
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+            CyclicBarrier startBarrier = barrier;
+            willAnswer(invocation -> {
+                if (startBarrier != null && getDependencies().isEmpty()) {
+                    startBarrier.await(10, TimeUnit.SECONDS);
+                }
+                return STARTED.add(getContainerName());
+            }).given(container).start();
+            return container;
+        }
+    }
+}
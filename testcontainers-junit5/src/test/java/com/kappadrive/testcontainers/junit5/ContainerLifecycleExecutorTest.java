@@ -0,0 +1,206 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.JUnitException;
+
+class ContainerLifecycleExecutorTest {
+
+    private final ContainerLifecycleExecutor executor = new ContainerLifecycleExecutor(2);
+
+    @AfterEach
+    void closeExecutor() {
+        executor.close();
+    }
+
+    @Test
+    void testAllResultsCollected() {
+        List<String> results = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        executor.invokeAll(List.<Callable<String>>of(
+            () -> "first",
+            () -> {
+                throw new IllegalStateException("Some error");
+            },
+            () -> "third"
+        ), (i, result) -> results.add(i + ":" + result), (i, failure) -> failures.add(failure));
+
+        assertThat(results).containsExactly("0:first", "2:third");
+        assertThat(failures).hasSize(1);
+        assertThat(failures.get(0))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Some error");
+    }
+
+    @Test
+    void testInterruptedWhileWaiting() {
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread.currentThread().interrupt();
+
+        try {
+            assertThatThrownBy(() -> executor.invokeAll(List.<Callable<Object>>of(() -> {
+                latch.await();
+                return null;
+            }), (i, result) -> { }, (i, failure) -> { }))
+                .isInstanceOf(JUnitException.class)
+                .hasMessage("Interrupted while waiting for container lifecycle operations");
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void testPlatformThreadsUsedWithoutVirtualThreads() {
+        ExecutorService executorService = ContainerLifecycleExecutor.newExecutorService(1, () -> null);
+        try {
+            Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executorService).join();
+
+            assertThat(thread.getName()).startsWith("testcontainers-lifecycle-");
+            assertThat(thread.isDaemon()).isTrue();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testVirtualThreadsUsedIfSupported() {
+        ExecutorService executorService = ContainerLifecycleExecutor.newVirtualThreadExecutor();
+        try {
+            if (Runtime.version().feature() >= 21) {
+                Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executorService).join();
+                assertThat(thread.getName()).startsWith("testcontainers-lifecycle-");
+                assertThat(thread.isDaemon()).isTrue();
+            } else {
+                assertThat(executorService).isNull();
+            }
+        } finally {
+            if (executorService != null) {
+                executorService.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    void testVirtualThreadExecutorCreatedViaReflection() {
+        ExecutorService executorService = ContainerLifecycleExecutor.newVirtualThreadExecutor(VirtualThread.class, VirtualThreadExecutors.class);
+        try {
+            Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executorService).join();
+
+            assertThat(thread.getName()).isEqualTo("testcontainers-lifecycle-1");
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testParallelismBoundedOnPlatformThreads() {
+        assertThat(runConcurrently(new ContainerLifecycleExecutor(2, () -> null), 6)).isEqualTo(2);
+    }
+
+    @Test
+    void testDefaultParallelismBoundedOnPlatformThreads() {
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        assertThat(runConcurrently(new ContainerLifecycleExecutor(0, () -> null), processors + 1)).isEqualTo(processors);
+    }
+
+    @Test
+    void testParallelismBoundedOnVirtualThreads() {
+        // every task gets its own thread just like with virtual threads
+        assertThat(runConcurrently(new ContainerLifecycleExecutor(2, Executors::newCachedThreadPool), 6)).isEqualTo(2);
+    }
+
+    @Test
+    void testDefaultParallelismNotBoundedOnVirtualThreads() {
+        assertThat(runConcurrently(new ContainerLifecycleExecutor(0, Executors::newCachedThreadPool), 6)).isEqualTo(6);
+    }
+
+    private static int runConcurrently(ContainerLifecycleExecutor executor, int tasks) {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        // tasks wait for each other, so all of them run at the same time unless executor bounds them
+        CountDownLatch started = new CountDownLatch(tasks);
+        Callable<Integer> task = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            started.await(200, TimeUnit.MILLISECONDS);
+            running.decrementAndGet();
+            return maxRunning.get();
+        };
+        List<Integer> results = new ArrayList<>();
+
+        try {
+            executor.invokeAll(Collections.nCopies(tasks, task), (i, result) -> results.add(result), (i, failure) -> { });
+            List<CompletableFuture<Integer>> futures = IntStream.range(0, tasks)
+                .mapToObj(i -> executor.submit(() -> {
+                    try {
+                        return task.call();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }))
+                .collect(Collectors.toList());
+            futures.forEach(future -> results.add(future.join()));
+        } finally {
+            executor.close();
+        }
+
+        assertThat(results).hasSize(tasks * 2);
+        return maxRunning.get();
+    }
+
+    /**
+     * Mirrors <code>Thread.ofVirtual()</code> of Java 21.
+     */
+    static class VirtualThread {
+
+        public static VirtualThreadBuilder ofVirtual() {
+            return new VirtualThreadBuilder();
+        }
+    }
+
+    /**
+     * Mirrors <code>Thread.Builder.OfVirtual</code> of Java 21 with platform threads.
+     */
+    public static class VirtualThreadBuilder {
+
+        private String name;
+
+        public VirtualThreadBuilder name(String prefix, long start) {
+            this.name = prefix + start;
+            return this;
+        }
+
+        public ThreadFactory factory() {
+            return runnable -> new Thread(runnable, name);
+        }
+    }
+
+    /**
+     * Mirrors <code>Executors.newThreadPerTaskExecutor(ThreadFactory)</code> of Java 21.
+     */
+    static class VirtualThreadExecutors {
+
+        public static ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+            return Executors.newCachedThreadPool(threadFactory);
+        }
+    }
+}
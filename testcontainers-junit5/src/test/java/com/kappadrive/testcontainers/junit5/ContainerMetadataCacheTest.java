@@ -0,0 +1,99 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.testcontainers.containers.GenericContainer;
+
+class ContainerMetadataCacheTest {
+
+    @BeforeEach
+    void initNewContainers() {
+        CountingContainerFactory.container = Mockito.mock(GenericContainer.class);
+        CountingContainerFactory.INSTANCES.set(0);
+    }
+
+    @Test
+    void testFactoryCreatedPerTestContext() {
+        EngineExecutionResults results = executeTests(selectClass(RepeatedTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(3, event(test(), finishedSuccessfully()));
+
+        // one factory of cached definition and one per each repetition
+        assertThat(CountingContainerFactory.INSTANCES).hasValue(4);
+    }
+
+    @Test
+    void testDefinitionWithNewFactory() throws NoSuchMethodException {
+        ContainerDefinition definition = TestContainersExtension.findContainerDefinitions(
+            RepeatedTestCase.class.getDeclaredMethod("test", GenericContainer.class)).get(0);
+
+        ContainerDefinition copy = definition.withNewFactory();
+
+        assertThat(copy.getFactory()).isNotSameAs(definition.getFactory());
+        assertThat(copy.getFingerprint()).isEqualTo(definition.getFingerprint());
+        assertThat(copy.getContainerName()).isEqualTo("counting");
+    }
+
+    @Test
+    void testDefinitionWithSameFactory() {
+        CountingContainerFactory factory = new CountingContainerFactory();
+
+        assertThat(new ContainerDefinition(factory, "fingerprint").withNewFactory().getFactory()).isSameAs(factory);
+    }
+
+    static class RepeatedTestCase {
+
+        @Container("counting")
+        private GenericContainer<?> field;
+
+        @RepeatedTest(3)
+        @WithCountingContainer
+        void test(@Container("counting") GenericContainer<?> parameter) {
+            assertThat(field).isSameAs(CountingContainerFactory.container);
+            assertThat(parameter).isSameAs(CountingContainerFactory.container);
+        }
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @WithTestContainerSupport(CountingContainerFactory.class)
+    private @interface WithCountingContainer {
+    }
+
+    private static class CountingContainerFactory implements TestContainerFactory {
+
+        private static final AtomicInteger INSTANCES = new AtomicInteger();
+        private static GenericContainer<?> container;
+
+        CountingContainerFactory() {
+            INSTANCES.incrementAndGet();
+        }
+
+        @Override
+        public String getContainerName() {
+            return "counting";
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            return container;
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.container;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+import static org.mockito.BDDMockito.willAnswer;
+
+import com.kappadrive.testcontainers.junit5.property.MapToSystemProperty;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.testcontainers.containers.GenericContainer;
+
+@ExtendWith(OutputCaptureExtension.class)
+class ContainerNamespacesTest {
+
+    private static final List<String> EVENTS = new CopyOnWriteArrayList<>();
+    private static final String NAMESPACE = "test_" + ProcessHandle.current().pid() + "_\\d+";
+
+    @BeforeEach
+    void clear() {
+        EVENTS.clear();
+        NamespaceContainerFactory.createFailure = null;
+        NamespaceContainerFactory.dropFailure = null;
+        NamespaceContainerFactory.stopRecorded = false;
+    }
+
+    @Test
+    void testNamespacePerTestClass() {
+        EngineExecutionResults results = executeTests(selectClass(FirstTestCase.class), selectClass(SecondTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test("test"), finishedSuccessfully()));
+
+        assertThat(EVENTS).hasSize(6);
+        String first = EVENTS.get(0).substring("create:db:".length());
+        String second = EVENTS.get(3).substring("create:db:".length());
+        assertThat(first).matches(NAMESPACE).isNotEqualTo(second);
+        assertThat(EVENTS).containsExactly("create:db:" + first, "test:" + first, "drop:db:" + first,
+            "create:db:" + second, "test:" + second, "drop:db:" + second);
+    }
+
+    @NamespaceContainer("db")
+    @MapToSystemProperty(container = "db", property = "test.namespace", value = "${namespace}")
+    static class FirstTestCase {
+
+        @Test
+        void test() {
+            EVENTS.add("test:" + System.getProperty("test.namespace"));
+        }
+
+    }
+
+    @NamespaceContainer("db")
+    @MapToSystemProperty(container = "db", property = "test.namespace", value = "${namespace}")
+    static class SecondTestCase {
+
+        @Test
+        void test() {
+            EVENTS.add("test:" + System.getProperty("test.namespace"));
+        }
+
+    }
+
+    @Test
+    void testNamespaceSharedByTestMethods() {
+        EngineExecutionResults results = executeTests(selectClass(MethodsTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).hasSize(4);
+        String namespace = EVENTS.get(0).substring("create:db:".length());
+        assertThat(EVENTS).containsExactly("create:db:" + namespace, "test:" + namespace, "test:" + namespace, "drop:db:" + namespace);
+    }
+
+    @NamespaceContainer("db")
+    static class MethodsTestCase {
+
+        @Test
+        @MapToSystemProperty(container = "db", property = "test.namespace", value = "schema=${namespace}")
+        void test() {
+            EVENTS.add("test:" + System.getProperty("test.namespace").substring("schema=".length()));
+        }
+
+        @Test
+        @MapToSystemProperty(container = "db", property = "test.namespace", value = "schema=${namespace}")
+        void anotherTest() {
+            EVENTS.add("test:" + System.getProperty("test.namespace").substring("schema=".length()));
+        }
+
+    }
+
+    @Test
+    void testNestedClassGetsOwnNamespace() {
+        EngineExecutionResults results = executeTests(selectClass(EnclosingTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test("test"), finishedSuccessfully()));
+
+        assertThat(EVENTS).filteredOn(e -> e.startsWith("create:")).hasSize(2).doesNotHaveDuplicates();
+        assertThat(EVENTS).filteredOn(e -> e.startsWith("drop:")).hasSize(2);
+    }
+
+    @NamespaceContainer("db")
+    @MapToSystemProperty(container = "db", property = "test.namespace", value = "${namespace}")
+    static class EnclosingTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+        @Nested
+        @MapToSystemProperty(container = "db", property = "test.namespace", value = "${namespace}")
+        class NestedTestCase {
+
+            @Test
+            void test() {
+                // skipped
+            }
+
+        }
+
+    }
+
+    @Test
+    void testNamespaceAccessedFromContext() {
+        EngineExecutionResults results = executeTests(selectClass(ContextTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        String namespace = EVENTS.get(0).substring("create:db:".length());
+        assertThat(EVENTS).containsExactly("create:db:" + namespace, "context:" + namespace, "drop:db:" + namespace);
+    }
+
+    @NamespaceContainer("db")
+    @ExtendWith(NamespaceRecorder.class)
+    static class ContextTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testNamespaceOfContainerPutDirectly() {
+        EngineExecutionResults results = executeTests(selectClass(ManualTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(EVENTS).hasSize(1);
+        assertThat(EVENTS.get(0)).matches("manual:" + NAMESPACE);
+    }
+
+    @ExtendWith(ManualContainerExtension.class)
+    static class ManualTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testNamespaceOfLeasedTestContext() {
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.POOL_SIZE, "1"),
+            selectClass(PooledTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        String namespace = EVENTS.get(0).substring("create:db:".length());
+        assertThat(EVENTS).containsExactly("create:db:" + namespace, "test:" + namespace, "drop:db:" + namespace);
+    }
+
+    @NamespaceContainer("db")
+    static class PooledTestCase {
+
+        @Test
+        @NamespaceContainer("pooled")
+        @MapToSystemProperty(container = "db", property = "test.namespace", value = "${namespace}")
+        void test() {
+            EVENTS.add("test:" + System.getProperty("test.namespace"));
+        }
+
+    }
+
+    @Test
+    void testNamespacePerMethodContainer() {
+        NamespaceContainerFactory.stopRecorded = true;
+
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.SCOPED_LIFECYCLE_ENABLED, "true"),
+            selectClass(MethodContainerTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).hasSize(9);
+        String first = EVENTS.get(0).substring("create:db:".length());
+        String second = EVENTS.get(4).substring("create:db:".length());
+        assertThat(first).isNotEqualTo(second);
+        assertThat(EVENTS).containsExactly("create:db:" + first, "test:" + first, "drop:db:" + first, "stop:db",
+            "create:db:" + second, "test:" + second, "drop:db:" + second, "stop:db", "stop:cache");
+    }
+
+    @NamespaceContainer("cache")
+    static class MethodContainerTestCase {
+
+        @Test
+        @NamespaceContainer("db")
+        @MapToSystemProperty(container = "db", property = "test.namespace", value = "${namespace}")
+        void test() {
+            EVENTS.add("test:" + System.getProperty("test.namespace"));
+        }
+
+        @Test
+        @NamespaceContainer("db")
+        @MapToSystemProperty(container = "db", property = "test.namespace", value = "${namespace}")
+        void anotherTest() {
+            EVENTS.add("test:" + System.getProperty("test.namespace"));
+        }
+
+    }
+
+    @Test
+    void testNamespaceOfClassContainerDeclaredByMethods() {
+        NamespaceContainerFactory.stopRecorded = true;
+
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.SCOPED_LIFECYCLE_ENABLED, "true"),
+            selectClass(ClassContainerTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        String namespace = EVENTS.get(0).substring("create:db:".length());
+        assertThat(EVENTS).containsExactly("create:db:" + namespace, "test:" + namespace, "test:" + namespace, "drop:db:" + namespace,
+            "stop:db");
+    }
+
+    @NamespaceContainer("db")
+    static class ClassContainerTestCase {
+
+        @Test
+        @NamespaceContainer("db")
+        @MapToSystemProperty(container = "db", property = "test.namespace", value = "${namespace}")
+        void test() {
+            EVENTS.add("test:" + System.getProperty("test.namespace"));
+        }
+
+        @Test
+        @NamespaceContainer("db")
+        @MapToSystemProperty(container = "db", property = "test.namespace", value = "${namespace}")
+        void anotherTest() {
+            EVENTS.add("test:" + System.getProperty("test.namespace"));
+        }
+
+    }
+
+    @Test
+    void testNamespacePerLeasedContainer() {
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.POOL_SIZE, "1"),
+            selectClass(LeasedTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).hasSize(6);
+        String first = EVENTS.get(0).substring("create:pooled:".length());
+        String second = EVENTS.get(3).substring("create:pooled:".length());
+        assertThat(first).isNotEqualTo(second);
+        assertThat(EVENTS).containsExactly("create:pooled:" + first, "test:" + first, "drop:pooled:" + first,
+            "create:pooled:" + second, "test:" + second, "drop:pooled:" + second);
+    }
+
+    static class LeasedTestCase {
+
+        @Test
+        @NamespaceContainer("pooled")
+        @MapToSystemProperty(container = "pooled", property = "test.namespace", value = "${namespace}")
+        void test() {
+            EVENTS.add("test:" + System.getProperty("test.namespace"));
+        }
+
+        @Test
+        @NamespaceContainer("pooled")
+        @MapToSystemProperty(container = "pooled", property = "test.namespace", value = "${namespace}")
+        void anotherTest() {
+            EVENTS.add("test:" + System.getProperty("test.namespace"));
+        }
+
+    }
+
+    @Test
+    void testNamespaceCreatedByFactoryOfStartedContainer() {
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.SCOPED_LIFECYCLE_ENABLED, "true"),
+            selectClass(FirstTestCase.class), selectClass(OtherFactoryTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test("test"), finishedSuccessfully()));
+
+        assertThat(EVENTS).hasSize(6);
+        assertThat(EVENTS.get(1)).matches("test:" + NAMESPACE);
+        assertThat(EVENTS.get(4)).matches("test:other_" + NAMESPACE);
+    }
+
+    @NamespaceContainer(value = "db", prefix = "other_")
+    @MapToSystemProperty(container = "db", property = "test.namespace", value = "${namespace}")
+    static class OtherFactoryTestCase {
+
+        @Test
+        void test() {
+            EVENTS.add("test:" + System.getProperty("test.namespace"));
+        }
+
+    }
+
+    @Test
+    void testCreateFailure() {
+        NamespaceContainerFactory.createFailure = new IllegalStateException("Failed to create schema");
+
+        EngineExecutionResults results = executeTests(selectClass(FirstTestCase.class));
+
+        results.containerEvents().assertThatEvents()
+            .haveExactly(1, event(container(FirstTestCase.class),
+                finishedWithFailure(message("Failed to create namespace in container db"))));
+    }
+
+    @Test
+    void testDropFailureLogged(CapturedOutput output) {
+        NamespaceContainerFactory.dropFailure = new IllegalStateException("Failed to drop schema");
+
+        EngineExecutionResults results = executeTests(selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+        assertThat(output).containsPattern("Failed to drop namespace " + NAMESPACE + " in container db");
+    }
+
+    @Test
+    void testDefaultNamespace() throws Exception {
+        TestContainerFactory factory = Mockito.mock(TestContainerFactory.class, Mockito.CALLS_REAL_METHODS);
+        GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+
+        assertThat(factory.createNamespace(container, "test_1")).isEqualTo("test_1");
+        factory.dropNamespace(container, "test_1");
+        Mockito.verifyNoInteractions(container);
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @WithTestContainerSupport(NamespaceContainerFactory.class)
+    private @interface NamespaceContainer {
+        String value();
+
+        String prefix() default "";
+    }
+
+    private static class NamespaceContainerFactory implements TestContainerFactory, AnnotationConsumer<NamespaceContainer> {
+
+        private static RuntimeException createFailure;
+        private static RuntimeException dropFailure;
+        private static boolean stopRecorded;
+
+        private NamespaceContainer namespaceContainer;
+
+        @Override
+        public void accept(NamespaceContainer namespaceContainer) {
+            this.namespaceContainer = namespaceContainer;
+        }
+
+        @Override
+        public String getContainerName() {
+            return namespaceContainer.value();
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+            if (stopRecorded) {
+                willAnswer(invocation -> EVENTS.add("stop:" + getContainerName())).given(container).stop();
+            }
+            return container;
+        }
+
+        @Override
+        public String createNamespace(GenericContainer<?> container, String name) {
+            if (createFailure != null) {
+                throw createFailure;
+            }
+            EVENTS.add("create:" + getContainerName() + ":" + name);
+            return namespaceContainer.prefix() + name;
+        }
+
+        @Override
+        public void dropNamespace(GenericContainer<?> container, String namespace) {
+            if (dropFailure != null) {
+                throw dropFailure;
+            }
+            EVENTS.add("drop:" + getContainerName() + ":" + namespace);
+        }
+    }
+
+    private static class NamespaceRecorder implements BeforeEachCallback {
+
+        @Override
+        public void beforeEach(ExtensionContext context) {
+            String namespace = ContainerNamespaces.getNamespace(context, "db");
+            assertThat(ContainerNamespaces.getNamespace(context, TestContainers.getTestContainers(context).get("db"))).isEqualTo(namespace);
+            EVENTS.add("context:" + namespace);
+        }
+    }
+
+    private static class ManualContainerExtension implements BeforeEachCallback {
+
+        @Override
+        public void beforeEach(ExtensionContext context) {
+            TestContainers.getTestContainers(context).put("manual", Mockito.mock(GenericContainer.class));
+            EVENTS.add("manual:" + ContainerNamespaces.getNamespace(context, "manual"));
+
+            assertThatThrownBy(() -> ContainerNamespaces.getNamespace(context, "missing"))
+                .isInstanceOf(JUnitException.class)
+                .hasMessage("Failed to create namespace cause container not found: missing");
+            GenericContainer<?> notPresent = Mockito.mock(GenericContainer.class);
+            assertThatThrownBy(() -> ContainerNamespaces.getNamespace(context, notPresent))
+                .isInstanceOf(JUnitException.class)
+                .hasMessage("Failed to create namespace cause container not found: " + notPresent);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.container;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import com.kappadrive.testcontainers.junit5.property.MapToSystemProperty;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+
+class ContainerNetworkTest {
+
+    private static final Map<String, String> NETWORK = Map.of(TestContainersConfiguration.NETWORK_ENABLED, "true");
+
+    @BeforeEach
+    void initNewContainers() {
+        NetworkContainerFactory.container = Mockito.mock(GenericContainer.class);
+        given(NetworkContainerFactory.container.getNetworkAliases()).willReturn(List.of("tc-12345678", "db"));
+        given(NetworkContainerFactory.container.withNetwork(any())).willAnswer(invocation -> {
+            given(NetworkContainerFactory.container.getNetwork()).willReturn(invocation.getArgument(0));
+            return NetworkContainerFactory.container;
+        });
+    }
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty("network.alias");
+    }
+
+    @Test
+    void testContainerAttachedToSharedNetwork() {
+        EngineExecutionResults results = executeTests(NETWORK, selectClass(NetworkTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(NetworkContainerFactory.container).should(times(1)).withNetwork(Network.SHARED);
+        then(NetworkContainerFactory.container).should(times(1)).withNetworkAliases("db");
+        assertThat(System.getProperty("network.alias")).isEqualTo("db");
+    }
+
+    @Test
+    void testLazyContainerAttachedToSharedNetwork() {
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.NETWORK_ENABLED, "true",
+            TestContainersConfiguration.LAZY_STARTUP_ENABLED, "true"), selectClass(NetworkTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(NetworkContainerFactory.container).should(times(1)).withNetwork(Network.SHARED);
+        then(NetworkContainerFactory.container).should(times(1)).withNetworkAliases("db");
+    }
+
+    @Test
+    void testSharedNetworkRequiresExternalResource() {
+        assertThatThrownBy(() -> TestContainersExtension.getSharedNetwork(() -> {
+            throw new NoClassDefFoundError("org/junit/rules/ExternalResource");
+        }))
+            .isInstanceOf(JUnitException.class)
+            .hasMessageContaining("testcontainers-junit4-mock of the same version")
+            .hasCauseInstanceOf(NoClassDefFoundError.class);
+    }
+
+    @Test
+    void testNetworkDisabledByDefault() {
+        EngineExecutionResults results = executeTests(selectClass(NotMappedTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(NetworkContainerFactory.container).should(never()).withNetwork(any());
+        then(NetworkContainerFactory.container).should(never()).withNetworkAliases(any());
+    }
+
+    @Test
+    void testAliasNotResolvedWithoutNetwork() {
+        EngineExecutionResults results = executeTests(selectClass(NetworkTestCase.class));
+
+        results.containerEvents().assertThatEvents()
+            .haveExactly(1, event(container(NetworkTestCase.class), finishedWithFailure(instanceOf(JUnitException.class),
+                message("Network alias could be resolved only for container attached to network"))));
+        assertThat(System.getProperty("network.alias")).isNull();
+    }
+
+    @NetworkContainer("db")
+    @MapToSystemProperty(container = "db", property = "network.alias", value = "${alias}")
+    static class NetworkTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @NetworkContainer("db")
+    static class NotMappedTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @WithTestContainerSupport(NetworkContainerFactory.class)
+    private @interface NetworkContainer {
+        String value();
+    }
+
+    private static class NetworkContainerFactory implements TestContainerFactory, AnnotationConsumer<NetworkContainer> {
+
+        private static GenericContainer<?> container;
+
+        private NetworkContainer networkContainer;
+
+        @Override
+        public void accept(NetworkContainer networkContainer) {
+            this.networkContainer = networkContainer;
+        }
+
+        @Override
+        public String getContainerName() {
+            return networkContainer.value();
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            return container;
+        }
+    }
+}
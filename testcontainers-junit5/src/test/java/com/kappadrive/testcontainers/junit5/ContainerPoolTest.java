@@ -0,0 +1,381 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.testcontainers.containers.GenericContainer;
+
+@ExtendWith(OutputCaptureExtension.class)
+class ContainerPoolTest {
+
+    private static final List<GenericContainer<?>> CREATED = new CopyOnWriteArrayList<>();
+    private static final List<GenericContainer<?>> LEASED = new CopyOnWriteArrayList<>();
+    private static final List<GenericContainer<?>> STOPPED = new CopyOnWriteArrayList<>();
+
+    private final ContainerLifecycleExecutor executor = new ContainerLifecycleExecutor(2);
+
+    @BeforeEach
+    void clear() {
+        CREATED.clear();
+        LEASED.clear();
+        STOPPED.clear();
+        PooledContainerFactory.reset = false;
+        PooledContainerFactory.resetFailure = null;
+        PooledContainerFactory.startFailure = null;
+        PooledContainerFactory.resetLatch = new CountDownLatch(0);
+    }
+
+    @AfterEach
+    void closeExecutor() {
+        executor.close();
+    }
+
+    @Test
+    void testDiscardedAndReplaced() {
+        EngineExecutionResults results = executeTests(pool(2), selectClass(PooledTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(3, event(test(), finishedSuccessfully()));
+
+        assertThat(LEASED).hasSize(3).doesNotHaveDuplicates();
+        // 2 warm containers and 1 replacement for each test
+        assertThat(CREATED).hasSize(5);
+        assertThat(STOPPED).containsExactlyInAnyOrderElementsOf(CREATED);
+        assertThat(results.allEvents().reportingEntryPublished().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testResetAndReturned() {
+        PooledContainerFactory.reset = true;
+
+        EngineExecutionResults results = executeTests(pool(1), selectClass(PooledTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(3, event(test(), finishedSuccessfully()));
+
+        assertThat(CREATED).hasSize(1);
+        assertThat(LEASED).hasSize(3).containsOnly(CREATED.get(0));
+        assertThat(STOPPED).containsExactlyElementsOf(CREATED);
+        // startup is reported only once
+        assertThat(results.allEvents().reportingEntryPublished().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testResetFailure(CapturedOutput output) {
+        PooledContainerFactory.resetFailure = new IllegalStateException("Reset failure");
+
+        EngineExecutionResults results = executeTests(pool(1), selectClass(PooledTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(3, event(test(), finishedSuccessfully()));
+
+        assertThat(LEASED).hasSize(3).doesNotHaveDuplicates();
+        assertThat(CREATED).hasSize(4);
+        assertThat(STOPPED).containsExactlyInAnyOrderElementsOf(CREATED);
+        assertThat(output).contains("WARN  com.kappadrive.testcontainers.junit5.ContainerPool - Failed to reset container db, it will be replaced");
+    }
+
+    @Test
+    void testStartFailure() {
+        PooledContainerFactory.startFailure = new IllegalStateException("Start failure");
+
+        EngineExecutionResults results = executeTests(pool(1), selectClass(PooledTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(3, event(test(), finishedWithFailure(instanceOf(JUnitException.class),
+                message("Failed to start pooled container db"))));
+
+        assertThat(STOPPED).isEmpty();
+    }
+
+    static class PooledTestCase {
+
+        @Test
+        @WithPooledContainer("db")
+        void test(@Container("db") GenericContainer<?> db) {
+            LEASED.add(db);
+        }
+
+        @Test
+        @WithPooledContainer("db")
+        void anotherTest(@Container("db") GenericContainer<?> db) {
+            LEASED.add(db);
+        }
+
+        @Test
+        @WithPooledContainer("db")
+        void oneMoreTest(@Container("db") GenericContainer<?> db) {
+            LEASED.add(db);
+        }
+
+    }
+
+    @Test
+    void testLeasedOnlyForTestMethod() {
+        EngineExecutionResults results = executeTests(pool(1), selectClass(LeasedOnlyTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()))
+            .haveExactly(1, event(test("notLeased"), finishedWithFailure(message(m -> m.endsWith("cause container not found: db")))));
+    }
+
+    @WithPooledContainer("shared")
+    static class LeasedOnlyTestCase {
+
+        @Container("shared")
+        private GenericContainer<?> shared;
+
+        @Container("db")
+        private GenericContainer<?> db;
+
+        @Test
+        @WithPooledContainer(value = "db", dependsOn = "shared")
+        void test(@Container("db") GenericContainer<?> db, @Container("shared") GenericContainer<?> sharedParameter, TestInfo testInfo) {
+            assertThat(this.db).isSameAs(db);
+            assertThat(shared).isNotNull().isSameAs(sharedParameter);
+        }
+
+        @Test
+        void notLeased() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testClassLevelNotPooled() {
+        EngineExecutionResults results = executeTests(pool(2), selectClass(ClassLevelTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(CREATED).hasSize(1);
+        assertThat(LEASED).hasSize(2).containsOnly(CREATED.get(0));
+    }
+
+    @WithPooledContainer("db")
+    static class ClassLevelTestCase {
+
+        @Test
+        void test(@Container("db") GenericContainer<?> db) {
+            LEASED.add(db);
+        }
+
+        @Test
+        void anotherTest(@Container("db") GenericContainer<?> db) {
+            LEASED.add(db);
+        }
+
+    }
+
+    @Test
+    void testPoolDisabled() {
+        EngineExecutionResults results = executeTests(pool(0), selectClass(PooledTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(3, event(test(), finishedSuccessfully()));
+
+        assertThat(CREATED).hasSize(1);
+        assertThat(LEASED).hasSize(3).containsOnly(CREATED.get(0));
+    }
+
+    @Test
+    void testNotResetByDefault() {
+        TestContainerFactory factory = Mockito.mock(TestContainerFactory.class, Mockito.CALLS_REAL_METHODS);
+
+        assertThat(factory.resetContainer(Mockito.mock(GenericContainer.class))).isFalse();
+    }
+
+    @Test
+    void testDependencyNotStarted() {
+        EngineExecutionResults results = executeTests(pool(1), selectClass(DependencyTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedWithFailure(
+                message("Pooled container app depends on db which is not started on class level"))));
+    }
+
+    static class DependencyTestCase {
+
+        @Test
+        @WithPooledContainer(value = "app", dependsOn = "db")
+        @WithPooledContainer("db")
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testColdStartWhenExhausted() throws Exception {
+        ContainerPool pool = new ContainerPool(createDefinition(), 1, executor, ContainerStartupPermits.UNLIMITED);
+
+        ContainerPool.PooledContainer first = pool.lease();
+        ContainerPool.PooledContainer second = pool.lease();
+
+        assertThat(CREATED).hasSize(2);
+        assertThat(first.getContainer()).isNotSameAs(second.getContainer());
+        assertThat(first.getMetrics()).isNotNull();
+        assertThat(second.getMetrics()).isNotNull();
+
+        PooledContainerFactory.reset = true;
+        pool.release(first.getContainer());
+        // pool is already full
+        pool.release(second.getContainer());
+        closePool(pool);
+
+        assertThat(CREATED).hasSize(2);
+        assertThat(STOPPED).containsExactlyInAnyOrder(first.getContainer(), second.getContainer());
+    }
+
+    @Test
+    void testWarmStartFailure() throws Exception {
+        PooledContainerFactory.startFailure = new IllegalStateException("Start failure");
+        ContainerPool pool = new ContainerPool(createDefinition(), 2, executor, ContainerStartupPermits.UNLIMITED);
+
+        assertThatThrownBy(pool::lease)
+            .isInstanceOf(JUnitException.class)
+            .hasMessage("Failed to start pooled container db")
+            .hasCause(PooledContainerFactory.startFailure);
+        // failed warm container is skipped
+        closePool(pool);
+
+        assertThat(CREATED).hasSize(2);
+        assertThat(STOPPED).isEmpty();
+    }
+
+    @Test
+    void testLeaseNotBlockedByReset() throws Exception {
+        ContainerPool pool = new ContainerPool(createDefinition(), 1, executor, ContainerStartupPermits.UNLIMITED);
+        ContainerPool.PooledContainer first = pool.lease();
+        PooledContainerFactory.reset = true;
+        PooledContainerFactory.resetLatch = new CountDownLatch(1);
+
+        CompletableFuture<Void> release = CompletableFuture.runAsync(() -> pool.release(first.getContainer()));
+        // reset is still running, so the next container is started cold
+        ContainerPool.PooledContainer second = CompletableFuture.supplyAsync(pool::lease).get(10, TimeUnit.SECONDS);
+        assertThat(second.getContainer()).isNotSameAs(first.getContainer());
+        assertThat(release).isNotDone();
+        PooledContainerFactory.resetLatch.countDown();
+        release.get(10, TimeUnit.SECONDS);
+
+        assertThat(pool.lease().getContainer()).isSameAs(first.getContainer());
+        closePool(pool);
+    }
+
+    private static void closePool(ContainerPool pool) {
+        ContainerShutdown shutdown = new ContainerShutdown(Duration.ofSeconds(10));
+        pool.close(shutdown);
+        shutdown.stopAll();
+    }
+
+    private static Map<String, String> pool(int size) {
+        return Map.of(TestContainersConfiguration.POOL_SIZE, String.valueOf(size));
+    }
+
+    private static ContainerDefinition createDefinition() throws NoSuchMethodException {
+        PooledContainerFactory factory = new PooledContainerFactory();
+        factory.accept(PooledTestCase.class.getDeclaredMethod("test", GenericContainer.class).getAnnotation(WithPooledContainer.class));
+        return new ContainerDefinition(factory, "fingerprint");
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Repeatable(WithPooledContainers.class)
+    @WithTestContainerSupport(PooledContainerFactory.class)
+    private @interface WithPooledContainer {
+        String value();
+
+        String[] dependsOn() default {};
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    private @interface WithPooledContainers {
+        WithPooledContainer[] value();
+    }
+
+    private static class PooledContainerFactory implements TestContainerFactory, AnnotationConsumer<WithPooledContainer> {
+
+        private static boolean reset;
+        private static RuntimeException resetFailure;
+        private static RuntimeException startFailure;
+        private static CountDownLatch resetLatch;
+
+        private WithPooledContainer pooledContainer;
+
+        @Override
+        public void accept(WithPooledContainer pooledContainer) {
+            this.pooledContainer = pooledContainer;
+        }
+
+        @Override
+        public String getContainerName() {
+            return pooledContainer.value();
+        }
+
+        @Override
+        public Set<String> getDependencies() {
+            return new LinkedHashSet<>(Arrays.asList(pooledContainer.dependsOn()));
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+            if (startFailure != null) {
+                willThrow(startFailure).given(container).start();
+            }
+            willAnswer(invocation -> STOPPED.add(container)).given(container).stop();
+            CREATED.add(container);
+            return container;
+        }
+
+        @Override
+        public boolean resetContainer(GenericContainer<?> container) {
+            try {
+                resetLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (resetFailure != null) {
+                throw resetFailure;
+            }
+            return reset;
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTestsWithLauncher;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.testcontainers.containers.GenericContainer;
+
+@ExtendWith(OutputCaptureExtension.class)
+class ContainerPrewarmTest {
+
+    private static final Map<String, String> PREWARM = Map.of(TestContainersConfiguration.PREWARM_ENABLED, "true");
+    private static final List<String> EVENTS = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void clear() {
+        EVENTS.clear();
+        PrewarmContainerFactory.failures = 0;
+        PrewarmContainerFactory.created = new CountDownLatch(1);
+    }
+
+    @Test
+    void testAdoptStartedContainer() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+        willAnswer(invocation -> {
+            started.countDown();
+            return null;
+        }).given(container).start();
+        ContainerDefinition definition = definition("db", "db", container);
+
+        ContainerPrewarm prewarm = new ContainerPrewarm(1, Duration.ofSeconds(10), false, ContainerStartupPermits.UNLIMITED);
+        prewarm.start(definition);
+        prewarm.start(definition);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        ContainerPrewarm.PrewarmedContainer prewarmed = prewarm.adopt(definition);
+
+        assertThat(prewarmed.getContainer()).isSameAs(container);
+        assertThat(prewarmed.getMetrics().getContainerName()).isEqualTo("db");
+        assertThat(prewarm.adopt(definition)).isNull();
+        prewarm.close();
+        then(container).should().start();
+        then(container).should(never()).stop();
+    }
+
+    @Test
+    void testNotStartedContainerClaimedByAdopter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GenericContainer<?> slow = Mockito.mock(GenericContainer.class);
+        willAnswer(invocation -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        }).given(slow).start();
+        GenericContainer<?> queued = Mockito.mock(GenericContainer.class);
+        ContainerDefinition queuedDefinition = definition("queued", "queued", queued);
+
+        ContainerPrewarm prewarm = new ContainerPrewarm(1, Duration.ofSeconds(10), false, ContainerStartupPermits.UNLIMITED);
+        prewarm.start(definition("slow", "slow", slow));
+        prewarm.start(queuedDefinition);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(prewarm.adopt(queuedDefinition)).isNull();
+        release.countDown();
+        prewarm.close();
+
+        then(queued).should(never()).start();
+        then(slow).should().stop();
+    }
+
+    @Test
+    void testFailedContainerNotAdopted(CapturedOutput output) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        GenericContainer<?> container = failingContainer(started);
+        ContainerDefinition definition = definition("db", "db", container);
+
+        ContainerPrewarm prewarm = new ContainerPrewarm(1, Duration.ofSeconds(10), false, ContainerStartupPermits.UNLIMITED);
+        prewarm.start(definition);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        ContainerPrewarm.PrewarmedContainer prewarmed = prewarm.adopt(definition);
+        prewarm.close();
+
+        assertThat(prewarmed).isNull();
+        assertThat(output).contains("Failed to prewarm container db, it will be started again");
+    }
+
+    @Test
+    void testNotAdoptedContainersStoppedOnClose() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+        willAnswer(invocation -> {
+            started.countDown();
+            return null;
+        }).given(container).start();
+        GenericContainer<?> failed = failingContainer(started);
+
+        ContainerPrewarm prewarm = new ContainerPrewarm(1, Duration.ofSeconds(10), false, ContainerStartupPermits.UNLIMITED);
+        prewarm.start(definition("db", "db", container));
+        prewarm.start(definition("failed", "failed", failed));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        prewarm.close();
+
+        then(container).should().stop();
+        then(failed).should(never()).stop();
+        assertThat(prewarm.adopt(definition("db", "db", container))).isNull();
+    }
+
+    @Test
+    void testNotStartedContainersSkippedOnClose() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GenericContainer<?> slow = Mockito.mock(GenericContainer.class);
+        willAnswer(invocation -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        }).given(slow).start();
+        GenericContainer<?> queued = Mockito.mock(GenericContainer.class);
+
+        ContainerPrewarm prewarm = new ContainerPrewarm(1, Duration.ofSeconds(10), false, ContainerStartupPermits.UNLIMITED);
+        prewarm.start(definition("slow", "slow", slow));
+        prewarm.start(definition("queued", "queued", queued));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> {
+            sleep(200);
+            release.countDown();
+        });
+        prewarm.close();
+
+        then(slow).should().stop();
+        then(queued).should(never()).start();
+    }
+
+    @Test
+    void testContainerStartedBeforeTestClass() {
+        TestExecutionSummary summary = executeTestsWithLauncher(Map.of(TestContainersConfiguration.PREWARM_ENABLED, "true",
+            TestContainersConfiguration.PARALLEL_STARTUP_PARALLELISM, "2"), selectClass(PrewarmTestCase.class));
+
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(1);
+        assertThat(EVENTS).containsExactly("start:db:background", "test", "stop:db");
+    }
+
+    @Test
+    void testContainerStartedWithPermit(@TempDir Path directory) {
+        TestExecutionSummary summary = executeTestsWithLauncher(Map.of(TestContainersConfiguration.PREWARM_ENABLED, "true",
+            TestContainersConfiguration.STARTUP_PERMITS, "1", TestContainersConfiguration.STARTUP_PERMITS_DIR, directory.toString()),
+            selectClass(PrewarmTestCase.class));
+
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(1);
+        assertThat(EVENTS).containsExactly("start:db:background", "test", "stop:db");
+        assertThat(directory.resolve("slot-0.lock")).exists();
+    }
+
+    @ExtendWith(AwaitPrewarm.class)
+    @PrewarmContainer("db")
+    static class PrewarmTestCase {
+
+        @Test
+        void test(@Container("db") GenericContainer<?> db) {
+            EVENTS.add("test");
+        }
+
+    }
+
+    @Test
+    void testContainerAttachedToNetwork() {
+        TestExecutionSummary summary = executeTestsWithLauncher(Map.of(TestContainersConfiguration.PREWARM_ENABLED, "true",
+            TestContainersConfiguration.NETWORK_ENABLED, "true"), selectClass(PrewarmTestCase.class));
+
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(1);
+        assertThat(EVENTS).containsExactly("alias:db", "start:db:background", "test", "stop:db");
+    }
+
+    @Test
+    void testContainerStartedAgainAfterFailure() {
+        PrewarmContainerFactory.failures = 1;
+
+        TestExecutionSummary summary = executeTestsWithLauncher(Map.of(TestContainersConfiguration.PREWARM_ENABLED, "true",
+            TestContainersConfiguration.PARALLEL_STARTUP_PARALLELISM, "0"), selectClass(PrewarmTestCase.class));
+
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(1);
+        assertThat(EVENTS).containsExactly("start:db:test", "test", "stop:db");
+    }
+
+    @Test
+    void testNotUsedContainerStopped() {
+        PrewarmContainerFactory.created = new CountDownLatch(2);
+
+        TestExecutionSummary summary = executeTestsWithLauncher(PREWARM, selectClass(PrewarmTestCase.class), selectClass(DisabledTestCase.class));
+
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(1);
+        assertThat(EVENTS).containsExactlyInAnyOrder("start:db:background", "start:unused:background", "test", "stop:db", "stop:unused");
+        assertThat(EVENTS).endsWith("stop:unused");
+    }
+
+    @Disabled
+    @PrewarmContainer("unused")
+    static class DisabledTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testDependentContainerNotPrewarmed() {
+        TestExecutionSummary summary = executeTestsWithLauncher(PREWARM, selectClass(DependenciesTestCase.class));
+
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(1);
+        assertThat(EVENTS).containsSubsequence("start:db:background", "start:app:test", "test");
+    }
+
+    @ExtendWith(AwaitPrewarm.class)
+    @PrewarmContainer(value = "app", dependsOn = "db")
+    @PrewarmContainer("db")
+    static class DependenciesTestCase {
+
+        @Test
+        void test() {
+            EVENTS.add("test");
+        }
+
+    }
+
+    @Test
+    void testBoundToExecutedTestDescriptor() {
+        ContainerPrewarm prewarm = new ContainerPrewarm(1, Duration.ofSeconds(10), false, ContainerStartupPermits.UNLIMITED);
+        ExtensionContext context = Mockito.mock(ExtensionContext.class);
+        given(context.getUniqueId()).willReturn("[class:A]");
+        ExtensionContext otherContext = Mockito.mock(ExtensionContext.class);
+        given(otherContext.getUniqueId()).willReturn("[class:B]");
+
+        prewarm.enter("[class:A]");
+        assertThat(ContainerPrewarm.getPrewarm(context)).contains(prewarm);
+        assertThat(ContainerPrewarm.getPrewarm(otherContext)).isEmpty();
+        prewarm.enter("[class:B]");
+        assertThat(ContainerPrewarm.getPrewarm(context)).isEmpty();
+        ContainerPrewarm.exit();
+        assertThat(ContainerPrewarm.getPrewarm(context)).contains(prewarm);
+        ContainerPrewarm.exit();
+        assertThat(ContainerPrewarm.getPrewarm(context)).isEmpty();
+        prewarm.close();
+    }
+
+    @Test
+    void testNotAdoptedByOtherSession() {
+        TestExecutionSummary summary = executeTestsWithLauncher(PREWARM, selectClass(OuterSessionTestCase.class),
+            selectClass(DisabledTestCase.class));
+
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(1);
+        assertThat(EVENTS).containsExactly("start:unused:background", "start:unused:test", "test", "stop:unused", "stop:unused");
+    }
+
+    @ExtendWith(AwaitPrewarm.class)
+    static class OuterSessionTestCase {
+
+        @Test
+        void test() {
+            // nested session does not notify launcher listeners, so it never sees prewarm of outer session
+            EngineExecutionResults results = executeTests(Map.of(), selectClass(InnerSessionTestCase.class));
+            results.testEvents().assertStatistics(stats -> stats.succeeded(1));
+        }
+
+    }
+
+    @PrewarmContainer("unused")
+    static class InnerSessionTestCase {
+
+        @Test
+        void test(@Container("unused") GenericContainer<?> unused) {
+            EVENTS.add("test");
+        }
+
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        TestExecutionSummary summary = executeTestsWithLauncher(Map.of(), selectClass(NotPrewarmedTestCase.class));
+
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(1);
+        assertThat(EVENTS).containsExactly("start:db:test", "test", "stop:db");
+    }
+
+    @Test
+    void testIgnoredForLazyStartup() {
+        TestExecutionSummary summary = executeTestsWithLauncher(Map.of(TestContainersConfiguration.PREWARM_ENABLED, "true",
+            TestContainersConfiguration.LAZY_STARTUP_ENABLED, "true"), selectClass(NotPrewarmedTestCase.class));
+
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(1);
+        assertThat(EVENTS).containsExactly("start:db:test", "test", "stop:db");
+    }
+
+    @PrewarmContainer("db")
+    static class NotPrewarmedTestCase {
+
+        @Test
+        void test(@Container("db") GenericContainer<?> db) {
+            EVENTS.add("test");
+        }
+
+    }
+
+    @Test
+    void testIgnoredForReuse() {
+        ConfigurationParameters parameters = Mockito.mock(ConfigurationParameters.class);
+        given(parameters.getBoolean(TestContainersConfiguration.PREWARM_ENABLED)).willReturn(Optional.of(true));
+        given(parameters.getBoolean(TestContainersConfiguration.REUSE_ENABLED)).willReturn(Optional.of(true));
+
+        assertThat(TestContainersConfiguration.isPrewarmEnabled(parameters)).isFalse();
+    }
+
+    @Test
+    void testIgnoredForSharing() {
+        ConfigurationParameters parameters = Mockito.mock(ConfigurationParameters.class);
+        given(parameters.getBoolean(TestContainersConfiguration.PREWARM_ENABLED)).willReturn(Optional.of(true));
+        given(parameters.getBoolean(TestContainersConfiguration.SHARING_ENABLED)).willReturn(Optional.of(true));
+
+        assertThat(TestContainersConfiguration.isPrewarmEnabled(parameters)).isFalse();
+    }
+
+    private static GenericContainer<?> failingContainer(CountDownLatch started) {
+        GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+        willAnswer(invocation -> {
+            started.countDown();
+            throw new IllegalStateException("Failed to start");
+        }).given(container).start();
+        return container;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ContainerDefinition definition(String containerName, String fingerprint, GenericContainer<?> container) {
+        TestContainerFactory factory = Mockito.mock(TestContainerFactory.class);
+        given(factory.getContainerName()).willReturn(containerName);
+        given(factory.createContainer()).willAnswer(invocation -> container);
+        return new ContainerDefinition(factory, fingerprint);
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Repeatable(PrewarmContainers.class)
+    @WithTestContainerSupport(PrewarmContainerFactory.class)
+    private @interface PrewarmContainer {
+        String value();
+
+        String[] dependsOn() default {};
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    private @interface PrewarmContainers {
+        PrewarmContainer[] value();
+    }
+
+    private static class PrewarmContainerFactory implements TestContainerFactory, AnnotationConsumer<PrewarmContainer> {
+
+        private static int failures;
+        private static CountDownLatch created;
+
+        private PrewarmContainer prewarmContainer;
+
+        @Override
+        public void accept(PrewarmContainer prewarmContainer) {
+            this.prewarmContainer = prewarmContainer;
+        }
+
+        @Override
+        public String getContainerName() {
+            return prewarmContainer.value();
+        }
+
+        @Override
+        public Set<String> getDependencies() {
+            return new LinkedHashSet<>(Arrays.asList(prewarmContainer.dependsOn()));
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            boolean background = Thread.currentThread().getName().startsWith("testcontainers-lifecycle-");
+            GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+            willAnswer(invocation -> {
+                if (failures > 0) {
+                    failures--;
+                    throw new IllegalStateException("Failed to start");
+                }
+                return EVENTS.add("start:" + getContainerName() + (background ? ":background" : ":test"));
+            }).given(container).start();
+            willAnswer(invocation -> EVENTS.add("stop:" + getContainerName())).given(container).stop();
+            willAnswer(invocation -> {
+                EVENTS.add("alias:" + invocation.getArgument(0));
+                return container;
+            }).given(container).withNetworkAliases(any());
+            if (background) {
+                created.countDown();
+            }
+            return container;
+        }
+    }
+
+    /**
+     * Waits until prewarmed container is claimed by background thread, so it is never claimed by test thread first.
+     */
+    static class AwaitPrewarm implements BeforeAllCallback {
+
+        @Override
+        public void beforeAll(ExtensionContext context) throws Exception {
+            assertThat(PrewarmContainerFactory.created.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
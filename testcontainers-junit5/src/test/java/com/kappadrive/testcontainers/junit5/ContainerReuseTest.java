@@ -0,0 +1,371 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.Container;
+import com.kappadrive.testcontainers.junit5.extension.WithMockedDockerClientFactory;
+import com.kappadrive.testcontainers.junit5.extension.WithMockedTestcontainersConfiguration;
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+@WithMockedDockerClientFactory
+@WithMockedTestcontainersConfiguration
+class ContainerReuseTest {
+
+    private static final Map<String, String> REUSE = Map.of(TestContainersConfiguration.REUSE_ENABLED, "true");
+
+    @BeforeEach
+    void initNewContainers() {
+        ReusableContainerFactory.container = Mockito.mock(GenericContainer.class);
+        ReusableContainerFactory.reusableCreations.set(0);
+    }
+
+    @Test
+    void testSameFingerprintForSameConfiguration() {
+        assertThat(fingerprint(FirstTestCase.class)).isEqualTo(fingerprint(SecondTestCase.class));
+    }
+
+    @Test
+    void testDifferentFingerprintForDifferentConfiguration() {
+        assertThat(fingerprint(FirstTestCase.class)).isNotEqualTo(fingerprint(AnotherConfigurationTestCase.class));
+    }
+
+    @Test
+    void testContainerMarkedForReuse(DockerClientFactory dockerClientFactory) {
+        given(dockerClientFactory.client()).willReturn(Mockito.mock(DockerClient.class, RETURNS_DEEP_STUBS));
+
+        EngineExecutionResults results = executeTests(REUSE, selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(ReusableContainerFactory.container).should(times(1))
+            .withLabel(ContainerFingerprint.FINGERPRINT_LABEL, fingerprint(FirstTestCase.class));
+        then(ReusableContainerFactory.container).should(times(1)).withReuse(true);
+        then(ReusableContainerFactory.container).should(times(1)).start();
+        assertThat(ReusableContainerFactory.reusableCreations).hasValue(1);
+    }
+
+    @Test
+    void testReusedContainerNotStopped(DockerClientFactory dockerClientFactory, TestcontainersConfiguration configuration) {
+        given(dockerClientFactory.client()).willReturn(Mockito.mock(DockerClient.class, RETURNS_DEEP_STUBS));
+        given(configuration.environmentSupportsReuse()).willReturn(true);
+        given(ReusableContainerFactory.container.isShouldBeReused()).willReturn(true);
+
+        EngineExecutionResults results = executeTests(REUSE, selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(ReusableContainerFactory.container).should(never()).stop();
+    }
+
+    @Test
+    void testReusableContainerStoppedIfNotSupportedByEnvironment(DockerClientFactory dockerClientFactory) {
+        given(dockerClientFactory.client()).willReturn(Mockito.mock(DockerClient.class, RETURNS_DEEP_STUBS));
+        given(ReusableContainerFactory.container.isShouldBeReused()).willReturn(true);
+
+        EngineExecutionResults results = executeTests(REUSE, selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(ReusableContainerFactory.container).should(times(1)).stop();
+    }
+
+    @Test
+    void testReuseDisabledByDefault() {
+        EngineExecutionResults results = executeTests(selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(ReusableContainerFactory.container).should(never()).withReuse(true);
+        then(ReusableContainerFactory.container).should(times(1)).stop();
+        assertThat(ReusableContainerFactory.reusableCreations).hasValue(0);
+    }
+
+    @Test
+    void testStaleContainersRemoved(DockerClientFactory dockerClientFactory) {
+        DockerClient client = Mockito.mock(DockerClient.class, RETURNS_DEEP_STUBS);
+        given(dockerClientFactory.client()).willReturn(client);
+        List<Container> containers = List.of(
+            container("stale", Instant.now().minus(Duration.ofHours(2))),
+            container("fresh", Instant.now())
+        );
+        given(client.listContainersCmd().withShowAll(true).withLabelFilter(anyCollection()).exec()).willReturn(containers);
+
+        EngineExecutionResults results = executeTests(
+            Map.of(TestContainersConfiguration.REUSE_ENABLED, "true", TestContainersConfiguration.REUSE_TTL, "PT1H"),
+            selectClass(FirstTestCase.class), selectClass(SecondTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test("test"), finishedSuccessfully()));
+
+        then(client).should(times(1)).removeContainerCmd("stale");
+        then(client).should(never()).removeContainerCmd("fresh");
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void testFailedToRemoveStaleContainers(DockerClientFactory dockerClientFactory, CapturedOutput output) {
+        DockerClient client = Mockito.mock(DockerClient.class, RETURNS_DEEP_STUBS);
+        given(dockerClientFactory.client()).willReturn(client);
+        List<Container> containers = List.of(container("stale", Instant.EPOCH));
+        given(client.listContainersCmd().withShowAll(true).withLabelFilter(anyCollection()).exec()).willReturn(containers);
+        given(client.removeContainerCmd(anyString())).willThrow(new RuntimeException("Some error"));
+
+        EngineExecutionResults results = executeTests(REUSE, selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(output)
+            .contains("WARN  com.kappadrive.testcontainers.junit5.ReusableContainerReaper - Failed to remove stale reusable containers");
+    }
+
+    @Test
+    void testRecentlyUsedContainersNotRemoved(DockerClientFactory dockerClientFactory) throws IOException {
+        DockerClient client = Mockito.mock(DockerClient.class, RETURNS_DEEP_STUBS);
+        given(dockerClientFactory.client()).willReturn(client);
+        String usedFingerprint = UUID.randomUUID().toString();
+        String unusedFingerprint = UUID.randomUUID().toString();
+        Container used = container("used", Instant.now().minus(Duration.ofHours(2)));
+        given(used.getLabels()).willReturn(Map.of(ContainerFingerprint.FINGERPRINT_LABEL, usedFingerprint));
+        Container unused = container("unused", Instant.now().minus(Duration.ofHours(2)));
+        given(unused.getLabels()).willReturn(Map.of(ContainerFingerprint.FINGERPRINT_LABEL, unusedFingerprint));
+        String recreatedFingerprint = UUID.randomUUID().toString();
+        Container recreated = container("recreated", Instant.now().minus(Duration.ofMinutes(30)));
+        given(recreated.getLabels()).willReturn(Map.of(ContainerFingerprint.FINGERPRINT_LABEL, recreatedFingerprint));
+        given(client.listContainersCmd().withShowAll(true).withLabelFilter(anyCollection()).exec())
+            .willReturn(List.of(used, unused, recreated));
+        // container is used right now by another test run
+        ReusableContainerReaper.markUsed(ReusableContainerReaper.USAGE_DIRECTORY, usedFingerprint);
+        // container was recreated after its last use
+        ReusableContainerReaper.markUsed(ReusableContainerReaper.USAGE_DIRECTORY, recreatedFingerprint);
+        Files.setLastModifiedTime(ReusableContainerReaper.USAGE_DIRECTORY.resolve(recreatedFingerprint),
+            FileTime.from(Instant.now().minus(Duration.ofHours(3))));
+
+        EngineExecutionResults results = executeTests(
+            Map.of(TestContainersConfiguration.REUSE_ENABLED, "true", TestContainersConfiguration.REUSE_TTL, "PT1H"),
+            selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(client).should(never()).removeContainerCmd("used");
+        then(client).should(times(1)).removeContainerCmd("unused");
+        then(client).should(never()).removeContainerCmd("recreated");
+    }
+
+    @Test
+    void testContainersUsedByRunningTestRunsNotRemoved(DockerClientFactory dockerClientFactory, @TempDir Path directory) throws Exception {
+        DockerClient client = Mockito.mock(DockerClient.class, RETURNS_DEEP_STUBS);
+        given(dockerClientFactory.client()).willReturn(client);
+        Instant longAgo = Instant.now().minus(Duration.ofHours(3));
+        Container usedByThisRun = container("this", longAgo, "this-fingerprint");
+        Container usedByAnotherRun = container("another", longAgo, "another-fingerprint");
+        Container notUsed = container("unused", longAgo, "unused-fingerprint");
+        given(client.listContainersCmd().withShowAll(true).withLabelFilter(anyCollection()).exec())
+            .willReturn(List.of(usedByThisRun, usedByAnotherRun, notUsed));
+        // run is longer than TTL, so usage files are not touched since container was created
+        ReusableContainerReaper.markUsed(directory, "this-fingerprint");
+        Files.createFile(directory.resolve("unused-fingerprint"));
+        Files.setLastModifiedTime(directory.resolve("this-fingerprint"), FileTime.from(longAgo));
+        Files.setLastModifiedTime(directory.resolve("unused-fingerprint"), FileTime.from(longAgo));
+
+        try (FileLockProcess anotherRun = FileLockProcess.lock(directory.resolve("another-fingerprint"), 0, true)) {
+            Files.setLastModifiedTime(directory.resolve("another-fingerprint"), FileTime.from(longAgo));
+            ReusableContainerReaper.reap(Duration.ofHours(1), directory);
+        }
+
+        then(client).should(never()).removeContainerCmd("this");
+        then(client).should(never()).removeContainerCmd("another");
+        then(client).should(times(1)).removeContainerCmd("unused");
+    }
+
+    @Test
+    void testUsageMarkedWhenLeftRunning(TestcontainersConfiguration configuration) throws IOException {
+        String fingerprint = UUID.randomUUID().toString();
+        Path usage = ReusableContainerReaper.USAGE_DIRECTORY.resolve(fingerprint);
+        ReusableContainerReaper.markUsed(ReusableContainerReaper.USAGE_DIRECTORY, fingerprint);
+        Files.setLastModifiedTime(usage, FileTime.from(Instant.now().minus(Duration.ofHours(3))));
+        given(configuration.environmentSupportsReuse()).willReturn(true);
+        GenericContainer<?> container = ReusableContainerFactory.container;
+        given(container.isShouldBeReused()).willReturn(true);
+        given(container.getLabels()).willReturn(Map.of(ContainerFingerprint.FINGERPRINT_LABEL, fingerprint));
+
+        TestContainers.stopSafe("reusable", container);
+
+        then(container).should(never()).stop();
+        assertThat(Files.getLastModifiedTime(usage).toInstant()).isAfter(Instant.now().minus(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void testUsageMarkedOnStart() throws IOException {
+        Path usage = ReusableContainerReaper.USAGE_DIRECTORY.resolve(fingerprint(FirstTestCase.class));
+        Instant started = Instant.now().minusSeconds(1);
+
+        EngineExecutionResults results = executeTests(REUSE, selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(Files.getLastModifiedTime(usage).toInstant()).isAfter(started);
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void testFailedToMarkUsage(@TempDir Path directory, CapturedOutput output) throws IOException {
+        Path file = Files.createFile(directory.resolve("file"));
+
+        ReusableContainerReaper.markUsed(file, "fingerprint");
+
+        assertThat(output).contains("Failed to mark reusable container fingerprint as used");
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void testFailedToLockUsage(@TempDir Path directory, CapturedOutput output) throws IOException {
+        // usage file is already locked in this JVM by another channel
+        try (FileChannel channel = FileChannel.open(directory.resolve("fingerprint"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = channel.lock()) {
+            ReusableContainerReaper.markUsed(directory, "fingerprint");
+
+            assertThat(lock.isValid()).isTrue();
+        }
+
+        assertThat(output).contains("Failed to mark reusable container fingerprint as used");
+    }
+
+    @Test
+    void testDefaultReusableContainer() {
+        TestContainerFactory factory = Mockito.mock(TestContainerFactory.class, Mockito.CALLS_REAL_METHODS);
+        GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+        Mockito.doReturn(container).when(factory).createContainer();
+
+        assertThat(factory.createReusableContainer()).isSameAs(container);
+    }
+
+    private static Container container(String id, Instant created) {
+        Container container = Mockito.mock(Container.class);
+        given(container.getId()).willReturn(id);
+        given(container.getCreated()).willReturn(created.getEpochSecond());
+        return container;
+    }
+
+    private static Container container(String id, Instant created, String fingerprint) {
+        Container container = container(id, created);
+        given(container.getLabels()).willReturn(Map.of(ContainerFingerprint.FINGERPRINT_LABEL, fingerprint));
+        return container;
+    }
+
+    private static String fingerprint(Class<?> testClass) {
+        MergedAnnotation<WithReusableContainer> annotation = MergedAnnotations.from(testClass).get(WithReusableContainer.class);
+        return ContainerFingerprint.of(ReusableContainerFactory.class, annotation);
+    }
+
+    @WithReusableContainer(value = "reusable", ports = {1, 2})
+    static class FirstTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @WithReusableContainer(ports = {1, 2}, value = "reusable")
+    static class SecondTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @WithReusableContainer(value = "reusable", ports = {2, 1})
+    static class AnotherConfigurationTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @WithTestContainerSupport(ReusableContainerFactory.class)
+    private @interface WithReusableContainer {
+        String value();
+
+        int[] ports();
+
+        Retention retention() default @Retention(RetentionPolicy.RUNTIME);
+    }
+
+    private static class ReusableContainerFactory implements TestContainerFactory {
+
+        private static final AtomicInteger reusableCreations = new AtomicInteger();
+        private static GenericContainer<?> container;
+
+        @Override
+        public String getContainerName() {
+            return "reusable";
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            return container;
+        }
+
+        @Override
+        public GenericContainer<?> createReusableContainer() {
+            reusableCreations.incrementAndGet();
+            return container;
+        }
+    }
+}
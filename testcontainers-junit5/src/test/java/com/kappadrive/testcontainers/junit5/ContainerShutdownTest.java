@@ -0,0 +1,180 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import com.github.dockerjava.api.DockerClient;
+import com.kappadrive.testcontainers.junit5.extension.WithMockedDockerClientFactory;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+@WithMockedDockerClientFactory
+@ExtendWith(OutputCaptureExtension.class)
+class ContainerShutdownTest {
+
+    private final DockerClient client = Mockito.mock(DockerClient.class, RETURNS_DEEP_STUBS);
+
+    @BeforeEach
+    void initDockerClient(DockerClientFactory dockerClientFactory) {
+        given(dockerClientFactory.client()).willReturn(client);
+        SlowStopContainerFactory.container = Mockito.mock(GenericContainer.class);
+    }
+
+    @Test
+    void testStoppedAtSameTime() {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        GenericContainer<?> first = Mockito.mock(GenericContainer.class);
+        GenericContainer<?> second = Mockito.mock(GenericContainer.class);
+        willAnswer(invocation -> barrier.await(10, TimeUnit.SECONDS)).given(first).stop();
+        willAnswer(invocation -> barrier.await(10, TimeUnit.SECONDS)).given(second).stop();
+
+        ContainerShutdown shutdown = new ContainerShutdown(Duration.ofSeconds(10));
+        shutdown.add("first", first);
+        shutdown.add("second", second);
+        shutdown.stopAll();
+
+        then(first).should(times(1)).stop();
+        then(second).should(times(1)).stop();
+        then(client).should(never()).removeContainerCmd(anyString());
+    }
+
+    @Test
+    void testRemovedForciblyOnTimeout(CapturedOutput output) {
+        GenericContainer<?> container = slowContainer("id");
+
+        ContainerShutdown shutdown = new ContainerShutdown(Duration.ofMillis(100));
+        shutdown.add("slow", container);
+        shutdown.stopAll();
+
+        then(client).should(times(1)).removeContainerCmd("id");
+        assertThat(output).contains("WARN  com.kappadrive.testcontainers.junit5.ContainerShutdown - Container slow was not stopped in PT0.1S, "
+            + "removing it forcibly");
+    }
+
+    @Test
+    void testNotCreatedContainerNotRemoved() {
+        GenericContainer<?> container = slowContainer(null);
+
+        ContainerShutdown shutdown = new ContainerShutdown(Duration.ofMillis(100));
+        shutdown.add("slow", container);
+        shutdown.stopAll();
+
+        then(client).should(never()).removeContainerCmd(anyString());
+    }
+
+    @Test
+    void testFailedToRemove(CapturedOutput output) {
+        GenericContainer<?> container = slowContainer("id");
+        given(client.removeContainerCmd("id")).willThrow(new RuntimeException("Some error"));
+
+        ContainerShutdown shutdown = new ContainerShutdown(Duration.ofMillis(100));
+        shutdown.add("slow", container);
+        shutdown.stopAll();
+
+        assertThat(output)
+            .contains("ERROR com.kappadrive.testcontainers.junit5.ContainerShutdown - Failed to remove container slow")
+            .contains("java.lang.RuntimeException: Some error");
+    }
+
+    @Test
+    void testRemovedAtSameTimeWithTimeout(CapturedOutput output) {
+        willAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return null;
+        }).given(client).removeContainerCmd("first");
+
+        ContainerShutdown shutdown = new ContainerShutdown(Duration.ofMillis(100));
+        shutdown.add("first", slowContainer("first"));
+        shutdown.add("second", slowContainer("second"));
+        long start = System.nanoTime();
+        shutdown.stopAll();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        then(client).should(times(1)).removeContainerCmd("first");
+        then(client).should(times(1)).removeContainerCmd("second");
+        assertThat(output)
+            .contains("ERROR com.kappadrive.testcontainers.junit5.ContainerShutdown - Container first was not removed in PT0.1S")
+            .doesNotContain("Container second was not removed");
+    }
+
+    @Test
+    void testShutdownTimeoutConfigured(CapturedOutput output) {
+        SlowStopContainerFactory.container = slowContainer("id");
+
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.SHUTDOWN_TIMEOUT, "PT0.1S"),
+            selectClass(SlowStopTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(client).should(times(1)).removeContainerCmd("id");
+        assertThat(output).contains("Container slow was not stopped in PT0.1S, removing it forcibly");
+    }
+
+    private static GenericContainer<?> slowContainer(String containerId) {
+        GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+        given(container.getContainerId()).willReturn(containerId);
+        willAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return null;
+        }).given(container).stop();
+        return container;
+    }
+
+    @SlowStopContainer
+    static class SlowStopTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @WithTestContainerSupport(SlowStopContainerFactory.class)
+    private @interface SlowStopContainer {
+    }
+
+    private static class SlowStopContainerFactory implements TestContainerFactory {
+
+        private static GenericContainer<?> container;
+
+        @Override
+        public String getContainerName() {
+            return "slow";
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            return container;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.container;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.cause;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.testcontainers.containers.GenericContainer;
+
+class ContainerSnapshotTest {
+
+    private static final List<String> EVENTS = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void clear() {
+        EVENTS.clear();
+        SnapshotContainerFactory.snapshotFailure = null;
+        SnapshotContainerFactory.restoreFailure = null;
+    }
+
+    @Test
+    void testRestoredBeforeEachTest() {
+        EngineExecutionResults results = executeTests(selectClass(RestoreTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        // the first test method gets container right after snapshot, so it is not restored
+        assertThat(EVENTS).containsExactly("start:db", "snapshot:db", "test", "restore:db", "test", "stop:db");
+    }
+
+    @SnapshotContainer("db")
+    static class RestoreTestCase {
+
+        @Test
+        void test() {
+            EVENTS.add("test");
+        }
+
+        @Test
+        void anotherTest() {
+            EVENTS.add("test");
+        }
+
+    }
+
+    @Test
+    void testEnclosingClassContainersRestored() {
+        EngineExecutionResults results = executeTests(selectClass(EnclosingTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).containsExactly("start:db", "snapshot:db", "restore:db", "stop:db");
+    }
+
+    @SnapshotContainer("db")
+    static class EnclosingTestCase {
+
+        @Test
+        @SnapshotContainer("db")
+        void test() {
+            // skipped
+        }
+
+        @Nested
+        class NestedTestCase {
+
+            @Test
+            void test() {
+                // skipped
+            }
+
+        }
+
+    }
+
+    @Test
+    void testContainerWithoutSnapshotNotRestored() {
+        EngineExecutionResults results = executeTests(selectClass(WithoutSnapshotTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(EVENTS).containsExactly("start:static", "stop:static");
+    }
+
+    @SnapshotContainer(value = "static", snapshot = false)
+    static class WithoutSnapshotTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testSnapshotTakenInParallel() {
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.PARALLEL_STARTUP_ENABLED, "true"),
+            selectClass(ParallelTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).contains("snapshot:db", "snapshot:cache", "restore:db", "restore:cache");
+    }
+
+    @SnapshotContainer("db")
+    @SnapshotContainer("cache")
+    static class ParallelTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+        @Test
+        void anotherTest() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testLazyContainerNotRestoredBeforeStart() {
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.LAZY_STARTUP_ENABLED, "true"),
+            selectClass(LazyTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).containsExactly("start:db", "snapshot:db", "restore:db", "stop:db");
+    }
+
+    @SnapshotContainer("db")
+    static class LazyTestCase {
+
+        @Container("db")
+        private GenericContainer<?> db;
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+        @Test
+        void anotherTest() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testSnapshotFailure() {
+        SnapshotContainerFactory.snapshotFailure = new IllegalStateException("Failed to dump");
+
+        EngineExecutionResults results = executeTests(selectClass(RestoreTestCase.class));
+
+        results.containerEvents().assertThatEvents()
+            .haveExactly(1, event(container(RestoreTestCase.class),
+                finishedWithFailure(message("Failed to take snapshot of container db"), cause(message("Failed to dump")))));
+
+        assertThat(EVENTS).containsExactly("start:db", "stop:db");
+    }
+
+    @Test
+    void testRestoreFailure() {
+        SnapshotContainerFactory.restoreFailure = new IllegalStateException("Failed to load");
+
+        EngineExecutionResults results = executeTests(selectClass(RestoreTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test(), finishedSuccessfully()))
+            .haveExactly(1, event(test(),
+                finishedWithFailure(message("Failed to restore container db"), cause(message("Failed to load")))));
+    }
+
+    @Test
+    void testNoSnapshotByDefault() throws Exception {
+        TestContainerFactory factory = Mockito.mock(TestContainerFactory.class, Mockito.CALLS_REAL_METHODS);
+
+        assertThat(factory.takeSnapshot(Mockito.mock(GenericContainer.class))).isNull();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Repeatable(SnapshotContainers.class)
+    @WithTestContainerSupport(SnapshotContainerFactory.class)
+    private @interface SnapshotContainer {
+        String value();
+
+        boolean snapshot() default true;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    private @interface SnapshotContainers {
+        SnapshotContainer[] value();
+    }
+
+    private static class SnapshotContainerFactory implements TestContainerFactory, AnnotationConsumer<SnapshotContainer> {
+
+        private static RuntimeException snapshotFailure;
+        private static RuntimeException restoreFailure;
+
+        private SnapshotContainer snapshotContainer;
+
+        @Override
+        public void accept(SnapshotContainer snapshotContainer) {
+            this.snapshotContainer = snapshotContainer;
+        }
+
+        @Override
+        public String getContainerName() {
+            return snapshotContainer.value();
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+            willAnswer(invocation -> EVENTS.add("start:" + getContainerName())).given(container).start();
+            willAnswer(invocation -> EVENTS.add("stop:" + getContainerName())).given(container).stop();
+            return container;
+        }
+
+        @Override
+        public ContainerSnapshot takeSnapshot(GenericContainer<?> container) {
+            if (!snapshotContainer.snapshot()) {
+                return null;
+            }
+            if (snapshotFailure != null) {
+                throw snapshotFailure;
+            }
+            EVENTS.add("snapshot:" + getContainerName());
+            RuntimeException failure = restoreFailure;
+            return () -> {
+                if (failure != null) {
+                    throw failure;
+                }
+                EVENTS.add("restore:" + getContainerName());
+            };
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.WaitStrategy;
+import org.testcontainers.utility.DockerImageName;
+
+class ContainerStartupMetricsTest {
+
+    @BeforeEach
+    void initNewContainers() {
+        TimedContainerFactory.container = Mockito.mock(GenericContainer.class);
+    }
+
+    @Test
+    void testPhasesMeasured() {
+        WaitStrategy waitStrategy = Mockito.mock(WaitStrategy.class);
+        willAnswer(invocation -> sleep(50)).given(waitStrategy).waitUntilReady(Mockito.any());
+        SleepingContainer container = new SleepingContainer(waitStrategy);
+
+        ContainerStartupMetrics metrics = ContainerStartupTimer.start("timed", container, ContainerStartupPermits.UNLIMITED);
+
+        assertThat(metrics.getContainerName()).isEqualTo("timed");
+        assertThat(metrics.getImageResolveDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(30));
+        assertThat(metrics.getStartDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(10));
+        assertThat(metrics.getReadinessDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        assertThat(metrics.getTotalDuration()).isEqualTo(
+            metrics.getImageResolveDuration().plus(metrics.getStartDuration()).plus(metrics.getReadinessDuration()));
+        then(waitStrategy).should(times(1)).withStartupTimeout(Duration.ofSeconds(5));
+        assertThat(container.getWaitStrategy()).isSameAs(waitStrategy);
+    }
+
+    @Test
+    void testWaitStrategyRestoredAfterFailure() {
+        WaitStrategy waitStrategy = Mockito.mock(WaitStrategy.class);
+        willThrow(new IllegalStateException("Not ready")).given(waitStrategy).waitUntilReady(Mockito.any());
+        SleepingContainer container = new SleepingContainer(waitStrategy);
+
+        assertThatThrownBy(() -> ContainerStartupTimer.start("timed", container, ContainerStartupPermits.UNLIMITED))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Not ready");
+        assertThat(container.getWaitStrategy()).isSameAs(waitStrategy);
+    }
+
+    @Test
+    void testNoWaitStrategy() {
+        ContainerStartupMetrics metrics = ContainerStartupTimer.start("timed", TimedContainerFactory.container, ContainerStartupPermits.UNLIMITED);
+
+        assertThat(metrics.getReadinessDuration()).isZero();
+        then(TimedContainerFactory.container).should(times(1)).getDockerImageName();
+        then(TimedContainerFactory.container).should(times(1)).start();
+    }
+
+    @Test
+    void testReportEntriesPublished() {
+        EngineExecutionResults results = executeTests(selectClass(TimedTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        List<ReportEntry> entries = results.allEvents().reportingEntryPublished().stream()
+            .map(event -> event.getRequiredPayload(ReportEntry.class))
+            .collect(Collectors.toList());
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getKeyValuePairs())
+            .containsEntry("testcontainers.container", "timed")
+            .containsKeys("testcontainers.imageResolveMillis", "testcontainers.startMillis",
+                "testcontainers.readinessMillis", "testcontainers.totalMillis");
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void testSummaryLogged(CapturedOutput output) {
+        EngineExecutionResults results = executeTests(selectClass(TimedTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(output)
+            .contains("Container startup summary (image / start / readiness / total, ms):")
+            .containsPattern("  timed: \\d+ / \\d+ / \\d+ / \\d+");
+    }
+
+    @Test
+    void testNoReportEntriesForFailedContainer() {
+        willThrow(new RuntimeException("Some error")).given(TimedContainerFactory.container).start();
+
+        EngineExecutionResults results = executeTests(selectClass(TimedTestCase.class));
+
+        assertThat(results.allEvents().reportingEntryPublished().count()).isZero();
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void testListenerFailureIgnored(CapturedOutput output) {
+        ContainerStartupListener failing = (context, metrics) -> {
+            throw new IllegalStateException("Some error");
+        };
+        ContainerStartupListener another = Mockito.mock(ContainerStartupListener.class);
+        ExtensionContext context = Mockito.mock(ExtensionContext.class);
+        ContainerStartupMetrics metrics = new ContainerStartupMetrics("timed", Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+        new ContainerStartupListeners(List.of(failing, another)).containersStarted(context, List.of(metrics));
+
+        then(another).should(times(1)).containerStarted(context, metrics);
+        assertThat(output).contains("WARN  com.kappadrive.testcontainers.junit5.ContainerStartupListeners - Startup listener");
+    }
+
+    private static Object sleep(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return null;
+    }
+
+    private static class SleepingContainer extends GenericContainer<SleepingContainer> {
+
+        SleepingContainer(WaitStrategy waitStrategy) {
+            super(DockerImageName.parse("dummy"));
+            setWaitStrategy(waitStrategy);
+        }
+
+        @Override
+        public WaitStrategy getWaitStrategy() {
+            return super.getWaitStrategy();
+        }
+
+        @Override
+        public String getDockerImageName() {
+            try {
+                sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "dummy";
+        }
+
+        @Override
+        public void start() {
+            try {
+                sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            getWaitStrategy().withStartupTimeout(Duration.ofSeconds(5)).waitUntilReady(this);
+        }
+    }
+
+    @TimedContainer
+    static class TimedTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @WithTestContainerSupport(TimedContainerFactory.class)
+    private @interface TimedContainer {
+    }
+
+    private static class TimedContainerFactory implements TestContainerFactory {
+
+        private static GenericContainer<?> container;
+
+        @Override
+        public String getContainerName() {
+            return "timed";
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            return container;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.testcontainers.containers.GenericContainer;
+
+@ExtendWith(OutputCaptureExtension.class)
+class ContainerStartupPermitsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testUnlimited() {
+        ContainerStartupPermits.UNLIMITED.acquire().close();
+
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    void testPermitsLimitStartup() throws Exception {
+        ContainerStartupPermits permits = new ContainerStartupPermits(1, directory);
+        ContainerStartupPermits.Permit permit = permits.acquire();
+
+        CompletableFuture<ContainerStartupPermits.Permit> waiting = CompletableFuture.supplyAsync(permits::acquire);
+        Thread.sleep(50);
+        assertThat(waiting).isNotDone();
+
+        permit.close();
+        waiting.get(10, TimeUnit.SECONDS).close();
+        assertThat(directory.resolve("slot-0.lock")).exists();
+    }
+
+    @Test
+    void testAllSlotsUsed() {
+        ContainerStartupPermits permits = new ContainerStartupPermits(2, directory.resolve("permits"));
+
+        ContainerStartupPermits.Permit first = permits.acquire();
+        ContainerStartupPermits.Permit second = permits.acquire();
+
+        assertThat(directory.resolve("permits")).isDirectoryContaining("glob:**/slot-0.lock").isDirectoryContaining("glob:**/slot-1.lock");
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void testSlotLockedByAnotherJvm() throws Exception {
+        ContainerStartupPermits permits = new ContainerStartupPermits(1, directory);
+        CompletableFuture<ContainerStartupPermits.Permit> waiting;
+        try (FileLockProcess process = FileLockProcess.lock(directory.resolve("slot-0.lock"), 0, false)) {
+            waiting = CompletableFuture.supplyAsync(permits::acquire);
+            Thread.sleep(50);
+            assertThat(waiting).isNotDone();
+        }
+
+        waiting.get(10, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void testDirectoryNotCreated() throws IOException {
+        Path file = Files.createFile(directory.resolve("file"));
+        ContainerStartupPermits permits = new ContainerStartupPermits(1, file);
+
+        assertThatThrownBy(permits::acquire)
+            .isInstanceOf(JUnitException.class)
+            .hasMessage("Failed to acquire container startup permit in " + file);
+    }
+
+    @Test
+    void testSlotNotOpened() throws IOException {
+        Files.createDirectories(directory.resolve("slot-0.lock"));
+        ContainerStartupPermits permits = new ContainerStartupPermits(1, directory);
+
+        assertThatThrownBy(permits::acquire)
+            .isInstanceOf(JUnitException.class)
+            .hasMessage("Failed to acquire container startup permit in " + directory);
+        // failed slot is not considered locked by this JVM
+        Files.delete(directory.resolve("slot-0.lock"));
+        permits.acquire().close();
+    }
+
+    @Test
+    void testInterrupted() {
+        ContainerStartupPermits permits = new ContainerStartupPermits(1, directory);
+        ContainerStartupPermits.Permit permit = permits.acquire();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(permits::acquire)
+                .isInstanceOf(JUnitException.class)
+                .hasMessage("Interrupted while waiting for container startup permit");
+        } finally {
+            assertThat(Thread.interrupted()).isTrue();
+            permit.close();
+        }
+    }
+
+    @Test
+    void testReleaseFailureLogged(CapturedOutput output) {
+        FileChannel channel = Mockito.mock(FileChannel.class, withSettings().useConstructor().defaultAnswer(invocation -> {
+            if ("implCloseChannel".equals(invocation.getMethod().getName())) {
+                throw new IOException("Disk failure");
+            }
+            return Mockito.RETURNS_DEFAULTS.answer(invocation);
+        }));
+
+        ContainerStartupPermits.release(directory.resolve("slot-0.lock"), channel);
+
+        assertThat(output).contains("Failed to release container startup permit " + directory.resolve("slot-0.lock"));
+    }
+
+    @Test
+    void testQueueDurationMeasured(CapturedOutput output) throws Exception {
+        ContainerStartupPermits.Permit permit = new ContainerStartupPermits(1, directory).acquire();
+        CompletableFuture.runAsync(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                permit.close();
+            }
+        });
+
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.STARTUP_PERMITS, "1",
+            TestContainersConfiguration.STARTUP_PERMITS_DIR, directory.toString()), selectClass(PermitTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+        assertThat(output).containsPattern("  limited: \\d+ / \\d+ / \\d+ / \\d+ \\(queued \\d+\\)");
+    }
+
+    @PermitContainer
+    static class PermitTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @WithTestContainerSupport(PermitContainerFactory.class)
+    private @interface PermitContainer {
+    }
+
+    private static class PermitContainerFactory implements TestContainerFactory {
+
+        @Override
+        public String getContainerName() {
+            return "limited";
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            return Mockito.mock(GenericContainer.class);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.container;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.testcontainers.containers.GenericContainer;
+
+@ExtendWith(OutputCaptureExtension.class)
+class ContainerStartupReportTest {
+
+    private static final Map<String, String> FAIL_OVER_BUDGET = Map.of(TestContainersConfiguration.STARTUP_BUDGET, "PT0S",
+        TestContainersConfiguration.STARTUP_BUDGET_ACTION, "fail");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReportWritten() throws IOException {
+        Path reportFile = tempDir.resolve("build/containers.json");
+        Path processReportFile = tempDir.resolve("build/containers-" + ProcessHandle.current().pid() + ".json");
+
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.STARTUP_REPORT_FILE, reportFile.toString(),
+            TestContainersConfiguration.STARTUP_BUDGET_CONTAINER_PREFIX + "db", "PT1H"),
+            selectClass(ReportTestCase.class), selectClass(AnotherReportTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(3, event(test(), finishedSuccessfully()));
+
+        assertThat(reportFile).doesNotExist();
+        assertThat(processReportFile).content()
+            .containsPattern("\"container\": \"db\",\n      \"fingerprint\": \"[0-9a-f]{32}\",\n      \"starts\": 1,")
+            .contains("\"budgetMillis\": 3600000,\n      \"overBudget\": 0,")
+            .contains("\"classes\": [\"" + AnotherReportTestCase.class.getName() + "\", \"" + ReportTestCase.class.getName() + "\"]")
+            .containsPattern("\"container\": \"cache\",\n      \"fingerprint\": \"[0-9a-f]{32}\",\n      \"starts\": 1,")
+            .contains("\"budgetMillis\": null,")
+            .containsPattern("\"totalMillis\": \\d+,\n      \"maxMillis\": \\d+,\n      \"imageResolveMillis\": \\d+,\n"
+                + "      \"startMillis\": \\d+,\n      \"readinessMillis\": \\d+,");
+    }
+
+    @ReportContainer("db")
+    static class ReportTestCase {
+
+        @Test
+        @ReportContainer("cache")
+        void test() {
+            // skipped
+        }
+
+        @Test
+        void anotherTest() {
+            // skipped
+        }
+
+    }
+
+    @ReportContainer("db")
+    static class AnotherReportTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testOverBudgetWarned(CapturedOutput output) {
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.STARTUP_BUDGET, "PT0S"),
+            selectClass(AnotherReportTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(output).containsPattern("Container db started in \\d+ ms exceeding budget of 0 ms "
+            + "\\(image \\d+ ms, start \\d+ ms, readiness \\d+ ms\\)");
+    }
+
+    @Test
+    void testOverBudgetFailed() {
+        EngineExecutionResults results = executeTests(FAIL_OVER_BUDGET, selectClass(AnotherReportTestCase.class));
+
+        results.containerEvents().assertThatEvents()
+            .haveExactly(1, event(container(AnotherReportTestCase.class),
+                finishedWithFailure(instanceOf(JUnitException.class), message(m -> m.startsWith("Container db started in ")))));
+    }
+
+    @Test
+    void testPooledOverBudgetFailed() {
+        Map<String, String> parameters = Map.of(TestContainersConfiguration.STARTUP_BUDGET, "PT0S",
+            TestContainersConfiguration.STARTUP_BUDGET_ACTION, "FAIL", TestContainersConfiguration.POOL_SIZE, "1");
+
+        EngineExecutionResults results = executeTests(parameters, selectClass(PooledTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedWithFailure(message(m -> m.startsWith("Container pooled started in ")))));
+    }
+
+    static class PooledTestCase {
+
+        @Test
+        @ReportContainer("pooled")
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testLazyOverBudgetNotFailed(CapturedOutput output) {
+        Map<String, String> parameters = Map.of(TestContainersConfiguration.STARTUP_BUDGET, "PT0S",
+            TestContainersConfiguration.STARTUP_BUDGET_ACTION, "fail", TestContainersConfiguration.LAZY_STARTUP_ENABLED, "true");
+
+        EngineExecutionResults results = executeTests(parameters, selectClass(LazyTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+        assertThat(output).contains("Container lazy started in ");
+    }
+
+    @ReportContainer("lazy")
+    static class LazyTestCase {
+
+        @Test
+        void test(@Container("lazy") GenericContainer<?> lazy) {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testEmptyReport() {
+        ContainerStartupReport report = new ContainerStartupReport(name -> Optional.empty(), false, null);
+
+        assertThat(report.toJson()).isEqualTo("{\n  \"containers\": []\n}\n");
+    }
+
+    @Test
+    void testSameNameReportedByConfiguration() {
+        ContainerStartupReport report = new ContainerStartupReport(name -> Optional.empty(), false, null);
+        report.containerUsed(definition("db", "postgres"), ReportTestCase.class);
+        report.containerUsed(definition("db", "mysql"), AnotherReportTestCase.class);
+
+        report.containersStarted(Map.of("postgres", metrics("db", 20), "mysql", metrics("db", 10)));
+
+        assertThat(report.toJson()).containsSubsequence(
+            "\"container\": \"db\"", "\"fingerprint\": \"postgres\"", "\"starts\": 1", "\"totalMillis\": 20",
+            "\"classes\": [\"" + ReportTestCase.class.getName() + "\"]",
+            "\"container\": \"db\"", "\"fingerprint\": \"mysql\"", "\"starts\": 1", "\"totalMillis\": 10",
+            "\"classes\": [\"" + AnotherReportTestCase.class.getName() + "\"]");
+    }
+
+    @Test
+    void testProcessReportFile() {
+        assertThat(ContainerStartupReport.getProcessReportFile(Path.of("build", "startup.json"), 42))
+            .isEqualTo(Path.of("build", "startup-42.json"));
+        assertThat(ContainerStartupReport.getProcessReportFile(Path.of("build", "startup.report.json"), 42))
+            .isEqualTo(Path.of("build", "startup.report-42.json"));
+        assertThat(ContainerStartupReport.getProcessReportFile(Path.of("startup"), 42)).isEqualTo(Path.of("startup-42"));
+        assertThat(ContainerStartupReport.getProcessReportFile(Path.of(".report"), 42)).isEqualTo(Path.of(".report-42"));
+    }
+
+    @Test
+    void testNamesEscaped() {
+        ContainerStartupReport report = new ContainerStartupReport(name -> Optional.empty(), false, null);
+        report.containerUsed(definition("\"db\"\\\t", "db"), ReportTestCase.class);
+
+        assertThat(report.toJson()).contains("\"container\": \"\\\"db\\\"\\\\\\" + "u0009\",");
+    }
+
+    @Test
+    void testSlowestContainerFirst() {
+        ContainerStartupReport report = new ContainerStartupReport(name -> Optional.of(Duration.ofSeconds(1)), true, null);
+
+        report.containersStarted(Map.of("slow", metrics("slow", 500)));
+        List<ContainerStartupMetrics> overBudget = report.containersStarted(Map.of("fast", metrics("fast", 10), "slow", metrics("slow", 1500)));
+
+        assertThat(overBudget).extracting(ContainerStartupMetrics::getContainerName).containsExactly("slow");
+        assertThat(report.toJson())
+            .containsSubsequence("\"container\": \"slow\"", "\"starts\": 2", "\"totalMillis\": 2000", "\"maxMillis\": 1500",
+                "\"overBudget\": 1", "\"container\": \"fast\"");
+        report.failIfOverBudget(List.of());
+        assertThatThrownBy(() -> report.failIfOverBudget(overBudget))
+            .isInstanceOf(JUnitException.class)
+            .hasMessage("Container slow started in 1500 ms exceeding budget of 1000 ms (image 0 ms, start 1500 ms, readiness 0 ms)");
+    }
+
+    @Test
+    void testNotWrittenWithoutFile() {
+        ContainerStartupReport report = new ContainerStartupReport(name -> Optional.empty(), false, null);
+
+        report.close();
+
+        assertThat(tempDir).isEmptyDirectory();
+    }
+
+    @Test
+    void testWriteFailureIgnored(CapturedOutput output) throws IOException {
+        Path reportFile = Files.createDirectories(tempDir.resolve("report.json"));
+        ContainerStartupReport report = new ContainerStartupReport(name -> Optional.empty(), false, reportFile);
+
+        report.close();
+
+        assertThat(output).contains("Failed to write container startup report " + reportFile);
+    }
+
+    private static ContainerDefinition definition(String containerName, String fingerprint) {
+        TestContainerFactory factory = Mockito.mock(TestContainerFactory.class);
+        given(factory.getContainerName()).willReturn(containerName);
+        return new ContainerDefinition(factory, fingerprint);
+    }
+
+    private static ContainerStartupMetrics metrics(String containerName, long startMillis) {
+        return new ContainerStartupMetrics(containerName, Duration.ZERO, Duration.ofMillis(startMillis), Duration.ZERO);
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Repeatable(ReportContainers.class)
+    @WithTestContainerSupport(ReportContainerFactory.class)
+    private @interface ReportContainer {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    private @interface ReportContainers {
+        ReportContainer[] value();
+    }
+
+    private static class ReportContainerFactory implements TestContainerFactory, AnnotationConsumer<ReportContainer> {
+
+        private ReportContainer reportContainer;
+
+        @Override
+        public void accept(ReportContainer reportContainer) {
+            this.reportContainer = reportContainer;
+        }
+
+        @Override
+        public String getContainerName() {
+            return reportContainer.value();
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+            // startup must take some time to exceed zero budget
+            willAnswer(invocation -> {
+                Thread.sleep(5);
+                return null;
+            }).given(container).start();
+            return container;
+        }
+    }
+}
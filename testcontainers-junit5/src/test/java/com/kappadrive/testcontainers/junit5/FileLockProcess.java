@@ -0,0 +1,71 @@
+package com.kappadrive.testcontainers.junit5;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Another JVM holding lock of a single byte of file until it is closed.
+ * File locks are held on behalf of the whole JVM, so locks of other JVMs could not be simulated in the same JVM.
+ */
+final class FileLockProcess implements AutoCloseable {
+
+    private final Process process;
+
+    private FileLockProcess(Process process) {
+        this.process = process;
+    }
+
+    /**
+     * Starts another JVM and waits until it locks the file.
+     *
+     * @param file     - file to lock.
+     * @param position - position of locked byte.
+     * @param shared   - whether lock is shared.
+     * @return started process holding the lock.
+     * @throws IOException if process could not be started or failed to lock the file.
+     */
+    static FileLockProcess lock(Path file, long position, boolean shared) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), FileLockProcess.class.getName(),
+            file.toString(), String.valueOf(position), String.valueOf(shared))
+            .redirectErrorStream(true)
+            .start();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (!"locked".equals(line)) {
+            process.destroyForcibly();
+            throw new IOException("Failed to lock " + file + ": " + line);
+        }
+        return new FileLockProcess(process);
+    }
+
+    /**
+     * Closes input of another JVM, so it exits and the lock is released by OS.
+     */
+    @Override
+    public void close() throws Exception {
+        process.getOutputStream().close();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(args[0]), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock lock = channel.lock(Long.parseLong(args[1]), 1, Boolean.parseBoolean(args[2]))) {
+            System.out.println("locked");
+            System.out.flush();
+            while (System.in.read() >= 0) {
+                // waits until input is closed
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+import com.kappadrive.testcontainers.junit5.extension.WithMockedDockerClientFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+@WithMockedDockerClientFactory
+@ExtendWith(OutputCaptureExtension.class)
+class ImageWarmupTest {
+
+    @TempDir
+    Path classDir;
+
+    @Test
+    void testFindDefinitions() throws IOException {
+        copyClass(ClassTestCase.class);
+        copyClass(MethodTestCase.class);
+        Files.write(classDir.resolve("com/kappadrive/Missing.class"), new byte[0]);
+        Files.write(classDir.resolve("README.txt"), new byte[0]);
+
+        List<ContainerDefinition> definitions = ImageWarmup.findDefinitions(List.of(classDir, classDir.resolve("missing")),
+            getClass().getClassLoader());
+
+        assertThat(definitions).extracting(ContainerDefinition::getContainerName)
+            .containsExactlyInAnyOrder("db", "cache", "failed");
+    }
+
+    @Test
+    void testResolveImages(CapturedOutput output) throws IOException {
+        copyClass(ClassTestCase.class);
+        copyClass(MethodTestCase.class);
+
+        List<String> images = ImageWarmup.resolveImages(ImageWarmup.findDefinitions(List.of(classDir), getClass().getClassLoader()), 2);
+
+        assertThat(images).containsExactly("postgres:14", "redis:7");
+        assertThat(output).contains("Failed to resolve image of container failed");
+    }
+
+    @Test
+    void testMain(DockerClientFactory dockerClientFactory) throws IOException {
+        given(dockerClientFactory.isDockerAvailable()).willReturn(true);
+        copyClass(ClassTestCase.class);
+        Path output = classDir.resolve("build/images.txt");
+
+        System.setProperty(TestContainersConfiguration.PARALLEL_STARTUP_PARALLELISM, "2");
+        try {
+            ImageWarmup.main(new String[] {output.toString(), classDir.toString()});
+        } finally {
+            System.clearProperty(TestContainersConfiguration.PARALLEL_STARTUP_PARALLELISM);
+        }
+
+        assertThat(output).hasContent("postgres:14");
+    }
+
+    @Test
+    void testMainDefaultParallelism(DockerClientFactory dockerClientFactory) throws IOException {
+        given(dockerClientFactory.isDockerAvailable()).willReturn(true);
+        copyClass(MethodTestCase.class);
+        Path output = classDir.resolve("images.txt");
+
+        ImageWarmup.main(new String[] {output.toString(), classDir.toString()});
+
+        assertThat(output).hasContent("redis:7");
+    }
+
+    @Test
+    void testMainDockerNotAvailable(DockerClientFactory dockerClientFactory, CapturedOutput capturedOutput) throws IOException {
+        given(dockerClientFactory.isDockerAvailable()).willReturn(false);
+        copyClass(ClassTestCase.class);
+        Path output = classDir.resolve("images.txt");
+
+        ImageWarmup.main(new String[] {output.toString(), classDir.toString()});
+
+        assertThat(output).isEmptyFile();
+        assertThat(capturedOutput).contains("Docker is not available, images are not resolved");
+    }
+
+    @Test
+    void testMainWithoutArguments() {
+        assertThatThrownBy(() -> ImageWarmup.main(new String[0]))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Usage: ImageWarmup <output file> <test classes dir>...");
+    }
+
+    private void copyClass(Class<?> testClass) throws IOException {
+        String path = testClass.getName().replace('.', '/') + ".class";
+        Path target = classDir.resolve(path);
+        Files.createDirectories(target.getParent());
+        try (InputStream inputStream = testClass.getClassLoader().getResourceAsStream(path)) {
+            Files.copy(inputStream, target);
+        }
+    }
+
+    @WarmupContainer(value = "db", image = "postgres:14")
+    static class ClassTestCase {
+
+        @WarmupContainer(value = "db", image = "postgres:14")
+        void test() {
+            // skipped
+        }
+
+    }
+
+    static class MethodTestCase {
+
+        @WarmupContainer(value = "cache", image = "redis:7")
+        @WarmupContainer(value = "failed", image = "")
+        void test() {
+            // skipped
+        }
+
+        @WarmupContainer(value = "cache", image = "redis:7")
+        void anotherTest() {
+            // skipped
+        }
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Repeatable(WarmupContainers.class)
+    @WithTestContainerSupport(WarmupContainerFactory.class)
+    private @interface WarmupContainer {
+        String value();
+
+        String image();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    private @interface WarmupContainers {
+        WarmupContainer[] value();
+    }
+
+    private static class WarmupContainerFactory implements TestContainerFactory, AnnotationConsumer<WarmupContainer> {
+
+        private WarmupContainer warmupContainer;
+
+        @Override
+        public void accept(WarmupContainer warmupContainer) {
+            this.warmupContainer = warmupContainer;
+        }
+
+        @Override
+        public String getContainerName() {
+            return warmupContainer.value();
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            if (warmupContainer.image().isEmpty()) {
+                throw new IllegalStateException("Failed to pull image");
+            }
+            GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+            given(container.getDockerImageName()).willReturn(warmupContainer.image());
+            return container;
+        }
+    }
+}
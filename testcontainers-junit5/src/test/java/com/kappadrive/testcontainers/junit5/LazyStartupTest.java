@@ -0,0 +1,229 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.cause;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+import static org.mockito.BDDMockito.willAnswer;
+
+import com.kappadrive.testcontainers.junit5.property.MapToSystemProperty;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.testcontainers.containers.GenericContainer;
+
+class LazyStartupTest {
+
+    private static final Map<String, String> LAZY = Map.of(TestContainersConfiguration.LAZY_STARTUP_ENABLED, "true");
+    private static final List<String> STARTED = new CopyOnWriteArrayList<>();
+    private static final List<String> STOPPED = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void clear() {
+        STARTED.clear();
+        STOPPED.clear();
+        LazyContainerFactory.failure = null;
+    }
+
+    @Test
+    void testNotUsedContainerNotStarted() {
+        EngineExecutionResults results = executeTests(LAZY, selectClass(NotUsedTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(STARTED).isEmpty();
+        assertThat(STOPPED).isEmpty();
+    }
+
+    @LazyContainer("db")
+    static class NotUsedTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testStartedOnFieldInjection() {
+        EngineExecutionResults results = executeTests(LAZY, selectClass(FieldTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(STARTED).containsExactly("db");
+        assertThat(STOPPED).containsExactly("db");
+    }
+
+    @LazyContainer("db")
+    @LazyContainer("unused")
+    static class FieldTestCase {
+
+        @Container("db")
+        private GenericContainer<?> db;
+
+        @Test
+        void test() {
+            assertThat(STARTED).containsExactly("db");
+        }
+
+        @Test
+        void anotherTest() {
+            assertThat(STARTED).containsExactly("db");
+        }
+
+    }
+
+    @Test
+    void testStartedOnParameterResolution() {
+        EngineExecutionResults results = executeTests(LAZY, selectClass(ParameterTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(STARTED).containsExactly("db");
+    }
+
+    @LazyContainer("db")
+    static class ParameterTestCase {
+
+        @Test
+        void withoutParameter() {
+            // skipped
+        }
+
+        @Test
+        void withParameter(@Container("db") GenericContainer<?> db) {
+            assertThat(STARTED).containsExactly("db");
+        }
+
+    }
+
+    @Test
+    void testStartedForSystemProperty() {
+        EngineExecutionResults results = executeTests(LAZY, selectClass(SystemPropertyTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(STARTED).containsExactly("db");
+    }
+
+    @LazyContainer("db")
+    @MapToSystemProperty(container = "db", property = "lazy.host", value = "${host}")
+    static class SystemPropertyTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testDependenciesStartedFirst() {
+        EngineExecutionResults results = executeTests(LAZY, selectClass(DependenciesTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(STARTED).containsExactly("zookeeper", "kafka", "app");
+    }
+
+    @LazyContainer(value = "app", dependsOn = "kafka")
+    @LazyContainer(value = "kafka", dependsOn = "zookeeper")
+    @LazyContainer("zookeeper")
+    @LazyContainer("unused")
+    static class DependenciesTestCase {
+
+        @Test
+        void test(@Container("app") GenericContainer<?> app) {
+            // skipped
+        }
+
+    }
+
+    @Test
+    void testStartFailure() {
+        LazyContainerFactory.failure = new IllegalStateException("Failed to start");
+
+        EngineExecutionResults results = executeTests(LAZY, selectClass(ParameterTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("withoutParameter"), finishedSuccessfully()))
+            .haveExactly(1, event(test("withParameter"), finishedWithFailure(cause(message("Failed to start")))));
+
+        assertThat(STOPPED).isEmpty();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Repeatable(LazyContainers.class)
+    @WithTestContainerSupport(LazyContainerFactory.class)
+    private @interface LazyContainer {
+        String value();
+
+        String[] dependsOn() default {};
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    private @interface LazyContainers {
+        LazyContainer[] value();
+    }
+
+    private static class LazyContainerFactory implements TestContainerFactory, AnnotationConsumer<LazyContainer> {
+
+        private static RuntimeException failure;
+
+        private LazyContainer lazyContainer;
+
+        @Override
+        public void accept(LazyContainer lazyContainer) {
+            this.lazyContainer = lazyContainer;
+        }
+
+        @Override
+        public String getContainerName() {
+            return lazyContainer.value();
+        }
+
+        @Override
+        public Set<String> getDependencies() {
+            return new LinkedHashSet<>(Arrays.asList(lazyContainer.dependsOn()));
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+            RuntimeException startFailure = failure;
+            willAnswer(invocation -> {
+                if (startFailure != null) {
+                    throw startFailure;
+                }
+                return STARTED.add(getContainerName());
+            }).given(container).start();
+            willAnswer(invocation -> STOPPED.add(getContainerName())).given(container).stop();
+            return container;
+        }
+    }
+}
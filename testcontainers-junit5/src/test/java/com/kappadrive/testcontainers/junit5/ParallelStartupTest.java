@@ -0,0 +1,169 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.container;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.suppressed;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.testcontainers.containers.GenericContainer;
+
+class ParallelStartupTest {
+
+    private static final Map<String, String> PARALLEL = Map.of(
+        TestContainersConfiguration.PARALLEL_STARTUP_ENABLED, "true",
+        TestContainersConfiguration.PARALLEL_STARTUP_PARALLELISM, "2"
+    );
+
+    @BeforeEach
+    void initNewContainers() {
+        DummyContainerFactory.container = Mockito.mock(GenericContainer.class);
+        AnotherDummyContainerFactory.container = Mockito.mock(GenericContainer.class);
+    }
+
+    @Test
+    void testContainersStartedAtSameTime() {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        willAnswer(invocation -> barrier.await(10, TimeUnit.SECONDS)).given(DummyContainerFactory.container).start();
+        willAnswer(invocation -> barrier.await(10, TimeUnit.SECONDS)).given(AnotherDummyContainerFactory.container).start();
+
+        EngineExecutionResults results = executeTests(PARALLEL, selectClass(MultipleContainersTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(DummyContainerFactory.container).should(times(1)).stop();
+        then(AnotherDummyContainerFactory.container).should(times(1)).stop();
+    }
+
+    @Test
+    void testAllFailuresReported() {
+        willThrow(new RuntimeException("Dummy error")).given(DummyContainerFactory.container).start();
+        willThrow(new RuntimeException("Another error")).given(AnotherDummyContainerFactory.container).start();
+
+        EngineExecutionResults results = executeTests(PARALLEL, selectClass(MultipleContainersTestCase.class));
+
+        results.containerEvents().assertThatEvents()
+            .haveExactly(1, event(container(MultipleContainersTestCase.class), finishedWithFailure(
+                instanceOf(JUnitException.class),
+                message("Failed to start containers: dummy, another"),
+                suppressed(0, message("Failed to start container dummy")),
+                suppressed(1, message("Failed to start container another"))
+            )));
+    }
+
+    @Test
+    void testStartedContainersStoppedOnFailure() {
+        willThrow(new RuntimeException("Dummy error")).given(DummyContainerFactory.container).start();
+
+        EngineExecutionResults results = executeTests(PARALLEL, selectClass(MultipleContainersTestCase.class));
+
+        results.containerEvents().assertThatEvents()
+            .haveExactly(1, event(container(MultipleContainersTestCase.class), finishedWithFailure(
+                message("Failed to start containers: dummy"))));
+
+        then(DummyContainerFactory.container).should(times(0)).stop();
+        then(AnotherDummyContainerFactory.container).should(times(1)).stop();
+    }
+
+    @Test
+    void testSequentialByDefault() {
+        EngineExecutionResults results = executeTests(selectClass(MultipleContainersTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(DummyContainerFactory.container).should(times(1)).start();
+        then(AnotherDummyContainerFactory.container).should(times(1)).start();
+    }
+
+    @Test
+    void testDefaultParallelism() {
+        EngineExecutionResults results = executeTests(
+            Map.of(
+                TestContainersConfiguration.PARALLEL_STARTUP_ENABLED, "true",
+                TestContainersConfiguration.PARALLEL_STARTUP_PARALLELISM, "0"
+            ),
+            selectClass(MultipleContainersTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(DummyContainerFactory.container).should(times(1)).start();
+        then(AnotherDummyContainerFactory.container).should(times(1)).start();
+    }
+
+    @WithDummyContainer
+    @WithAnotherDummyContainer
+    static class MultipleContainersTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @WithTestContainerSupport(DummyContainerFactory.class)
+    private @interface WithDummyContainer {
+    }
+
+    private static class DummyContainerFactory implements TestContainerFactory {
+
+        private static GenericContainer<?> container;
+
+        @Override
+        public String getContainerName() {
+            return "dummy";
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            return container;
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @WithTestContainerSupport(AnotherDummyContainerFactory.class)
+    private @interface WithAnotherDummyContainer {
+    }
+
+    private static class AnotherDummyContainerFactory implements TestContainerFactory {
+
+        private static GenericContainer<?> container;
+
+        @Override
+        public String getContainerName() {
+            return "another";
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            return container;
+        }
+    }
+}
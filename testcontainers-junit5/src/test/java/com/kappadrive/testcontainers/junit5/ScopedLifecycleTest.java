@@ -0,0 +1,248 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.testcontainers.containers.GenericContainer;
+
+class ScopedLifecycleTest {
+
+    private static final Map<String, String> SCOPED = Map.of(TestContainersConfiguration.SCOPED_LIFECYCLE_ENABLED, "true");
+    private static final List<String> EVENTS = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void clear() {
+        EVENTS.clear();
+    }
+
+    @Test
+    void testStoppedAfterDeclaringClass() {
+        EngineExecutionResults results = executeTests(SCOPED, selectClass(FirstClassTestCase.class), selectClass(SecondClassTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).containsExactly("start db", "test", "stop db", "start db", "test", "stop db");
+    }
+
+    @Test
+    void testNotStoppedWhenDisabled() {
+        EngineExecutionResults results = executeTests(selectClass(FirstClassTestCase.class), selectClass(SecondClassTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).containsExactly("start db", "test", "test", "stop db");
+    }
+
+    @ScopedContainer("db")
+    static class FirstClassTestCase {
+
+        @Test
+        void test() {
+            EVENTS.add("test");
+        }
+
+    }
+
+    @ScopedContainer("db")
+    static class SecondClassTestCase {
+
+        @Test
+        void test() {
+            EVENTS.add("test");
+        }
+
+    }
+
+    @Test
+    void testComposedAnnotationScoped() {
+        EngineExecutionResults results = executeTests(SCOPED, selectClass(FirstComposedTestCase.class), selectClass(SecondComposedTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).containsExactly("start db", "test", "stop db", "start db", "test", "stop db");
+    }
+
+    @ComposedDb
+    static class FirstComposedTestCase {
+
+        @Test
+        void test() {
+            EVENTS.add("test");
+        }
+
+    }
+
+    @ComposedDb
+    static class SecondComposedTestCase {
+
+        @Test
+        void test() {
+            EVENTS.add("test");
+        }
+
+    }
+
+    @Test
+    void testPinnedNotStopped() {
+        EngineExecutionResults results = executeTests(pinned("db"), selectClass(FirstClassTestCase.class), selectClass(SecondComposedTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).containsExactly("start db", "test", "test", "stop db");
+    }
+
+    @Test
+    void testStoppedAfterDeclaringMethod() {
+        EngineExecutionResults results = executeTests(SCOPED, selectClass(MethodTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).containsExactly(
+            "start db",
+            "start app", "test", "stop app",
+            "start app", "test", "stop app",
+            "stop db");
+    }
+
+    @ScopedContainer("db")
+    static class MethodTestCase {
+
+        @Test
+        @ScopedContainer(value = "app", dependsOn = "db")
+        void test() {
+            EVENTS.add("test");
+        }
+
+        @Test
+        @ScopedContainer(value = "app", dependsOn = "db")
+        void anotherTest() {
+            EVENTS.add("test");
+        }
+
+    }
+
+    @Test
+    void testStoppedWithDependency() {
+        EngineExecutionResults results = executeTests(SCOPED, selectClass(DependencyTestCase.class), selectClass(SecondClassTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).hasSize(8)
+            .startsWith("start db", "start app", "test")
+            .endsWith("start db", "test", "stop db")
+            .containsOnlyOnce("stop app");
+    }
+
+    @ScopedContainer("db")
+    @ScopedContainer(value = "app", dependsOn = "db")
+    static class DependencyTestCase {
+
+        @Test
+        void test() {
+            EVENTS.add("test");
+        }
+
+    }
+
+    @Test
+    void testDependencyOfPinnedContainerPinned() {
+        EngineExecutionResults results = executeTests(pinned(" , app"), selectClass(DependencyTestCase.class), selectClass(FirstClassTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).startsWith("start db", "start app", "test", "test")
+            .containsOnlyOnce("start db", "stop db");
+    }
+
+    @Test
+    void testPinnedDependencyNotStopped() {
+        EngineExecutionResults results = executeTests(pinned("db"), selectClass(DependencyTestCase.class), selectClass(FirstClassTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test(), finishedSuccessfully()));
+
+        assertThat(EVENTS).containsExactly("start db", "start app", "test", "stop app", "test", "stop db");
+    }
+
+    private static Map<String, String> pinned(String containerNames) {
+        return Map.of(TestContainersConfiguration.SCOPED_LIFECYCLE_ENABLED, "true",
+            TestContainersConfiguration.SCOPED_LIFECYCLE_PINNED, containerNames);
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Repeatable(ScopedContainers.class)
+    @WithTestContainerSupport(ScopedContainerFactory.class)
+    private @interface ScopedContainer {
+        String value();
+
+        String[] dependsOn() default {};
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    private @interface ScopedContainers {
+        ScopedContainer[] value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @ScopedContainer("db")
+    private @interface ComposedDb {
+    }
+
+    private static class ScopedContainerFactory implements TestContainerFactory, AnnotationConsumer<ScopedContainer> {
+
+        private ScopedContainer scopedContainer;
+
+        @Override
+        public void accept(ScopedContainer scopedContainer) {
+            this.scopedContainer = scopedContainer;
+        }
+
+        @Override
+        public String getContainerName() {
+            return scopedContainer.value();
+        }
+
+        @Override
+        public Set<String> getDependencies() {
+            return new LinkedHashSet<>(Arrays.asList(scopedContainer.dependsOn()));
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+            willAnswer(invocation -> EVENTS.add("start " + getContainerName())).given(container).start();
+            willAnswer(invocation -> EVENTS.add("stop " + getContainerName())).given(container).stop();
+            return container;
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.container;
+import static org.junit.platform.testkit.engine.EventConditions.event;
+import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import com.github.dockerjava.api.DockerClient;
+import com.kappadrive.testcontainers.junit5.extension.WithMockedDockerClientFactory;
+import com.kappadrive.testcontainers.junit5.extension.WithMockedTestcontainersConfiguration;
+import java.io.IOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.mockito.Mockito;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+@WithMockedTestcontainersConfiguration
+@ExtendWith(OutputCaptureExtension.class)
+class SharedContainersTest {
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void initContainer(TestcontainersConfiguration configuration) {
+        given(configuration.environmentSupportsReuse()).willReturn(true);
+        SharedContainerFactory.container = Mockito.mock(GenericContainer.class);
+        given(SharedContainerFactory.container.isShouldBeReused()).willReturn(true);
+        given(SharedContainerFactory.container.getContainerId()).willReturn("shared-id");
+        SharedContainerFactory.snapshots = 0;
+        SharedContainerFactory.reusableCreations = 0;
+    }
+
+    @Test
+    void testContainerStoppedByLastJvm(CapturedOutput output) throws IOException {
+        EngineExecutionResults results = executeTests(sharing(), selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(SharedContainerFactory.container).should().withLabel(ContainerFingerprint.FINGERPRINT_LABEL, fingerprint());
+        then(SharedContainerFactory.container).should().withReuse(true);
+        then(SharedContainerFactory.container).should(times(1)).start();
+        then(SharedContainerFactory.container).should(times(1)).stop();
+        assertThat(readContainerId()).isEqualTo("shared-id");
+        assertThat(output).contains("Container shared is stopped by the last test JVM using it");
+    }
+
+    @Test
+    void testSharedContainerCreatedAsReusable() {
+        EngineExecutionResults results = executeTests(sharing(), selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        // container of each test JVM must have the same configuration including image name to be adopted by other JVMs
+        assertThat(SharedContainerFactory.reusableCreations).isEqualTo(1);
+    }
+
+    @Test
+    void testDifferentContainerNotShared(CapturedOutput output) throws Exception {
+        writeContainerId("other-id");
+        EngineExecutionResults results;
+        try (FileLockProcess anotherJvm = FileLockProcess.lock(directory.resolve(fingerprint() + ".lock"), 1, true)) {
+            results = executeTests(sharing(), selectClass(FirstTestCase.class));
+        }
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(SharedContainerFactory.container).should(times(1)).stop();
+        assertThat(readContainerId()).isEqualTo("other-id");
+        assertThat(output)
+            .contains("Container shared differs from container other-id used by other test JVMs, it is not shared")
+            .contains("Container shared is not shared, so it is stopped");
+    }
+
+    @Test
+    @WithMockedDockerClientFactory
+    void testDifferentContainerReusedBetweenRunsNotStopped(DockerClientFactory dockerClientFactory) throws Exception {
+        given(dockerClientFactory.client()).willReturn(Mockito.mock(DockerClient.class, RETURNS_DEEP_STUBS));
+        writeContainerId("other-id");
+        EngineExecutionResults results;
+        try (FileLockProcess anotherJvm = FileLockProcess.lock(directory.resolve(fingerprint() + ".lock"), 1, true)) {
+            results = executeTests(Map.of(TestContainersConfiguration.SHARING_ENABLED, "true",
+                TestContainersConfiguration.SHARING_DIR, directory.toString(), TestContainersConfiguration.REUSE_ENABLED, "true"),
+                selectClass(FirstTestCase.class));
+        }
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(SharedContainerFactory.container).should(never()).stop();
+    }
+
+    @Test
+    void testRestartedContainerShared() throws IOException {
+        given(SharedContainerFactory.container.getContainerId()).willReturn("shared-id", "restarted-id");
+
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.SHARING_ENABLED, "true",
+                TestContainersConfiguration.SHARING_DIR, directory.toString(), TestContainersConfiguration.SCOPED_LIFECYCLE_ENABLED, "true"),
+            selectClass(FirstTestCase.class), selectClass(SecondTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test("test"), finishedSuccessfully()));
+
+        then(SharedContainerFactory.container).should(times(1)).stop();
+        assertThat(readContainerId()).isEqualTo("restarted-id");
+    }
+
+    @Test
+    void testNotUsedContainerReplaced(CapturedOutput output) throws IOException {
+        writeContainerId("other-id");
+
+        EngineExecutionResults results = executeTests(sharing(), selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(SharedContainerFactory.container).should(times(1)).stop();
+        assertThat(readContainerId()).isEqualTo("shared-id");
+        assertThat(output).contains("Container shared is stopped by the last test JVM using it");
+    }
+
+    @Test
+    void testSharingNotSupportedWithNetwork(CapturedOutput output) {
+        given(SharedContainerFactory.container.isShouldBeReused()).willReturn(false);
+
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.SHARING_ENABLED, "true",
+            TestContainersConfiguration.SHARING_DIR, directory.toString(), TestContainersConfiguration.NETWORK_ENABLED, "true"),
+            selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(SharedContainerFactory.container).should(never()).withReuse(true);
+        then(SharedContainerFactory.container).should(times(1)).stop();
+        assertThat(SharedContainerFactory.reusableCreations).isZero();
+        assertThat(directory).isEmptyDirectory();
+        assertThat(output).contains("Container sharing is not supported together with shared network, containers are not shared");
+    }
+
+    @Test
+    void testSharedContainerNotRestored() {
+        EngineExecutionResults results = executeTests(sharing(), selectClass(FirstTestCase.class), selectClass(SecondTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test("test"), finishedSuccessfully()));
+
+        assertThat(SharedContainerFactory.snapshots).isZero();
+    }
+
+    @Test
+    void testContainerLeftRunningForAnotherJvm(CapturedOutput output) throws Exception {
+        EngineExecutionResults results;
+        try (FileLockProcess anotherJvm = FileLockProcess.lock(directory.resolve(fingerprint() + ".lock"), 1, true)) {
+            results = executeTests(sharing(), selectClass(FirstTestCase.class));
+        }
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(SharedContainerFactory.container).should(times(1)).start();
+        then(SharedContainerFactory.container).should(never()).stop();
+        assertThat(output).contains("Container shared is left running for other test JVMs");
+    }
+
+    @Test
+    void testStartWaitsForAnotherJvm() throws Exception {
+        CompletableFuture<EngineExecutionResults> results;
+        try (FileLockProcess anotherJvm = FileLockProcess.lock(directory.resolve(fingerprint() + ".lock"), 0, false)) {
+            results = CompletableFuture.supplyAsync(() -> executeTests(sharing(), selectClass(FirstTestCase.class)));
+            Thread.sleep(50);
+            then(SharedContainerFactory.container).should(never()).start();
+        }
+
+        results.get(10, TimeUnit.SECONDS).testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+        then(SharedContainerFactory.container).should(times(1)).start();
+    }
+
+    @Test
+    void testContainerStartedOnceForScopedLifecycle() {
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.SHARING_ENABLED, "true",
+                TestContainersConfiguration.SHARING_DIR, directory.toString(), TestContainersConfiguration.SCOPED_LIFECYCLE_ENABLED, "true"),
+            selectClass(FirstTestCase.class), selectClass(SecondTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(2, event(test("test"), finishedSuccessfully()));
+
+        // reusable container is left running after each test class and adopted again by the next one
+        then(SharedContainerFactory.container).should(times(2)).start();
+        then(SharedContainerFactory.container).should(times(1)).stop();
+    }
+
+    @Test
+    void testLazyContainerShared(CapturedOutput output) {
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.SHARING_ENABLED, "true",
+            TestContainersConfiguration.SHARING_DIR, directory.toString(), TestContainersConfiguration.LAZY_STARTUP_ENABLED, "true"),
+            selectClass(LazyTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(SharedContainerFactory.container).should(times(1)).start();
+        then(SharedContainerFactory.container).should(times(1)).stop();
+        assertThat(output).contains("Container shared is stopped by the last test JVM using it");
+    }
+
+    @Test
+    @WithMockedDockerClientFactory
+    void testContainerReusedBetweenRunsNotStopped(DockerClientFactory dockerClientFactory) {
+        given(dockerClientFactory.client()).willReturn(Mockito.mock(DockerClient.class, RETURNS_DEEP_STUBS));
+
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.SHARING_ENABLED, "true",
+            TestContainersConfiguration.SHARING_DIR, directory.toString(), TestContainersConfiguration.REUSE_ENABLED, "true"),
+            selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(SharedContainerFactory.container).should(times(1)).start();
+        then(SharedContainerFactory.container).should(never()).stop();
+    }
+
+    @Test
+    void testSharingNotSupportedByEnvironment(TestcontainersConfiguration configuration, CapturedOutput output) {
+        given(configuration.environmentSupportsReuse()).willReturn(false);
+        given(SharedContainerFactory.container.isShouldBeReused()).willReturn(false);
+
+        EngineExecutionResults results = executeTests(sharing(), selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(SharedContainerFactory.container).should(never()).withReuse(true);
+        then(SharedContainerFactory.container).should(times(1)).stop();
+        assertThat(SharedContainerFactory.reusableCreations).isZero();
+        assertThat(directory).isEmptyDirectory();
+        assertThat(output).contains("Container sharing requires testcontainers.reuse.enable=true in Testcontainers configuration");
+    }
+
+    @Test
+    void testSharingDisabledByDefault() {
+        given(SharedContainerFactory.container.isShouldBeReused()).willReturn(false);
+
+        EngineExecutionResults results = executeTests(selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        then(SharedContainerFactory.container).should(never()).withReuse(true);
+        then(SharedContainerFactory.container).should(times(1)).stop();
+    }
+
+    @Test
+    void testFailedStartNotShared() {
+        willThrow(new IllegalStateException("Failed to start")).given(SharedContainerFactory.container).start();
+
+        EngineExecutionResults results = executeTests(sharing(), selectClass(FirstTestCase.class));
+
+        results.containerEvents().assertThatEvents()
+            .haveExactly(1, event(container(FirstTestCase.class), finishedWithFailure(message("Failed to start"))));
+
+        then(SharedContainerFactory.container).should(never()).stop();
+    }
+
+    @Test
+    void testLockFileNotCreated() throws IOException {
+        Path file = Files.createFile(directory.resolve("file"));
+
+        EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.SHARING_ENABLED, "true",
+            TestContainersConfiguration.SHARING_DIR, file.toString()), selectClass(FirstTestCase.class));
+
+        results.containerEvents().assertThatEvents()
+            .haveExactly(1, event(container(FirstTestCase.class),
+                finishedWithFailure(message("Failed to share container shared via " + file.resolve(fingerprint() + ".lock")))));
+
+        then(SharedContainerFactory.container).should(never()).start();
+    }
+
+    @Test
+    void testStopFailureLogged(CapturedOutput output) {
+        willThrow(new IllegalStateException("Failed to stop")).given(SharedContainerFactory.container).stop();
+
+        EngineExecutionResults results = executeTests(sharing(), selectClass(FirstTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+
+        assertThat(output).contains("Failed to release shared container shared");
+    }
+
+    private Map<String, String> sharing() {
+        return Map.of(TestContainersConfiguration.SHARING_ENABLED, "true", TestContainersConfiguration.SHARING_DIR, directory.toString());
+    }
+
+    private String readContainerId() throws IOException {
+        byte[] content = Files.readAllBytes(directory.resolve(fingerprint() + ".lock"));
+        return new String(content, 2, content.length - 2, StandardCharsets.UTF_8);
+    }
+
+    private void writeContainerId(String containerId) throws IOException {
+        Files.write(directory.resolve(fingerprint() + ".lock"), ("\0\0" + containerId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String fingerprint() {
+        return ContainerFingerprint.of(SharedContainerFactory.class, MergedAnnotations.from(FirstTestCase.class).get(SharedContainer.class));
+    }
+
+    @SharedContainer
+    static class FirstTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @SharedContainer
+    static class SecondTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
+
+    }
+
+    @SharedContainer
+    static class LazyTestCase {
+
+        @Test
+        void test(@Container("shared") GenericContainer<?> shared) {
+            // skipped
+        }
+
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @WithTestContainerSupport(SharedContainerFactory.class)
+    private @interface SharedContainer {
+    }
+
+    private static class SharedContainerFactory implements TestContainerFactory {
+
+        private static GenericContainer<?> container;
+        private static int snapshots;
+        private static int reusableCreations;
+
+        @Override
+        public String getContainerName() {
+            return "shared";
+        }
+
+        @Override
+        public GenericContainer<?> createContainer() {
+            return container;
+        }
+
+        @Override
+        public GenericContainer<?> createReusableContainer() {
+            reusableCreations++;
+            return container;
+        }
+
+        @Override
+        public ContainerSnapshot takeSnapshot(GenericContainer<?> container) {
+            snapshots++;
+            return () -> {
+                // nothing to restore
+            };
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.kappadrive.testcontainers.junit5;
 
 import static com.kappadrive.testcontainers.junit5.TestKitUtil.executeTests;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
 import static org.junit.platform.testkit.engine.EventConditions.event;
 import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
@@ -11,15 +14,30 @@ import static org.junit.platform.testkit.engine.TestExecutionResultConditions.ca
 import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
 import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
 
 import com.kappadrive.testcontainers.junit5.extension.WithMockedDockerClientFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.JUnitException;
 import org.junit.platform.testkit.engine.EngineExecutionResults;
 import org.testcontainers.DockerClientFactory;
 
 @WithMockedDockerClientFactory
 class SkipIfNoDockerTest {
 
+    @BeforeEach
+    @AfterEach
+    void resetProbe() {
+        DockerAvailabilityProbe.reset();
+    }
+
     @Test
     void testDockerIsAvailable(DockerClientFactory factory) {
         given(factory.isDockerAvailable()).willReturn(true);
@@ -53,6 +71,58 @@ class SkipIfNoDockerTest {
             ))));
     }
 
+    @Test
+    void testDockerCheckedOnce(DockerClientFactory factory) {
+        given(factory.isDockerAvailable()).willReturn(true);
+
+        EngineExecutionResults results = executeTests(selectClass(TestCase.class), selectClass(AnotherTestCase.class));
+
+        results.testEvents().assertThatEvents().haveExactly(3, event(test(), finishedSuccessfully()));
+        then(factory).should(times(1)).isDockerAvailable();
+    }
+
+    @Test
+    void testDockerCheckTimeout(DockerClientFactory factory) throws InterruptedException {
+        CountDownLatch hung = new CountDownLatch(1);
+        given(factory.isDockerAvailable()).willAnswer(invocation -> hung.await(10, TimeUnit.SECONDS));
+
+        try {
+            EngineExecutionResults results = executeTests(Map.of(TestContainersConfiguration.DOCKER_PROBE_TIMEOUT, "PT0.05S"),
+                selectMethod(TestCase.class, "test"));
+
+            results.testEvents().assertThatEvents().haveExactly(1,
+                event(test("test"), skippedWithReason("Docker availability is not known after PT0.05S")));
+        } finally {
+            hung.countDown();
+        }
+    }
+
+    @Test
+    void testDockerCheckInterrupted(DockerClientFactory factory) {
+        CountDownLatch hung = new CountDownLatch(1);
+        given(factory.isDockerAvailable()).willAnswer(invocation -> hung.await(10, TimeUnit.SECONDS));
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> DockerAvailabilityProbe.await(Duration.ofSeconds(10)))
+                .isInstanceOf(JUnitException.class)
+                .hasMessage("Interrupted while waiting for docker availability");
+        } finally {
+            assertThat(Thread.interrupted()).isTrue();
+            hung.countDown();
+        }
+    }
+
+    @Test
+    void testDockerCheckStartedWithLauncherSession(DockerClientFactory factory) {
+        given(factory.isDockerAvailable()).willReturn(false);
+
+        new DockerAvailabilityProbeListener().launcherSessionOpened(null);
+
+        assertThat(DockerAvailabilityProbe.start().join()).isFalse();
+        then(factory).should(times(1)).isDockerAvailable();
+    }
+
     static class TestCase {
 
         @Test
@@ -60,5 +130,20 @@ class SkipIfNoDockerTest {
         void test() {
             // skipped
         }
+
+        @Test
+        @SkipIfNoDocker
+        void anotherTest() {
+            // skipped
+        }
+    }
+
+    @SkipIfNoDocker
+    static class AnotherTestCase {
+
+        @Test
+        void test() {
+            // skipped
+        }
     }
 }
@@ -0,0 +1,221 @@
+package com.kappadrive.testcontainers.junit5;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.JUnitException;
+import org.mockito.Mockito;
+import org.testcontainers.containers.GenericContainer;
+
+class TestContainersTest {
+
+    private final TestContainers testContainers = new TestContainers();
+    private final GenericContainer<?> container = Mockito.mock(GenericContainer.class);
+
+    @Test
+    void testReservedOnlyOnce() {
+        assertThat(testContainers.reserve("db")).isTrue();
+        assertThat(testContainers.reserve("db")).isFalse();
+        assertThat(testContainers.contains("db")).isTrue();
+    }
+
+    @Test
+    void testWaitsForReservedContainer() throws Exception {
+        testContainers.reserve("db");
+
+        CompletableFuture<GenericContainer<?>> got = CompletableFuture.supplyAsync(() -> testContainers.get("db"));
+        CompletableFuture<GenericContainer<?>> peeked = CompletableFuture.supplyAsync(() -> testContainers.peek("db"));
+        Thread.sleep(50);
+        assertThat(got).isNotDone();
+        assertThat(peeked).isNotDone();
+
+        testContainers.put("db", container);
+
+        assertThat(got.get(10, TimeUnit.SECONDS)).isSameAs(container);
+        assertThat(peeked.get(10, TimeUnit.SECONDS)).isSameAs(container);
+    }
+
+    @Test
+    void testNotFound() {
+        assertThat(testContainers.contains("db")).isFalse();
+        assertThat(testContainers.get("db")).isNull();
+        assertThat(testContainers.peek("db")).isNull();
+        assertThat(testContainers.getFactory("db")).isNull();
+    }
+
+    @Test
+    void testSnapshotOfUnknownContainerIgnored() throws Exception {
+        ContainerSnapshot snapshot = Mockito.mock(ContainerSnapshot.class);
+
+        testContainers.putSnapshot("db", snapshot);
+        testContainers.put("db", container);
+        testContainers.restore("db");
+        testContainers.restore("unknown");
+
+        Mockito.verifyNoInteractions(snapshot);
+    }
+
+    @Test
+    void testFactoryOfUnknownContainerIgnored() {
+        TestContainerFactory factory = Mockito.mock(TestContainerFactory.class);
+
+        testContainers.putFactory("db", factory);
+        testContainers.put("db", container);
+
+        assertThat(testContainers.getFactory("db")).isNull();
+        testContainers.putFactory("db", factory);
+        assertThat(testContainers.getFactory("db")).isSameAs(factory);
+    }
+
+    @Test
+    void testStartedContainerReplaced() {
+        GenericContainer<?> another = Mockito.mock(GenericContainer.class);
+        testContainers.put("db", container);
+
+        testContainers.put("db", another);
+
+        assertThat(testContainers.get("db")).isSameAs(another);
+    }
+
+    @Test
+    void testCancelledReservation() {
+        IllegalStateException cause = new IllegalStateException("Start failure");
+        testContainers.reserve("db");
+
+        testContainers.cancel("db", cause);
+
+        assertThat(testContainers.contains("db")).isFalse();
+        assertThat(testContainers.reserve("db")).isTrue();
+    }
+
+    @Test
+    void testWaitingThreadFailsOnCancel() throws Exception {
+        testContainers.reserve("db");
+        CountDownLatch waiting = new CountDownLatch(1);
+        final CompletableFuture<GenericContainer<?>> got = CompletableFuture.supplyAsync(() -> {
+            waiting.countDown();
+            return testContainers.get("db");
+        });
+        waiting.await(10, TimeUnit.SECONDS);
+        Thread.sleep(50);
+
+        IllegalStateException cause = new IllegalStateException("Start failure");
+        testContainers.cancel("db", cause);
+
+        assertThatThrownBy(() -> got.get(10, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(JUnitException.class)
+            .hasRootCause(cause)
+            .hasMessageContaining("Failed to start container db");
+    }
+
+    @Test
+    void testCancelIgnoredForStarted() {
+        testContainers.put("db", container);
+
+        testContainers.cancel("db", new IllegalStateException("Start failure"));
+        testContainers.cancel("unknown", new IllegalStateException("Start failure"));
+
+        assertThat(testContainers.get("db")).isSameAs(container);
+    }
+
+    @Test
+    void testLazyContainerStartedOnce() throws Exception {
+        AtomicInteger starts = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        testContainers.putLazy("db", container, () -> {
+            starts.incrementAndGet();
+            started.countDown();
+            sleep(100);
+        });
+        // already present container is not replaced
+        testContainers.putLazy("db", Mockito.mock(GenericContainer.class), starts::incrementAndGet);
+
+        assertThat(testContainers.peek("db")).isSameAs(container);
+        CompletableFuture<GenericContainer<?>> first = CompletableFuture.supplyAsync(() -> testContainers.get("db"));
+        started.await(10, TimeUnit.SECONDS);
+        GenericContainer<?> second = testContainers.get("db");
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isSameAs(container);
+        assertThat(second).isSameAs(container);
+        assertThat(starts).hasValue(1);
+    }
+
+    @Test
+    void testCloseStopsOnlyStartedContainers() {
+        final GenericContainer<?> lazy = Mockito.mock(GenericContainer.class);
+        final GenericContainer<?> starting = Mockito.mock(GenericContainer.class);
+        testContainers.put("db", container);
+        testContainers.putLazy("lazy", lazy, () -> {
+        });
+        testContainers.reserve("starting");
+
+        testContainers.close();
+        testContainers.close();
+
+        then(container).should(times(1)).stop();
+        then(lazy).should(never()).stop();
+        then(starting).should(never()).stop();
+
+        // container which was starting during close is stopped right after start
+        testContainers.put("starting", starting);
+        then(starting).should(times(1)).stop();
+    }
+
+    @Test
+    void testStoppedWithLastReference() {
+        testContainers.put("db", container);
+        testContainers.retain("db");
+        testContainers.retain("db");
+
+        testContainers.release(List.of("db", "unknown"));
+        then(container).should(never()).stop();
+
+        testContainers.release(List.of("db"));
+        then(container).should(times(1)).stop();
+        assertThat(testContainers.contains("db")).isFalse();
+
+        testContainers.close();
+        then(container).should(times(1)).stop();
+    }
+
+    @Test
+    void testPinnedNeverReleased() {
+        testContainers.put("db", container);
+        testContainers.retain("db");
+        testContainers.pin("db");
+        testContainers.retain("db");
+
+        testContainers.release(List.of("db"));
+        testContainers.release(List.of("db"));
+        then(container).should(never()).stop();
+
+        testContainers.close();
+        then(container).should(times(1)).stop();
+    }
+
+    @Test
+    void testReleasedBeforeStart() {
+        testContainers.retain("db");
+
+        testContainers.release(List.of("db"));
+
+        assertThat(testContainers.contains("db")).isFalse();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.kappadrive.testcontainers.junit5;
 
+import java.util.Map;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
 import org.junit.platform.testkit.engine.EngineExecutionResults;
 import org.junit.platform.testkit.engine.EngineTestKit;
 
@@ -24,4 +30,35 @@ public abstract class TestKitUtil {
             .execute();
     }
 
+    /**
+     * Runs tests with jupiter engine and given configuration parameters.
+     *
+     * @param configurationParameters - configuration parameters for test engine.
+     * @param selectors               - selectors for test engine.
+     * @return results of execution.
+     */
+    public static EngineExecutionResults executeTests(Map<String, String> configurationParameters, DiscoverySelector... selectors) {
+        return EngineTestKit.engine("junit-jupiter")
+            .configurationParameters(configurationParameters)
+            .selectors(selectors)
+            .execute();
+    }
+
+    /**
+     * Runs tests with jupiter engine via launcher, so launcher listeners registered via <code>ServiceLoader</code> are invoked.
+     *
+     * @param configurationParameters - configuration parameters for launcher.
+     * @param selectors               - selectors for test engine.
+     * @return summary of execution.
+     */
+    public static TestExecutionSummary executeTestsWithLauncher(Map<String, String> configurationParameters, DiscoverySelector... selectors) {
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request()
+            .filters(EngineFilter.includeEngines("junit-jupiter"))
+            .configurationParameters(configurationParameters)
+            .selectors(selectors)
+            .build(), listener);
+        return listener.getSummary();
+    }
+
 }
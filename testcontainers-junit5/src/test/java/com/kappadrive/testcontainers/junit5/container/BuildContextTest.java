@@ -0,0 +1,151 @@
+package com.kappadrive.testcontainers.junit5.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+
+class BuildContextTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testFromClasspath() {
+        BuildContext buildContext = BuildContext.fromClasspath("dummy");
+
+        assertThat(buildContext.getFiles())
+            .extracting(buildContext::toRelativeName)
+            .containsExactly("Dockerfile");
+    }
+
+    @Test
+    void testFilesSortedByRelativeName() throws IOException {
+        write("b/file", "b");
+        write("a", "a");
+        write("Dockerfile", "FROM alpine");
+
+        BuildContext buildContext = new BuildContext(directory);
+
+        assertThat(buildContext.getFiles())
+            .extracting(buildContext::toRelativeName)
+            .containsExactly("Dockerfile", "a", "b/file");
+    }
+
+    @Test
+    void testIgnoredFilesExcluded() throws IOException {
+        write("Dockerfile", "FROM alpine");
+        write(".dockerignore", "*\n!app");
+        write("app/file", "app");
+        write("fixtures/big.json", "{}");
+
+        BuildContext buildContext = new BuildContext(directory);
+
+        assertThat(buildContext.getFiles())
+            .extracting(buildContext::toRelativeName)
+            .containsExactly(".dockerignore", "Dockerfile", "app/file");
+    }
+
+    @Test
+    void testDigestNotChangedWithIgnoredFile() throws IOException {
+        write("Dockerfile", "FROM alpine");
+        write(".dockerignore", "fixtures");
+        write("fixtures/big.json", "{}");
+        String digest = new BuildContext(directory).getDigest();
+
+        write("fixtures/big.json", "{\"changed\": true}");
+
+        assertThat(new BuildContext(directory).getDigest()).isEqualTo(digest);
+    }
+
+    @Test
+    void testAddFilesTo() throws IOException {
+        write("Dockerfile", "FROM alpine");
+        write(".dockerignore", "fixtures");
+        write("app/file", "app");
+        write("fixtures/big.json", "{}");
+        ImageFromDockerfile image = new ImageFromDockerfile();
+
+        assertThat(new BuildContext(directory).addFilesTo(image)).isSameAs(image);
+        assertThat(image.getTransferables())
+            .containsOnlyKeys(".dockerignore", "Dockerfile", "app/file");
+    }
+
+    @Test
+    void testSameDigestForSameContent() throws IOException {
+        write("Dockerfile", "FROM alpine");
+        String digest = new BuildContext(directory).getDigest();
+
+        write("Dockerfile", "FROM alpine");
+
+        assertThat(new BuildContext(directory).getDigest())
+            .isEqualTo(digest)
+            .hasSize(32);
+    }
+
+    @Test
+    void testDigestChangedWithContent() throws IOException {
+        write("Dockerfile", "FROM alpine");
+        String digest = new BuildContext(directory).getDigest();
+
+        write("Dockerfile", "FROM ubuntu");
+
+        assertThat(new BuildContext(directory).getDigest()).isNotEqualTo(digest);
+    }
+
+    @Test
+    void testDigestChangedWithName() throws IOException {
+        write("a", "content");
+        String digest = new BuildContext(directory).getDigest();
+
+        Files.move(directory.resolve("a"), directory.resolve("b"));
+
+        assertThat(new BuildContext(directory).getDigest()).isNotEqualTo(digest);
+    }
+
+    @Test
+    void testDigestChangedWithPermissions() throws IOException {
+        write("entrypoint.sh", "echo");
+        String digest = new BuildContext(directory).getDigest();
+
+        assertThat(directory.resolve("entrypoint.sh").toFile().setExecutable(true)).isTrue();
+
+        assertThat(new BuildContext(directory).getDigest()).isNotEqualTo(digest);
+    }
+
+    @Test
+    void testNotExistingDirectory() {
+        BuildContext buildContext = new BuildContext(directory.resolve("missing"));
+
+        assertThatThrownBy(buildContext::getDigest)
+            .isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void testUnreadableFile() throws IOException {
+        write("Dockerfile", "FROM alpine");
+        Path file = directory.resolve("Dockerfile");
+        BuildContext buildContext = new BuildContext(directory) {
+            @Override
+            List<Path> getFiles() {
+                return List.of(file.resolveSibling("missing"));
+            }
+        };
+
+        assertThatThrownBy(buildContext::getDigest)
+            .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private void write(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,29 @@
+package com.kappadrive.testcontainers.junit5.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+
+import com.github.dockerjava.api.DockerClient;
+import com.kappadrive.testcontainers.junit5.extension.WithMockedDockerClientFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.testcontainers.DockerClientFactory;
+
+@WithMockedDockerClientFactory
+class CachedImageFromDockerfileTest {
+
+    @Test
+    void testCachedImageUsed(DockerClientFactory dockerClientFactory) {
+        DockerClient client = Mockito.mock(DockerClient.class, RETURNS_DEEP_STUBS);
+        given(dockerClientFactory.client()).willReturn(client);
+        BuildContext buildContext = BuildContext.fromClasspath("dummy");
+
+        String imageName = new CachedImageFromDockerfile("My_Dummy Container", buildContext).get();
+
+        assertThat(imageName).isEqualTo("localhost/testcontainers-junit5/my_dummy-container:" + buildContext.getDigest());
+        then(client).should().inspectImageCmd(imageName);
+        then(client).shouldHaveNoMoreInteractions();
+    }
+}
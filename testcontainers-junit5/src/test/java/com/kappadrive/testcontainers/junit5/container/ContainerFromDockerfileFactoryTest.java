@@ -7,10 +7,27 @@ import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
 import static org.junit.platform.testkit.engine.EventConditions.event;
 import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
 import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.kappadrive.testcontainers.junit5.extension.WithMockedDockerClientFactory;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.JUnitException;
 import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.LogMessageWaitStrategy;
+import org.testcontainers.shaded.com.github.dockerjava.core.command.CreateContainerCmdImpl;
 
 class ContainerFromDockerfileFactoryTest {
 
@@ -30,6 +47,22 @@ class ContainerFromDockerfileFactoryTest {
         assertThat(factory.getContainerName()).isEqualTo("dummy");
     }
 
+    @Test
+    void testGetDependencies() {
+        var factory = factory(withContainerFromDockerfile("dummy", "", new int[0], "db", "cache"));
+
+        assertThat(factory.getDependencies()).containsExactly("db", "cache");
+    }
+
+    @Test
+    void testGetDependenciesNotConfigured() {
+        var factory = new ContainerFromDockerfileFactory();
+
+        assertThatThrownBy(factory::getDependencies)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Factory is not yet configured");
+    }
+
     @Test
     void testCreateContainerNotConfigured() {
         var factory = new ContainerFromDockerfileFactory();
@@ -48,6 +81,29 @@ class ContainerFromDockerfileFactoryTest {
             .containsExactlyInAnyOrder(666, 777);
     }
 
+    @Test
+    @WithMockedDockerClientFactory
+    void testCachedImage(DockerClientFactory dockerClientFactory) {
+        given(dockerClientFactory.client()).willReturn(mock(DockerClient.class, RETURNS_DEEP_STUBS));
+        var factory = factory(withContainerFromDockerfile("dummy", "", new int[0], true, new String[0]));
+
+        assertThat(imageName(factory.createContainer()))
+            .isEqualTo("localhost/testcontainers-junit5/dummy:" + BuildContext.fromClasspath("dummy").getDigest());
+    }
+
+    @Test
+    @WithMockedDockerClientFactory
+    void testReusableContainerHasSameReuseHash(DockerClientFactory dockerClientFactory) throws ReflectiveOperationException {
+        given(dockerClientFactory.client()).willReturn(mock(DockerClient.class, RETURNS_DEEP_STUBS));
+        var annotation = withContainerFromDockerfile("dummy", "", new int[] {80});
+
+        var first = factory(annotation).createReusableContainer();
+        var second = factory(annotation).createReusableContainer();
+
+        assertThat(imageName(first)).startsWith("localhost/testcontainers-junit5/dummy:");
+        assertThat(reuseHash(first)).isEqualTo(reuseHash(second));
+    }
+
     @Test
     void testCreateContainerNotExistingResource() {
         var factory = factory(withContainerFromDockerfile("incorrect", "", new int[0]));
@@ -57,6 +113,123 @@ class ContainerFromDockerfileFactoryTest {
             .hasMessageStartingWith("Resource with path incorrect could not be found on any of these classloaders:");
     }
 
+    @Test
+    void testHealthcheckByDefault() {
+        var factory = factory(withContainerFromDockerfile("dummy", "", new int[0]));
+        var container = factory.createContainer();
+
+        assertThat(container).extracting("waitStrategy")
+            .isInstanceOf(PollingWaitStrategy.class)
+            .hasFieldOrPropertyWithValue("pollInterval", Duration.ofMillis(5))
+            .hasFieldOrPropertyWithValue("maxPollInterval", Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testWaitForLog() {
+        var container = factory(LogTestCase.class).createContainer();
+
+        assertThat(container).extracting("waitStrategy")
+            .isInstanceOf(LogMessageWaitStrategy.class)
+            .extracting("regEx", InstanceOfAssertFactories.STRING)
+            .satisfies(regEx -> assertThat("database system is ready to accept connections\n").matches(regEx));
+    }
+
+    @WithContainerFromDockerfile(value = "dummy", waitFor = Readiness.LOG, waitForLog = "ready to accept")
+    private static class LogTestCase {
+    }
+
+    @Test
+    void testWaitForLogWithoutPattern() {
+        var factory = factory(LogWithoutPatternTestCase.class);
+
+        assertThatThrownBy(factory::createContainer)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Log pattern is not set for container dummy");
+    }
+
+    @WithContainerFromDockerfile(value = "dummy", waitFor = Readiness.LOG)
+    private static class LogWithoutPatternTestCase {
+    }
+
+    @Test
+    void testWaitForPort() {
+        var container = factory(PortTestCase.class).createContainer();
+
+        assertThat(container).extracting("waitStrategy")
+            .isInstanceOf(PollingWaitStrategy.class)
+            .hasFieldOrPropertyWithValue("pollInterval", Duration.ofMillis(1))
+            .hasFieldOrPropertyWithValue("maxPollInterval", Duration.ofMillis(100));
+    }
+
+    @WithContainerFromDockerfile(value = "dummy", exposedPort = 8080, waitFor = Readiness.PORT, pollInterval = 0, maxPollInterval = 100)
+    private static class PortTestCase {
+    }
+
+    @Test
+    void testWaitForHttp() {
+        var container = factory(HttpTestCase.class).createContainer();
+
+        assertThat(container).extracting("waitStrategy")
+            .isInstanceOf(PollingWaitStrategy.class);
+    }
+
+    @WithContainerFromDockerfile(value = "dummy", exposedPort = 8080, waitFor = Readiness.HTTP, waitForHttpPath = "/health")
+    private static class HttpTestCase {
+    }
+
+    @Test
+    void testWaitForHttpWithoutPort() {
+        var factory = factory(HttpWithoutPortTestCase.class);
+
+        assertThatThrownBy(factory::createContainer)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Exposed port is not set for container dummy");
+    }
+
+    @WithContainerFromDockerfile(value = "dummy", waitFor = Readiness.HTTP)
+    private static class HttpWithoutPortTestCase {
+    }
+
+    @Test
+    void testTakeSnapshotNotConfigured() {
+        var factory = new ContainerFromDockerfileFactory();
+
+        assertThatThrownBy(() -> factory.takeSnapshot(mock(GenericContainer.class)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Factory is not yet configured");
+    }
+
+    @Test
+    void testTakeSnapshotWithoutResetCommand() {
+        var factory = factory(withContainerFromDockerfile("dummy", "", new int[0]));
+
+        assertThat(factory.takeSnapshot(mock(GenericContainer.class))).isNull();
+    }
+
+    @Test
+    void testRestoreSnapshot() throws Exception {
+        var factory = factory(withResetCommand("reset.sh", "db"));
+        GenericContainer<?> container = mock(GenericContainer.class);
+        when(container.execInContainer("reset.sh", "db")).thenReturn(execResult(0, ""));
+
+        factory.takeSnapshot(container).restore();
+
+        verify(container).execInContainer("reset.sh", "db");
+    }
+
+    @Test
+    void testRestoreSnapshotFailed() throws Exception {
+        var factory = factory(withResetCommand("reset.sh"));
+        GenericContainer<?> container = mock(GenericContainer.class);
+        when(container.execInContainer("reset.sh")).thenReturn(execResult(2, "no such database"));
+
+        var snapshot = factory.takeSnapshot(container);
+
+        assertThatThrownBy(snapshot::restore)
+            .isInstanceOf(JUnitException.class)
+            .hasMessage("Reset command [reset.sh] exited with code 2: no such database");
+    }
+
     @Test
     void testCreateContainer() {
         EngineExecutionResults results = executeTests(selectClass(CreateContainerTestCase.class));
@@ -93,13 +266,70 @@ class ContainerFromDockerfileFactoryTest {
 
     }
 
+    @Test
+    void testCreateContainerWithCache() {
+        EngineExecutionResults results = executeTests(selectClass(CreateContainerWithCacheTestCase.class));
+
+        results.testEvents().assertThatEvents()
+            .haveExactly(1, event(test("test"), finishedSuccessfully()));
+    }
+
+    static class CreateContainerWithCacheTestCase {
+
+        @Test
+        @WithContainerFromDockerfile(value = "cache", resourcePath = "dummy", cacheImage = true)
+        void test() {
+            // skipped
+        }
+
+    }
+
+    private static Container.ExecResult execResult(int exitCode, String stderr) throws ReflectiveOperationException {
+        // result of exec is final and could be created only by Test Containers
+        var constructor = Container.ExecResult.class.getDeclaredConstructor(int.class, String.class, String.class);
+        constructor.setAccessible(true);
+        return constructor.newInstance(exitCode, "", stderr);
+    }
+
+    private static String imageName(GenericContainer<?> container) {
+        // cached image already exists in mocked docker, so image name is resolved without build and pull
+        return container.withImagePullPolicy(image -> false).getDockerImageName();
+    }
+
+    private static String reuseHash(GenericContainer<?> container) throws ReflectiveOperationException {
+        // Testcontainers adopts running container by hash of its create command, which is not exposed
+        var command = new CreateContainerCmdImpl(cmd -> null, null, imageName(container));
+        Method applyConfiguration = GenericContainer.class.getDeclaredMethod("applyConfiguration", CreateContainerCmd.class);
+        applyConfiguration.setAccessible(true);
+        applyConfiguration.invoke(container.withReuse(true), command);
+        Method hash = GenericContainer.class.getDeclaredMethod("hash", CreateContainerCmd.class);
+        hash.setAccessible(true);
+        return (String) hash.invoke(container, command);
+    }
+
     private static ContainerFromDockerfileFactory factory(WithContainerFromDockerfile withContainerFromDockerfile) {
         var factory = new ContainerFromDockerfileFactory();
         factory.accept(withContainerFromDockerfile);
         return factory;
     }
 
-    private static WithContainerFromDockerfile withContainerFromDockerfile(final String value, final String resourcePath, final int[] exposedPort) {
+    private static ContainerFromDockerfileFactory factory(Class<?> testClass) {
+        return factory(testClass.getAnnotation(WithContainerFromDockerfile.class));
+    }
+
+    private static WithContainerFromDockerfile withContainerFromDockerfile(final String value, final String resourcePath, final int[] exposedPort,
+                                                                           final String... dependsOn) {
+        return withContainerFromDockerfile(value, resourcePath, exposedPort, new String[0], dependsOn);
+    }
+
+    private static WithContainerFromDockerfile withContainerFromDockerfile(final String value, final String resourcePath, final int[] exposedPort,
+                                                                           final String[] resetCommand, final String... dependsOn) {
+        return withContainerFromDockerfile(value, resourcePath, exposedPort, false, resetCommand, dependsOn);
+    }
+
+    private static WithContainerFromDockerfile withContainerFromDockerfile(final String value, final String resourcePath, final int[] exposedPort,
+                                                                           final boolean cacheImage, final String[] resetCommand,
+                                                                           final String... dependsOn) {
         return new WithContainerFromDockerfile() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -120,6 +350,50 @@ class ContainerFromDockerfileFactoryTest {
             public int[] exposedPort() {
                 return exposedPort;
             }
+
+            @Override
+            public String[] dependsOn() {
+                return dependsOn;
+            }
+
+            @Override
+            public boolean cacheImage() {
+                return cacheImage;
+            }
+
+            @Override
+            public String[] resetCommand() {
+                return resetCommand;
+            }
+
+            @Override
+            public Readiness waitFor() {
+                return Readiness.HEALTHCHECK;
+            }
+
+            @Override
+            public String waitForLog() {
+                return "";
+            }
+
+            @Override
+            public String waitForHttpPath() {
+                return "/";
+            }
+
+            @Override
+            public long pollInterval() {
+                return 5;
+            }
+
+            @Override
+            public long maxPollInterval() {
+                return 1000;
+            }
         };
     }
+
+    private static WithContainerFromDockerfile withResetCommand(String... resetCommand) {
+        return withContainerFromDockerfile("dummy", "", new int[0], resetCommand, new String[0]);
+    }
 }
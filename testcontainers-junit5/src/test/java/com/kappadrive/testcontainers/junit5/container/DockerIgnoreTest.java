@@ -0,0 +1,87 @@
+package com.kappadrive.testcontainers.junit5.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class DockerIgnoreTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @CsvSource({
+        "file, file, true",
+        "file, other, false",
+        "/file, file, true",
+        "./dir/, dir/file, true",
+        "dir, dir/sub/file, true",
+        "dir, other/dir, false",
+        "*.log, app.log, true",
+        "logs/*, logs/app.log, true",
+        "*.log, logs/app.log, false",
+        "*/*.log, logs/app.log, true",
+        "**/*.log, app.log, true",
+        "**.log, logs/app.log, true",
+        "**/*.log, logs/deep/app.log, true",
+        "fixtures/**, fixtures/a/b, true",
+        "fixtures/**/*.json, fixtures/a.json, true",
+        "fixtures/**/*.json, fixtures/a/b.json, true",
+        "file?, file1, true",
+        "file?, file12, false",
+        "file[0-9], file1, true",
+        "file[!0-9], file1, false",
+        "file[!0-9], filea, true",
+        "file[, file[, true",
+        "a.b, axb, false",
+    })
+    void testIsIgnored(String pattern, String relativeName, boolean expected) {
+        assertThat(DockerIgnore.parse(List.of(pattern)).isIgnored(relativeName)).isEqualTo(expected);
+    }
+
+    @Test
+    void testLastMatchingRuleWins() {
+        DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("*.md", "!README*.md", "README-secret.md"));
+
+        assertThat(dockerIgnore.isIgnored("CHANGELOG.md")).isTrue();
+        assertThat(dockerIgnore.isIgnored("README.md")).isFalse();
+        assertThat(dockerIgnore.isIgnored("README-secret.md")).isTrue();
+    }
+
+    @Test
+    void testCommentsAndEmptyLinesSkipped() {
+        DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("# file", "", "   ", "/", "! "));
+
+        assertThat(dockerIgnore.isIgnored("file")).isFalse();
+        assertThat(dockerIgnore.isIgnored("# file")).isFalse();
+    }
+
+    @Test
+    void testRead() throws IOException {
+        Files.write(directory.resolve(DockerIgnore.FILE_NAME), List.of("fixtures"));
+
+        assertThat(DockerIgnore.read(directory).isIgnored("fixtures/big.json")).isTrue();
+    }
+
+    @Test
+    void testReadNotExisting() {
+        assertThat(DockerIgnore.read(directory).isIgnored("file")).isFalse();
+    }
+
+    @Test
+    void testReadFailed() throws IOException {
+        Files.write(directory.resolve(DockerIgnore.FILE_NAME), new byte[] {(byte) 0xFF});
+
+        assertThatThrownBy(() -> DockerIgnore.read(directory))
+            .isInstanceOf(UncheckedIOException.class);
+    }
+}
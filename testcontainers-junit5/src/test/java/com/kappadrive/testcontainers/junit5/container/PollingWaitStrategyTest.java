@@ -0,0 +1,179 @@
+package com.kappadrive.testcontainers.junit5.container;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.ContainerLaunchException;
+import org.testcontainers.containers.wait.strategy.WaitStrategyTarget;
+
+@ExtendWith(MockitoExtension.class)
+class PollingWaitStrategyTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(1);
+    private static final Duration TIMEOUT = Duration.ofMillis(50);
+
+    @Mock
+    private WaitStrategyTarget target;
+
+    @Test
+    void testReadyAfterFailedChecks() {
+        AtomicInteger checks = new AtomicInteger();
+        var strategy = new PollingWaitStrategy(t -> {
+            if (checks.incrementAndGet() == 1) {
+                throw new IOException("Connection refused");
+            }
+            return checks.get() == 3;
+        }, INTERVAL, INTERVAL);
+
+        strategy.waitUntilReady(target);
+
+        assertThat(checks).hasValue(3);
+    }
+
+    @Test
+    void testNotReadyInTime() {
+        var strategy = new PollingWaitStrategy(t -> {
+            throw new IOException("Connection refused");
+        }, INTERVAL, Duration.ofMillis(10));
+        strategy.withStartupTimeout(TIMEOUT);
+
+        assertThatThrownBy(() -> strategy.waitUntilReady(target))
+            .isInstanceOf(ContainerLaunchException.class)
+            .hasMessage("Container is not ready after PT0.05S")
+            .hasRootCauseMessage("Connection refused");
+    }
+
+    @Test
+    void testInterrupted() {
+        var strategy = new PollingWaitStrategy(t -> false, INTERVAL, INTERVAL);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> strategy.waitUntilReady(target))
+                .isInstanceOf(ContainerLaunchException.class)
+                .hasMessage("Interrupted while waiting for container to be ready");
+        } finally {
+            assertThat(Thread.interrupted()).isTrue();
+        }
+    }
+
+    @Test
+    void testNextInterval() {
+        assertThat(PollingWaitStrategy.nextInterval(Duration.ofMillis(5), Duration.ofSeconds(1))).isEqualTo(Duration.ofMillis(10));
+        assertThat(PollingWaitStrategy.nextInterval(Duration.ofMillis(600), Duration.ofSeconds(1))).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testHealthcheck() {
+        given(target.isHealthy()).willReturn(false, true);
+
+        PollingWaitStrategy.forHealthcheck(INTERVAL, INTERVAL).waitUntilReady(target);
+    }
+
+    @Test
+    void testPorts() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            given(target.getExposedPorts()).willReturn(List.of(80));
+            given(target.getHost()).willReturn(InetAddress.getLoopbackAddress().getHostAddress());
+            given(target.getMappedPort(80)).willReturn(serverSocket.getLocalPort());
+            given(target.execInContainer("/bin/sh", "-c", PollingWaitStrategy.getListeningCommand(List.of(80))))
+                .willReturn(execResult(1), execResult(0));
+
+            PollingWaitStrategy.forPorts(INTERVAL, INTERVAL).waitUntilReady(target);
+
+            then(target).should(times(2)).execInContainer("/bin/sh", "-c", PollingWaitStrategy.getListeningCommand(List.of(80)));
+        }
+    }
+
+    @Test
+    void testNoPorts() {
+        given(target.getExposedPorts()).willReturn(List.of());
+
+        PollingWaitStrategy.forPorts(INTERVAL, INTERVAL).waitUntilReady(target);
+    }
+
+    @Test
+    void testPortsNotListenedInsideContainer() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            given(target.getExposedPorts()).willReturn(List.of(80));
+            given(target.getHost()).willReturn(InetAddress.getLoopbackAddress().getHostAddress());
+            given(target.getMappedPort(80)).willReturn(serverSocket.getLocalPort());
+            given(target.execInContainer("/bin/sh", "-c", PollingWaitStrategy.getListeningCommand(List.of(80)))).willReturn(execResult(1));
+            var strategy = PollingWaitStrategy.forPorts(INTERVAL, INTERVAL);
+            strategy.withStartupTimeout(TIMEOUT);
+
+            assertThatThrownBy(() -> strategy.waitUntilReady(target))
+                .isInstanceOf(ContainerLaunchException.class)
+                .hasMessage("Container is not ready after PT0.05S");
+        }
+    }
+
+    @Test
+    void testListeningCommand() {
+        assertThat(PollingWaitStrategy.getListeningCommand(List.of(80, 5432))).isEqualTo(
+            "(grep -i ':0*50' /proc/net/tcp* || nc -vz -w 1 localhost 80 || /bin/bash -c '</dev/tcp/localhost/80')"
+                + " && (grep -i ':0*1538' /proc/net/tcp* || nc -vz -w 1 localhost 5432 || /bin/bash -c '</dev/tcp/localhost/5432')");
+    }
+
+    @Test
+    void testPortsNotListening() throws IOException {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        given(target.getExposedPorts()).willReturn(List.of(80));
+        given(target.getHost()).willReturn(InetAddress.getLoopbackAddress().getHostAddress());
+        given(target.getMappedPort(80)).willReturn(port);
+        var strategy = PollingWaitStrategy.forPorts(INTERVAL, INTERVAL);
+        strategy.withStartupTimeout(TIMEOUT);
+
+        assertThatThrownBy(() -> strategy.waitUntilReady(target))
+            .isInstanceOf(ContainerLaunchException.class)
+            .hasMessage("Container is not ready after PT0.05S");
+    }
+
+    @Test
+    void testHttp() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        AtomicInteger requests = new AtomicInteger();
+        server.createContext("/health", exchange -> {
+            exchange.sendResponseHeaders(requests.incrementAndGet() == 1 ? 503 : 200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            given(target.getExposedPorts()).willReturn(List.of(8080));
+            given(target.getHost()).willReturn(InetAddress.getLoopbackAddress().getHostAddress());
+            given(target.getMappedPort(8080)).willReturn(server.getAddress().getPort());
+
+            PollingWaitStrategy.forHttp("/health", INTERVAL, INTERVAL).waitUntilReady(target);
+
+            assertThat(requests).hasValue(2);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static Container.ExecResult execResult(int exitCode) throws ReflectiveOperationException {
+        // result of exec is final and could be created only by Test Containers
+        var constructor = Container.ExecResult.class.getDeclaredConstructor(int.class, String.class, String.class);
+        constructor.setAccessible(true);
+        return constructor.newInstance(exitCode, "", "");
+    }
+}
@@ -0,0 +1,42 @@
+package com.kappadrive.testcontainers.junit5.extension;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.mockito.Mockito;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+class MockTestcontainersConfigurationExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws Exception {
+        getInstance().set(Mockito.mock(TestcontainersConfiguration.class));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) throws Exception {
+        getInstance().set(null);
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) throws ParameterResolutionException {
+        return TestcontainersConfiguration.class.equals(parameterContext.getParameter().getType());
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) throws ParameterResolutionException {
+        return TestcontainersConfiguration.getInstance();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AtomicReference<Object> getInstance() throws Exception {
+        Field instance = TestcontainersConfiguration.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        return (AtomicReference<Object>) instance.get(null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.kappadrive.testcontainers.junit5.extension;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Helper annotation to mock Testcontainers configuration without reading user properties.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@ExtendWith(MockTestcontainersConfigurationExtension.class)
+public @interface WithMockedTestcontainersConfiguration {
+}
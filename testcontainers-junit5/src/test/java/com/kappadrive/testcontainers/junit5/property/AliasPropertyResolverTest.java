@@ -0,0 +1,45 @@
+package com.kappadrive.testcontainers.junit5.property;
+
+import static com.kappadrive.testcontainers.junit5.property.PropertyResolverUtil.replace;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.commons.JUnitException;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+
+@ExtendWith(MockitoExtension.class)
+class AliasPropertyResolverTest {
+
+    @Mock
+    private GenericContainer<?> container;
+
+    @Mock
+    private Network network;
+
+    @Test
+    void testResolveAlias() {
+        given(container.getNetwork()).willReturn(network);
+        given(container.getNetworkAliases()).willReturn(List.of("tc-12345678", "db"));
+
+        String result = replace("jdbc://${alias}:5432", new AliasPropertyResolver(), container);
+
+        assertThat(result).isEqualTo("jdbc://db:5432");
+    }
+
+    @Test
+    void testNotResolvedWithoutNetwork() {
+        AliasPropertyResolver resolver = new AliasPropertyResolver();
+
+        assertThatThrownBy(() -> replace("jdbc://${alias}:5432", resolver, container))
+            .isInstanceOf(JUnitException.class)
+            .hasMessage("Network alias could be resolved only for container attached to network");
+    }
+
+}
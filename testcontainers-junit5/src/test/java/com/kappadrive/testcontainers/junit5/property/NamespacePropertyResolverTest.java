@@ -0,0 +1,31 @@
+package com.kappadrive.testcontainers.junit5.property;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.regex.Matcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.testcontainers.containers.GenericContainer;
+
+@ExtendWith(MockitoExtension.class)
+class NamespacePropertyResolverTest {
+
+    @Mock
+    private GenericContainer<?> container;
+
+    @Test
+    void testPattern() {
+        assertThat(new NamespacePropertyResolver().getPattern().matcher("currentSchema=${namespace}").find()).isTrue();
+    }
+
+    @Test
+    void testNotResolvedWithoutContext() {
+        Matcher matcher = new NamespacePropertyResolver().getPattern().matcher("currentSchema=${namespace}");
+
+        assertThat(matcher.find()).isTrue();
+        assertThat(new NamespacePropertyResolver().resolve(container).apply(matcher)).isEqualTo("${namespace}");
+    }
+
+}
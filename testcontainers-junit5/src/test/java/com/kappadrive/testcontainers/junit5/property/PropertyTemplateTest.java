@@ -0,0 +1,127 @@
+package com.kappadrive.testcontainers.junit5.property;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.Mockito;
+
+class PropertyTemplateTest {
+
+    private static final PropertyResolver<Object> HOST = new PatternResolver("\\$\\{host}", res -> "localhost");
+    private static final PropertyResolver<Object> PORT = new PatternResolver("\\$\\{port:([0-9]+)}", res -> "1" + res.group(1));
+    private static final ExtensionContext CONTEXT = Mockito.mock(ExtensionContext.class);
+
+    @Test
+    void testLiteralsAndPlaceholders() {
+        PropertyTemplate template = PropertyTemplate.parse("jdbc://${host}:${port:5432}/db?fallback=${host}", List.of(HOST, PORT));
+
+        assertThat(template.evaluate(new Object(), CONTEXT)).isEqualTo("jdbc://localhost:15432/db?fallback=localhost");
+    }
+
+    @Test
+    void testOnlyPlaceholder() {
+        assertThat(PropertyTemplate.parse("${port:80}", List.of(HOST, PORT)).evaluate(new Object(), CONTEXT)).isEqualTo("180");
+    }
+
+    @Test
+    void testNoPlaceholders() {
+        assertThat(PropertyTemplate.parse("value", List.of(HOST, PORT)).evaluate(new Object(), CONTEXT)).isEqualTo("value");
+        assertThat(PropertyTemplate.parse("", List.of(HOST, PORT)).evaluate(new Object(), CONTEXT)).isEmpty();
+        assertThat(PropertyTemplate.parse("${host}", List.of()).evaluate(new Object(), CONTEXT)).isEqualTo("${host}");
+    }
+
+    @Test
+    void testFirstResolverWinsAtSamePosition() {
+        PropertyResolver<Object> any = new PatternResolver("\\$\\{[a-z]+}", res -> "any");
+
+        assertThat(PropertyTemplate.parse("${host}", List.of(HOST, any)).evaluate(new Object(), CONTEXT)).isEqualTo("localhost");
+        assertThat(PropertyTemplate.parse("${host}", List.of(any, HOST)).evaluate(new Object(), CONTEXT)).isEqualTo("any");
+    }
+
+    @Test
+    void testEarliestMatchWins() {
+        PropertyResolver<Object> overlapping = new PatternResolver("host}-\\$\\{", res -> "overlapping");
+
+        assertThat(PropertyTemplate.parse("${host}-${host}", List.of(overlapping, HOST)).evaluate(new Object(), CONTEXT))
+            .isEqualTo("localhost-localhost");
+    }
+
+    @Test
+    void testResolvedValueNotMatchedAgain() {
+        PropertyResolver<Object> nested = new PatternResolver("\\$\\{nested}", res -> "${host}");
+
+        assertThat(PropertyTemplate.parse("${nested}", List.of(nested, HOST)).evaluate(new Object(), CONTEXT)).isEqualTo("${host}");
+    }
+
+    @Test
+    void testResolvedValueInsertedAsIs() {
+        PropertyResolver<Object> special = new PatternResolver("\\$\\{special}", res -> "$1\\n");
+
+        assertThat(PropertyTemplate.parse("${special}", List.of(special)).evaluate(new Object(), CONTEXT)).isEqualTo("$1\\n");
+    }
+
+    @Test
+    void testEmptyMatchesSkipped() {
+        PropertyResolver<Object> optional = new PatternResolver("x*", res -> "[" + res.group() + "]");
+
+        assertThat(PropertyTemplate.parse("axxb", List.of(optional)).evaluate(new Object(), CONTEXT)).isEqualTo("a[xx]b");
+        assertThat(PropertyTemplate.parse("ab", List.of(optional)).evaluate(new Object(), CONTEXT)).isEqualTo("ab");
+    }
+
+    @Test
+    void testResolverAppliedToContainer() {
+        PropertyResolver<Object> name = new PatternResolver("\\$\\{name}", null) {
+            @Override
+            public Function<MatchResult, String> resolve(Object container) {
+                return res -> container.toString();
+            }
+        };
+
+        PropertyTemplate template = PropertyTemplate.parse("${name}", List.of(name));
+
+        assertThat(template.evaluate("first", CONTEXT)).isEqualTo("first");
+        assertThat(template.evaluate("second", CONTEXT)).isEqualTo("second");
+    }
+
+    @Test
+    void testResolverAppliedWithinContext() {
+        PropertyResolver<Object> name = new PatternResolver("\\$\\{name}", null) {
+            @Override
+            public Function<MatchResult, String> resolve(Object container, ExtensionContext context) {
+                return res -> container + "@" + context.getUniqueId();
+            }
+        };
+        ExtensionContext context = Mockito.mock(ExtensionContext.class);
+        given(context.getUniqueId()).willReturn("[class:Test]");
+
+        assertThat(PropertyTemplate.parse("${name}", List.of(name)).evaluate("first", context)).isEqualTo("first@[class:Test]");
+    }
+
+    @RequiredArgsConstructor
+    private static class PatternResolver implements PropertyResolver<Object> {
+
+        private final Pattern pattern;
+        private final Function<MatchResult, String> function;
+
+        PatternResolver(String regex, Function<MatchResult, String> function) {
+            this(Pattern.compile(regex), function);
+        }
+
+        @Override
+        public Pattern getPattern() {
+            return pattern;
+        }
+
+        @Override
+        public Function<MatchResult, String> resolve(Object container) {
+            return function;
+        }
+    }
+}